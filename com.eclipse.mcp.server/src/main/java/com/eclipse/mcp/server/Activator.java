@@ -3,12 +3,35 @@ package com.eclipse.mcp.server;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
+import com.eclipse.mcp.server.analysis.TypeDependencyGraph;
+import com.eclipse.mcp.server.index.LineOffsetCache;
+import com.eclipse.mcp.server.index.MarkerCache;
+import com.eclipse.mcp.server.index.ResourceIndex;
+import com.eclipse.mcp.server.index.TypeNameIndex;
+import com.eclipse.mcp.server.maven.BuildFingerprints;
+import com.eclipse.mcp.server.maven.DependencyCache;
+import com.eclipse.mcp.server.maven.ProjectUpdateQueue;
+import com.eclipse.mcp.server.testing.ChangeTracker;
+import com.eclipse.mcp.server.testing.LaunchConfigurationPool;
+import com.eclipse.mcp.server.testing.TestDurationHistory;
+
 public class Activator extends AbstractUIPlugin {
 
     public static final String PLUGIN_ID = "com.eclipse.mcp.server";
     
     private static Activator plugin;
     private MCPServer mcpServer;
+    private TypeNameIndex typeNameIndex;
+    private ResourceIndex resourceIndex;
+    private TypeDependencyGraph typeDependencyGraph;
+    private TestDurationHistory testDurationHistory;
+    private BuildFingerprints buildFingerprints;
+    private final MarkerCache markerCache = new MarkerCache();
+    private final LineOffsetCache lineOffsetCache = new LineOffsetCache();
+    private final ChangeTracker changeTracker = new ChangeTracker();
+    private final LaunchConfigurationPool launchConfigurationPool = new LaunchConfigurationPool();
+    private final ProjectUpdateQueue projectUpdateQueue = new ProjectUpdateQueue();
+    private final DependencyCache dependencyCache = new DependencyCache();
 
     public Activator() {
     }
@@ -17,6 +40,27 @@ public class Activator extends AbstractUIPlugin {
     public void start(BundleContext context) throws Exception {
         super.start(context);
         plugin = this;
+
+        typeNameIndex = new TypeNameIndex(getStateLocation().append("type-names.idx").toFile());
+        typeNameIndex.start();
+
+        resourceIndex = new ResourceIndex();
+        resourceIndex.start();
+
+        markerCache.start();
+
+        typeDependencyGraph = new TypeDependencyGraph(getStateLocation().append("type-graph.bin").toFile());
+        typeDependencyGraph.start();
+
+        testDurationHistory = new TestDurationHistory(getStateLocation().append("test-durations.properties").toFile());
+        testDurationHistory.start();
+
+        buildFingerprints = new BuildFingerprints(getStateLocation().append("maven-build-fingerprints.properties").toFile());
+        buildFingerprints.start();
+
+        changeTracker.start();
+
+        dependencyCache.start();
         
         mcpServer = new MCPServer();
         mcpServer.start();
@@ -27,6 +71,30 @@ public class Activator extends AbstractUIPlugin {
         if (mcpServer != null) {
             mcpServer.stop();
         }
+
+        if (typeNameIndex != null) {
+            typeNameIndex.stop();
+        }
+
+        if (resourceIndex != null) {
+            resourceIndex.stop();
+        }
+
+        markerCache.stop();
+
+        if (typeDependencyGraph != null) {
+            typeDependencyGraph.stop();
+        }
+
+        changeTracker.stop();
+
+        launchConfigurationPool.clear();
+
+        projectUpdateQueue.stop();
+
+        dependencyCache.stop();
+
+        lineOffsetCache.clear();
         
         plugin = null;
         super.stop(context);
@@ -39,4 +107,48 @@ public class Activator extends AbstractUIPlugin {
     public MCPServer getMCPServer() {
         return mcpServer;
     }
+
+    public TypeNameIndex getTypeNameIndex() {
+        return typeNameIndex;
+    }
+
+    public ResourceIndex getResourceIndex() {
+        return resourceIndex;
+    }
+
+    public TypeDependencyGraph getTypeDependencyGraph() {
+        return typeDependencyGraph;
+    }
+
+    public TestDurationHistory getTestDurationHistory() {
+        return testDurationHistory;
+    }
+
+    public BuildFingerprints getBuildFingerprints() {
+        return buildFingerprints;
+    }
+
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    public LaunchConfigurationPool getLaunchConfigurationPool() {
+        return launchConfigurationPool;
+    }
+
+    public ProjectUpdateQueue getProjectUpdateQueue() {
+        return projectUpdateQueue;
+    }
+
+    public DependencyCache getDependencyCache() {
+        return dependencyCache;
+    }
+
+    public MarkerCache getMarkerCache() {
+        return markerCache;
+    }
+
+    public LineOffsetCache getLineOffsetCache() {
+        return lineOffsetCache;
+    }
 }
\ No newline at end of file
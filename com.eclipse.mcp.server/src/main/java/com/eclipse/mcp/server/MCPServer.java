@@ -1,63 +1,78 @@
 package com.eclipse.mcp.server;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.io.FileWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.nio.file.Path;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
+import org.eclipse.jface.util.IPropertyChangeListener;
+
+import com.eclipse.mcp.server.execution.ActiveRequests;
+import com.eclipse.mcp.server.execution.RequestContext;
+import com.eclipse.mcp.server.execution.RequestScheduler;
+import com.eclipse.mcp.server.execution.ToolExecutor;
 import com.eclipse.mcp.server.handlers.MCPRequestHandler;
+import com.eclipse.mcp.server.logging.AsyncLogger;
+import com.eclipse.mcp.server.logging.LogLevel;
+import com.eclipse.mcp.server.preferences.PreferenceInitializer;
 import com.eclipse.mcp.server.protocol.MCPError;
 import com.eclipse.mcp.server.protocol.MCPMessage;
+import com.eclipse.mcp.server.transport.ClientConnection;
+import com.eclipse.mcp.server.transport.MessageListener;
+import com.eclipse.mcp.server.transport.NioTransport;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
-public class MCPServer {
+public class MCPServer implements MessageListener {
     
     private static final int DEFAULT_PORT = 8099;
     private static final Path LOG_FILE = Path.of("/data/tmp/eclipse-mcp.log");
-    private static final DateTimeFormatter LOG_TIME_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
-    private ServerSocket serverSocket;
-    private ExecutorService executor;
+    /**
+     * Tools that scan the workspace, build or launch; they run in the heavy lane so that cheap
+     * protocol requests keep answering while they are busy.
+     */
+    private static final Set<String> HEAVY_TOOLS = Set.of(
+        "find_references", "analyze_type_dependencies", "find_dependency_cycles", "run_tests", "maven_goal",
+        "maven_build", "maven_update_project");
+
+    private NioTransport transport;
+    private RequestScheduler scheduler;
     private boolean running = false;
     private ObjectMapper objectMapper;
-    private ObjectMapper prettyMapper;
     private ConcurrentHashMap<String, MCPRequestHandler> handlers;
-    private PrintWriter logWriter;
+    private ToolExecutor toolExecutor;
+    private ActiveRequests activeRequests;
+    private AsyncLogger logger;
+    private IPropertyChangeListener logPreferenceListener;
     
     public MCPServer() {
         this.objectMapper = new ObjectMapper();
-        this.prettyMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
         this.handlers = new ConcurrentHashMap<>();
-        this.executor = Executors.newCachedThreadPool();
+        this.logger = new AsyncLogger(LOG_FILE,
+            LogLevel.parse(getStringPreference(PreferenceInitializer.PREF_LOG_LEVEL), LogLevel.INFO),
+            getPreference(PreferenceInitializer.PREF_LOG_MAX_PAYLOAD_BYTES, 4096),
+            getPreference(PreferenceInitializer.PREF_LOG_MAX_FILE_MB, 10) * 1024L * 1024L,
+            getPreference(PreferenceInitializer.PREF_LOG_MAX_FILES, 5));
+        listenToLogPreferences();
 
-        try {
-            LOG_FILE.getParent().toFile().mkdirs();
-            this.logWriter = new PrintWriter(new FileWriter(LOG_FILE.toFile(), true), true);
-        } catch (IOException e) {
-            System.err.println("Failed to open MCP log file: " + e.getMessage());
-            this.logWriter = new PrintWriter(System.out, true);
-        }
+        this.scheduler = new RequestScheduler(
+            getPreference(PreferenceInitializer.PREF_LIGHT_WORKERS, 2),
+            getPreference(PreferenceInitializer.PREF_HEAVY_WORKERS, 2),
+            getPreference(PreferenceInitializer.PREF_QUEUE_CAPACITY, 256),
+            getPreference(PreferenceInitializer.PREF_CLIENT_QUEUE_CAPACITY, 32),
+            logger);
+        this.toolExecutor = new ToolExecutor();
+        this.activeRequests = new ActiveRequests();
 
         registerHandlers();
     }
     
     private void registerHandlers() {
         handlers.put("tools/list", new com.eclipse.mcp.server.handlers.ToolsListHandler());
-        handlers.put("tools/call", new com.eclipse.mcp.server.handlers.ToolsCallHandler());
+        handlers.put("tools/call", new com.eclipse.mcp.server.handlers.ToolsCallHandler(toolExecutor));
         handlers.put("resources/list", new com.eclipse.mcp.server.handlers.ResourcesListHandler());
-        handlers.put("resources/read", new com.eclipse.mcp.server.handlers.ResourcesReadHandler());
+        handlers.put("resources/read", new com.eclipse.mcp.server.handlers.ResourcesReadHandler(toolExecutor));
         handlers.put("initialize", new com.eclipse.mcp.server.handlers.InitializeHandler());
     }
     
@@ -67,119 +82,139 @@ public class MCPServer {
         }
 
         int port = getConfiguredPort();
-        serverSocket = new ServerSocket(port);
-        running = true;
-
-        log("SERVER", "MCP Server starting on port " + port);
+        logger.log(LogLevel.INFO, "SERVER", "MCP Server starting on port " + port);
 
-        executor.submit(() -> {
-            while (running && !serverSocket.isClosed()) {
-                try {
-                    Socket clientSocket = serverSocket.accept();
-                    String clientAddr = clientSocket.getRemoteSocketAddress().toString();
-                    log("CONNECT", "Client connected: " + clientAddr);
-                    executor.submit(() -> handleClient(clientSocket));
-                } catch (IOException e) {
-                    if (running) {
-                        log("ERROR", "Accept failed: " + e.getMessage());
-                    }
-                }
-            }
-        });
+        transport = new NioTransport(this);
+        transport.start(port);
+        running = true;
 
-        log("SERVER", "MCP Server started on port " + port);
+        logger.log(LogLevel.INFO, "SERVER", "MCP Server started on port " + port);
         System.out.println("MCP Server started on port " + port);
     }
     
     public void stop() {
-        log("SERVER", "MCP Server stopping");
+        logger.log(LogLevel.INFO, "SERVER", "MCP Server stopping");
         running = false;
 
-        if (serverSocket != null && !serverSocket.isClosed()) {
-            try {
-                serverSocket.close();
-            } catch (IOException e) {
-                log("ERROR", "Error closing server socket: " + e.getMessage());
-            }
+        if (transport != null) {
+            transport.stop();
+        }
+
+        if (toolExecutor != null) {
+            toolExecutor.shutdown();
         }
 
-        if (executor != null) {
-            executor.shutdown();
+        if (scheduler != null) {
+            scheduler.shutdown();
         }
 
-        if (logWriter != null) {
-            logWriter.close();
+        Activator activator = Activator.getDefault();
+        if (activator != null && logPreferenceListener != null) {
+            activator.getPreferenceStore().removePropertyChangeListener(logPreferenceListener);
+        }
+
+        if (logger != null) {
+            logger.close();
         }
     }
     
-    private void handleClient(Socket clientSocket) {
-        String clientAddr = clientSocket.getRemoteSocketAddress().toString();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(clientSocket.getOutputStream()))) {
-
-            String line;
-            while ((line = reader.readLine()) != null && running) {
-                logJson("RECV", line);
-                processMessage(line, writer);
-            }
+    @Override
+    public void onConnect(ClientConnection connection) {
+        logger.log(LogLevel.INFO, "CONNECT", "Client connected: " + connection);
+    }
 
-        } catch (IOException e) {
-            log("ERROR", "Client " + clientAddr + " error: " + e.getMessage());
-        } finally {
-            log("DISCONNECT", "Client disconnected: " + clientAddr);
-            try {
-                clientSocket.close();
-            } catch (IOException e) {
-                log("ERROR", "Error closing client socket: " + e.getMessage());
-            }
-        }
+    @Override
+    public void onMessage(ClientConnection connection, byte[] buffer, int offset, int length) {
+        logger.logPayload(LogLevel.DEBUG, "RECV", buffer, offset, length);
+        processMessage(connection, buffer, offset, length);
+    }
+
+    @Override
+    public void onDisconnect(ClientConnection connection) {
+        int cancelled = activeRequests.cancelAll(connection, "client disconnected");
+        logger.log(LogLevel.INFO, "DISCONNECT", "Client disconnected: " + connection
+            + (cancelled > 0 ? ", cancelled " + cancelled + " active requests" : ""));
     }
     
-    private void processMessage(String messageStr, BufferedWriter writer) {
+    private void processMessage(ClientConnection connection, byte[] buffer, int offset, int length) {
         try {
-            MCPMessage message = objectMapper.readValue(messageStr, MCPMessage.class);
+            MCPMessage message = objectMapper.readValue(buffer, offset, length, MCPMessage.class);
 
             if (message.isRequest()) {
-                log("REQUEST", "id=" + message.getId() + " method=" + message.getMethod());
-                handleRequest(message, writer);
+                logger.log(LogLevel.INFO, "REQUEST", "id=" + message.getId() + " method=" + message.getMethod());
+                handleRequest(message, connection);
             } else if (message.isNotification()) {
-                log("NOTIFICATION", "method=" + message.getMethod());
-                handleNotification(message);
+                logger.log(LogLevel.INFO, "NOTIFICATION", "method=" + message.getMethod());
+                handleNotification(message, connection);
             }
 
         } catch (Exception e) {
-            log("PARSE_ERROR", "Failed to parse: " + messageStr);
-            sendError(null, MCPError.PARSE_ERROR, "Parse error", writer);
+            logger.logPayload(LogLevel.ERROR, "PARSE_ERROR", "Failed to parse:", buffer, offset, length);
+            sendError(null, MCPError.PARSE_ERROR, "Parse error", connection);
         }
     }
     
-    private void handleRequest(MCPMessage request, BufferedWriter writer) {
+    private void handleRequest(MCPMessage request, ClientConnection connection) {
         String method = request.getMethod();
         MCPRequestHandler handler = handlers.get(method);
         
         if (handler == null) {
-            sendError(request.getId(), MCPError.METHOD_NOT_FOUND, "Method not found: " + method, writer);
+            sendError(request.getId(), MCPError.METHOD_NOT_FOUND, "Method not found: " + method, connection);
             return;
         }
         
-        executor.submit(() -> {
+        RequestScheduler.Lane lane = getLane(request);
+        RequestContext requestContext = new RequestContext(request.getId(), getProgressToken(request),
+            (notificationMethod, params) -> sendNotification(notificationMethod, params, connection));
+        activeRequests.register(connection, requestContext);
+        boolean accepted = scheduler.submit(lane, connection, "id=" + request.getId() + " method=" + method, () -> {
+            if (requestContext.isCanceled()) {
+                logger.log(LogLevel.INFO, "CANCELLED", "id=" + request.getId() + " method=" + method + " cancelled before it started");
+                activeRequests.unregister(connection, requestContext);
+                return;
+            }
+            RequestContext.bind(requestContext);
             try {
                 Object result = handler.handle(request.getParams());
-                log("RESULT", "id=" + request.getId() + " method=" + method + " completed");
-                sendResponse(request.getId(), result, writer);
+                if (requestContext.isCanceled()) {
+                    logger.log(LogLevel.INFO, "CANCELLED", "id=" + request.getId() + " method=" + method + " completed after cancellation");
+                } else {
+                    logger.log(LogLevel.INFO, "RESULT", "id=" + request.getId() + " method=" + method + " completed");
+                    sendResponse(request.getId(), result, connection);
+                }
             } catch (Exception e) {
-                log("ERROR", "id=" + request.getId() + " method=" + method + " failed: " + e.getMessage());
-                sendError(request.getId(), MCPError.INTERNAL_ERROR, e.getMessage(), writer);
+                // Cancelled requests get no response, as the client has already given up on them
+                if (requestContext.isCanceled()) {
+                    logger.log(LogLevel.INFO, "CANCELLED", "id=" + request.getId() + " method=" + method + " cancelled: "
+                        + requestContext.getCancelReason());
+                } else {
+                    logger.log(LogLevel.ERROR, "ERROR", "id=" + request.getId() + " method=" + method + " failed: " + e.getMessage());
+                    sendError(request.getId(), MCPError.INTERNAL_ERROR, e.getMessage(), connection);
+                }
+            } finally {
+                RequestContext.unbind();
+                activeRequests.unregister(connection, requestContext);
             }
         });
+
+        if (!accepted) {
+            activeRequests.unregister(connection, requestContext);
+            logger.log(LogLevel.INFO, "BUSY", "id=" + request.getId() + " method=" + method + " rejected, " + lane + " lane is full");
+            sendError(request.getId(), MCPError.SERVER_BUSY, "Server busy, retry later", connection);
+        }
     }
     
-    private void handleNotification(MCPMessage notification) {
+    private void handleNotification(MCPMessage notification, ClientConnection connection) {
         String method = notification.getMethod();
+        if ("notifications/cancelled".equals(method)) {
+            handleCancellation(notification, connection);
+            return;
+        }
+
         MCPRequestHandler handler = handlers.get(method);
         
         if (handler != null) {
-            executor.submit(() -> {
+            scheduler.submit(RequestScheduler.Lane.LIGHT, connection, "method=" + method, () -> {
                 try {
                     handler.handle(notification.getParams());
                 } catch (Exception e) {
@@ -188,58 +223,110 @@ public class MCPServer {
             });
         }
     }
+
+    /**
+     * Cancels the request named by {@code params.requestId}. Unknown ids are ignored, since the
+     * request may already have completed.
+     */
+    private void handleCancellation(MCPMessage notification, ClientConnection connection) {
+        if (!(notification.getParams() instanceof Map<?, ?> params)) {
+            return;
+        }
+        Object requestId = params.get("requestId");
+        Object reason = params.get("reason");
+        boolean found = activeRequests.cancel(connection, requestId,
+            reason != null ? reason.toString() : "cancelled by client");
+        logger.log(LogLevel.INFO, "CANCEL", "id=" + requestId + (found ? " cancelled" : " not active"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RequestScheduler.Lane getLane(MCPMessage request) {
+        if ("tools/call".equals(request.getMethod()) && request.getParams() instanceof Map) {
+            Object toolName = ((Map<String, Object>) request.getParams()).get("name");
+            if (HEAVY_TOOLS.contains(toolName)) {
+                return RequestScheduler.Lane.HEAVY;
+            }
+        }
+        return RequestScheduler.Lane.LIGHT;
+    }
     
-    private void sendResponse(Object id, Object result, BufferedWriter writer) {
+    /**
+     * Returns {@code params._meta.progressToken} of the request, if present.
+     */
+    @SuppressWarnings("unchecked")
+    private Object getProgressToken(MCPMessage request) {
+        if (request.getParams() instanceof Map<?, ?> params && params.get("_meta") instanceof Map<?, ?> meta) {
+            return ((Map<String, Object>) meta).get("progressToken");
+        }
+        return null;
+    }
+
+    private void sendNotification(String method, Map<String, Object> params, ClientConnection connection) {
+        try {
+            MCPMessage notification = new MCPMessage(method, params);
+            byte[] payload = objectMapper.writeValueAsBytes(notification);
+            logger.logPayload(LogLevel.DEBUG, "NOTIFY", payload, 0, payload.length);
+            connection.send(payload);
+        } catch (IOException e) {
+            logger.log(LogLevel.ERROR, "ERROR", "Failed to send notification: " + e.getMessage());
+        }
+    }
+
+    private void sendResponse(Object id, Object result, ClientConnection connection) {
         try {
             MCPMessage response = new MCPMessage(id, result);
-            String responseStr = objectMapper.writeValueAsString(response);
-            logJson("SEND", responseStr);
-            synchronized (writer) {
-                writer.write(responseStr);
-                writer.newLine();
-                writer.flush();
-            }
+            byte[] payload = objectMapper.writeValueAsBytes(response);
+            logger.logPayload(LogLevel.DEBUG, "SEND", payload, 0, payload.length);
+            connection.send(payload);
         } catch (IOException e) {
-            log("ERROR", "Failed to send response: " + e.getMessage());
+            logger.log(LogLevel.ERROR, "ERROR", "Failed to send response: " + e.getMessage());
         }
     }
 
-    private void sendError(Object id, int code, String message, BufferedWriter writer) {
+    private void sendError(Object id, int code, String message, ClientConnection connection) {
         try {
             MCPError error = new MCPError(code, message);
             MCPMessage response = new MCPMessage(id, error);
-            String responseStr = objectMapper.writeValueAsString(response);
-            logJson("SEND_ERROR", responseStr);
-            synchronized (writer) {
-                writer.write(responseStr);
-                writer.newLine();
-                writer.flush();
-            }
+            byte[] payload = objectMapper.writeValueAsBytes(response);
+            logger.logPayload(LogLevel.DEBUG, "SEND_ERROR", payload, 0, payload.length);
+            connection.send(payload);
         } catch (IOException e) {
-            log("ERROR", "Failed to send error response: " + e.getMessage());
+            logger.log(LogLevel.ERROR, "ERROR", "Failed to send error response: " + e.getMessage());
         }
     }
 
-    private void log(String category, String message) {
-        String timestamp = LocalDateTime.now().format(LOG_TIME_FMT);
-        logWriter.println(timestamp + " [" + category + "] " + message);
-    }
-
     /**
-     * Logs a message with pretty-printed JSON. Falls back to raw string if not valid JSON.
+     * Applies log level and payload limit changes without a restart.
      */
-    private void logJson(String category, String json) {
-        String timestamp = LocalDateTime.now().format(LOG_TIME_FMT);
-        try {
-            Object parsed = objectMapper.readValue(json, Object.class);
-            String pretty = prettyMapper.writeValueAsString(parsed);
-            logWriter.println(timestamp + " [" + category + "]");
-            logWriter.println(pretty);
-        } catch (Exception e) {
-            logWriter.println(timestamp + " [" + category + "] " + json);
+    private void listenToLogPreferences() {
+        Activator activator = Activator.getDefault();
+        if (activator == null) {
+            return;
         }
+        logPreferenceListener = event -> {
+            if (PreferenceInitializer.PREF_LOG_LEVEL.equals(event.getProperty())) {
+                logger.setLevel(LogLevel.parse(getStringPreference(PreferenceInitializer.PREF_LOG_LEVEL), LogLevel.INFO));
+            } else if (PreferenceInitializer.PREF_LOG_MAX_PAYLOAD_BYTES.equals(event.getProperty())) {
+                logger.setMaxPayloadBytes(getPreference(PreferenceInitializer.PREF_LOG_MAX_PAYLOAD_BYTES, 4096));
+            }
+        };
+        activator.getPreferenceStore().addPropertyChangeListener(logPreferenceListener);
     }
     
+    private int getPreference(String key, int defaultValue) {
+        Activator activator = Activator.getDefault();
+        if (activator == null) {
+            return defaultValue;
+        }
+        int value = activator.getPreferenceStore().getInt(key);
+        return value > 0 ? value : defaultValue;
+    }
+
+    private String getStringPreference(String key) {
+        Activator activator = Activator.getDefault();
+        return activator != null ? activator.getPreferenceStore().getString(key) : null;
+    }
+
     private int getConfiguredPort() {
         String portStr = System.getProperty("mcp.server.port", String.valueOf(DEFAULT_PORT));
         try {
@@ -0,0 +1,53 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Parses compilation units of one project with resolved bindings in a single
+ * {@link ASTParser#createASTs} call, handing each AST to a callback and then letting it go.
+ */
+final class BatchParser {
+
+	static final int BATCH_SIZE = 50;
+
+	@FunctionalInterface
+	interface Callback {
+		void accept(ICompilationUnit source, CompilationUnit ast);
+	}
+
+	private BatchParser() {
+	}
+
+	/**
+	 * @return {@code false} if the monitor cancelled the batch before all units were parsed
+	 */
+	static boolean parse(IJavaProject project, List<ICompilationUnit> units, IProgressMonitor monitor,
+			Callback callback) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setProject(project);
+		parser.setResolveBindings(true);
+		parser.setBindingsRecovery(true);
+		parser.setStatementsRecovery(true);
+
+		try {
+			parser.createASTs(units.toArray(new ICompilationUnit[0]), new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					callback.accept(source, ast);
+				}
+			}, monitor);
+			return true;
+		} catch (OperationCanceledException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+
+/**
+ * Computes the type dependencies of a compilation unit, optionally following source dependencies
+ * within its project transitively.
+ * <p>
+ * Units are parsed in batches through {@code ASTParser.createASTs}, so the units of a batch share
+ * one binding environment instead of each resolving the classpath again, and each AST is
+ * released as soon as it has been visited. Batches run on a small worker pool while the
+ * discovered units of finished batches are queued for the next ones. Instead of a fixed type cap,
+ * the analysis stops scheduling work when its time budget is spent or the heap runs low, and
+ * reports what it got as truncated.
+ */
+public class DependencyAnalyzer {
+
+	/**
+	 * Outcome of an analysis.
+	 */
+	public static class Result {
+
+		private final Map<String, TypeDependency> dependencies;
+		private final Set<String> analyzedTypes;
+		private final int compilationUnits;
+		private final int unresolvedBindings;
+		private final String truncatedReason;
+
+		Result(Map<String, TypeDependency> dependencies, Set<String> analyzedTypes, int compilationUnits,
+				int unresolvedBindings, String truncatedReason) {
+			this.dependencies = dependencies;
+			this.analyzedTypes = analyzedTypes;
+			this.compilationUnits = compilationUnits;
+			this.unresolvedBindings = unresolvedBindings;
+			this.truncatedReason = truncatedReason;
+		}
+
+		/**
+		 * Returns the dependencies sorted by fully qualified name.
+		 */
+		public Map<String, TypeDependency> getDependencies() {
+			return dependencies;
+		}
+
+		/**
+		 * Returns the root type and the source types whose units were followed.
+		 */
+		public Set<String> getAnalyzedTypes() {
+			return analyzedTypes;
+		}
+
+		public int getCompilationUnits() {
+			return compilationUnits;
+		}
+
+		public int getUnresolvedBindings() {
+			return unresolvedBindings;
+		}
+
+		/**
+		 * Returns why the transitive analysis stopped early, or {@code null} if it is complete.
+		 */
+		public String getTruncatedReason() {
+			return truncatedReason;
+		}
+	}
+
+	private static final double MAX_HEAP_USAGE = 0.85;
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private final int parallelism;
+	private final long timeBudgetMs;
+
+	/**
+	 * @param parallelism number of batches parsed concurrently
+	 * @param timeBudgetMs time after which no further batches are started and running ones are
+	 *            cancelled
+	 */
+	public DependencyAnalyzer(int parallelism, long timeBudgetMs) {
+		this.parallelism = Math.max(1, parallelism);
+		this.timeBudgetMs = timeBudgetMs;
+	}
+
+	/**
+	 * Analyzes the unit declaring {@code rootTypeName}. If {@code transitive} is set, units of
+	 * source types from the same project are analyzed as well, until no new ones are found or
+	 * the budget is exhausted.
+	 */
+	public Result analyze(ICompilationUnit root, String rootTypeName, boolean transitive, IProgressMonitor monitor) {
+		IJavaProject project = root.getJavaProject();
+		String projectName = project.getElementName();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+
+		Map<String, TypeDependency> dependencies = new TreeMap<>();
+		Set<String> analyzedTypes = new HashSet<>();
+		Set<ICompilationUnit> queued = new HashSet<>();
+		Deque<ICompilationUnit> pending = new ArrayDeque<>();
+		analyzedTypes.add(rootTypeName);
+		queued.add(root);
+		pending.add(root);
+
+		int compilationUnits = 0;
+		int unresolvedBindings = 0;
+		String truncatedReason = null;
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "MCP dependency analysis " + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<BatchResult> completion = new ExecutorCompletionService<>(executor);
+		IProgressMonitor batchMonitor = new BudgetMonitor(monitor, deadline);
+		int inFlight = 0;
+		monitor.beginTask("Analyzing dependencies of " + rootTypeName, IProgressMonitor.UNKNOWN);
+
+		try {
+			while (true) {
+				while (inFlight < parallelism && !pending.isEmpty() && truncatedReason == null) {
+					truncatedReason = checkBudget(monitor, deadline);
+					if (truncatedReason != null) {
+						break;
+					}
+					List<ICompilationUnit> batch = new ArrayList<>(BatchParser.BATCH_SIZE);
+					while (batch.size() < BatchParser.BATCH_SIZE && !pending.isEmpty()) {
+						batch.add(pending.poll());
+					}
+					completion.submit(() -> parseBatch(project, batch, rootTypeName, batchMonitor));
+					inFlight++;
+				}
+
+				if (inFlight == 0) {
+					break;
+				}
+
+				BatchResult batch = take(completion);
+				inFlight--;
+				compilationUnits += batch.compilationUnits;
+				unresolvedBindings += batch.unresolvedBindings;
+				monitor.worked(batch.compilationUnits);
+				if (batch.cancelled && truncatedReason == null) {
+					truncatedReason = checkBudget(monitor, deadline);
+				}
+
+				for (TypeDependency dependency : batch.dependencies) {
+					if (dependencies.putIfAbsent(dependency.fqn, dependency) != null || !transitive) {
+						continue;
+					}
+					ICompilationUnit unit = dependency.compilationUnit;
+					if (TypeDependency.SOURCE_PROJECT.equals(dependency.sourceType)
+							&& projectName.equals(dependency.sourceProject) && unit != null) {
+						analyzedTypes.add(dependency.fqn);
+						if (queued.add(unit)) {
+							pending.add(unit);
+						}
+					}
+				}
+				monitor.subTask(compilationUnits + " compilation units analyzed, " + pending.size() + " queued");
+			}
+		} finally {
+			executor.shutdownNow();
+			monitor.done();
+		}
+
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		if (truncatedReason == null && !pending.isEmpty()) {
+			truncatedReason = "analysis stopped early";
+		}
+
+		return new Result(dependencies, analyzedTypes, compilationUnits, unresolvedBindings, truncatedReason);
+	}
+
+	private String checkBudget(IProgressMonitor monitor, long deadline) {
+		if (monitor.isCanceled()) {
+			return "cancelled";
+		}
+		if (System.nanoTime() > deadline) {
+			return "time budget of " + timeBudgetMs + " ms exhausted";
+		}
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		if (used > runtime.maxMemory() * MAX_HEAP_USAGE) {
+			return "heap usage above " + (int) (MAX_HEAP_USAGE * 100) + "%";
+		}
+		return null;
+	}
+
+	private BatchResult take(CompletionService<BatchResult> completion) {
+		try {
+			Future<BatchResult> future = completion.take();
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static BatchResult parseBatch(IJavaProject project, List<ICompilationUnit> units, String rootTypeName,
+			IProgressMonitor monitor) {
+		BatchResult result = new BatchResult();
+		result.cancelled = !BatchParser.parse(project, units, monitor, (source, ast) -> {
+			DependencyCollector collector = new DependencyCollector(rootTypeName);
+			result.dependencies.addAll(collector.collect(ast).values());
+			result.unresolvedBindings += collector.getUnresolvedBindings();
+			result.compilationUnits++;
+		});
+		return result;
+	}
+
+	private static final class BatchResult {
+		final List<TypeDependency> dependencies = new ArrayList<>();
+		int compilationUnits;
+		int unresolvedBindings;
+		boolean cancelled;
+	}
+
+	/**
+	 * Monitor handed to {@code createASTs}, cancelled with the tool or when the deadline passes.
+	 */
+	private static final class BudgetMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor parent;
+		private final long deadline;
+
+		BudgetMonitor(IProgressMonitor parent, long deadline) {
+			this.parent = parent;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return parent.isCanceled() || System.nanoTime() > deadline;
+		}
+	}
+}
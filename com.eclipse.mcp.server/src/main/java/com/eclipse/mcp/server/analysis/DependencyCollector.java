@@ -0,0 +1,228 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MarkerAnnotation;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.NormalAnnotation;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.QualifiedType;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
+
+/**
+ * Collects the types referenced from one compilation unit AST with resolved bindings. Types
+ * declared in the unit itself are not reported.
+ */
+public class DependencyCollector extends ASTVisitor {
+
+	private final String rootTypeName;
+	private final Map<String, TypeDependency> dependencies = new LinkedHashMap<>();
+	private final Set<String> declared = new HashSet<>();
+	private final List<String> topLevelTypes = new ArrayList<>();
+	private int unresolvedBindings;
+
+	/**
+	 * @param rootTypeName the type whose dependencies are analyzed, never reported as a
+	 *            dependency; may be {@code null}
+	 */
+	public DependencyCollector(String rootTypeName) {
+		this.rootTypeName = rootTypeName;
+	}
+
+	/**
+	 * Visits the unit and returns the types it references, in order of first reference.
+	 */
+	public Map<String, TypeDependency> collect(CompilationUnit unit) {
+		for (Object type : unit.types()) {
+			ITypeBinding binding = ((AbstractTypeDeclaration) type).resolveBinding();
+			if (binding != null) {
+				topLevelTypes.add(binding.getQualifiedName());
+				addDeclared(binding);
+			}
+		}
+		unit.accept(this);
+		return dependencies;
+	}
+
+	/**
+	 * Returns the fully qualified names of the top-level types declared in the unit.
+	 */
+	public List<String> getTopLevelTypes() {
+		return topLevelTypes;
+	}
+
+	/**
+	 * Returns the fully qualified names of all types declared in the unit, including member types.
+	 */
+	public Set<String> getDeclaredTypes() {
+		return declared;
+	}
+
+	/**
+	 * Returns the number of type references whose binding could not be resolved.
+	 */
+	public int getUnresolvedBindings() {
+		return unresolvedBindings;
+	}
+
+	private void addDeclared(ITypeBinding binding) {
+		declared.add(binding.getQualifiedName());
+		for (ITypeBinding member : binding.getDeclaredTypes()) {
+			addDeclared(member);
+		}
+	}
+
+	@Override
+	public boolean visit(SimpleType node) {
+		collectBinding(node.resolveBinding());
+		return true;
+	}
+
+	@Override
+	public boolean visit(QualifiedType node) {
+		collectBinding(node.resolveBinding());
+		return true;
+	}
+
+	@Override
+	public boolean visit(ParameterizedType node) {
+		collectBinding(node.resolveBinding());
+		return true;
+	}
+
+	@Override
+	public boolean visit(ClassInstanceCreation node) {
+		if (node.resolveConstructorBinding() != null) {
+			collectBinding(node.resolveConstructorBinding().getDeclaringClass());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(MethodInvocation node) {
+		if (node.resolveMethodBinding() != null) {
+			collectBinding(node.resolveMethodBinding().getDeclaringClass());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(MarkerAnnotation node) {
+		if (node.resolveAnnotationBinding() != null) {
+			collectBinding(node.resolveAnnotationBinding().getAnnotationType());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(NormalAnnotation node) {
+		if (node.resolveAnnotationBinding() != null) {
+			collectBinding(node.resolveAnnotationBinding().getAnnotationType());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(SingleMemberAnnotation node) {
+		if (node.resolveAnnotationBinding() != null) {
+			collectBinding(node.resolveAnnotationBinding().getAnnotationType());
+		}
+		return true;
+	}
+
+	private void collectBinding(ITypeBinding binding) {
+		if (binding == null) {
+			unresolvedBindings++;
+			return;
+		}
+
+		binding = unwrapBinding(binding);
+		if (binding == null) {
+			return;
+		}
+
+		String fqn = binding.getQualifiedName();
+		if (fqn == null || fqn.isEmpty()) {
+			return;
+		}
+
+		if (declared.contains(fqn) || fqn.equals(rootTypeName)) {
+			return;
+		}
+
+		if (binding.isPrimitive() || binding.isTypeVariable() || binding.isNullType()) {
+			return;
+		}
+
+		if (dependencies.containsKey(fqn)) {
+			return;
+		}
+
+		TypeDependency info = new TypeDependency(fqn,
+				binding.getPackage() != null ? binding.getPackage().getName() : "");
+
+		IJavaElement element = binding.getJavaElement();
+		if (element instanceof IType itype) {
+			IJavaProject jp = itype.getJavaProject();
+			info.sourceProject = jp != null ? jp.getElementName() : "unknown";
+			try {
+				IPackageFragmentRoot root = (IPackageFragmentRoot) itype
+						.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+				if (root != null) {
+					if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+						info.sourceType = TypeDependency.SOURCE_PROJECT;
+						info.compilationUnit = itype.getCompilationUnit();
+					} else {
+						info.sourceType = TypeDependency.SOURCE_JAR;
+						info.jarName = root.getElementName();
+					}
+				}
+			} catch (Exception e) {
+				info.sourceType = TypeDependency.SOURCE_UNKNOWN;
+			}
+		} else {
+			info.sourceProject = "unresolved";
+			info.sourceType = TypeDependency.SOURCE_UNKNOWN;
+		}
+
+		dependencies.put(fqn, info);
+	}
+
+	private ITypeBinding unwrapBinding(ITypeBinding binding) {
+		if (binding.isArray()) {
+			binding = binding.getElementType();
+		}
+
+		if (binding.isParameterizedType()) {
+			for (ITypeBinding typeArg : binding.getTypeArguments()) {
+				collectBinding(typeArg);
+			}
+			binding = binding.getErasure();
+		}
+
+		if (binding.isWildcardType()) {
+			ITypeBinding bound = binding.getBound();
+			if (bound != null) {
+				collectBinding(bound);
+			}
+			return null;
+		}
+
+		return binding;
+	}
+}
@@ -0,0 +1,93 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable directed graph in compressed adjacency form: the successors of node {@code v} are
+ * {@code targets[offsets[v]] .. targets[offsets[v + 1] - 1]}. Nodes carry a label and an
+ * optional group (the package), and each edge may carry a witness describing the type-level
+ * reference it stands for.
+ */
+public final class Digraph {
+
+	final String[] labels;
+	final String[] groups;
+	final int[] offsets;
+	final int[] targets;
+	final String[] witnesses;
+
+	Digraph(String[] labels, String[] groups, int[] offsets, int[] targets, String[] witnesses) {
+		this.labels = labels;
+		this.groups = groups;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.witnesses = witnesses;
+	}
+
+	public int size() {
+		return labels.length;
+	}
+
+	public int getEdgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * Collapses nodes with the same group into one node per group. Each collapsed edge keeps the
+	 * first node-level edge it was derived from as its witness. Edges within a group are dropped.
+	 */
+	public Digraph collapseGroups() {
+		Map<String, Integer> groupIds = new HashMap<>();
+		int[] groupOf = new int[labels.length];
+		for (int v = 0; v < labels.length; v++) {
+			groupOf[v] = groupIds.computeIfAbsent(groups[v], g -> groupIds.size());
+		}
+		String[] groupLabels = new String[groupIds.size()];
+		for (Map.Entry<String, Integer> entry : groupIds.entrySet()) {
+			groupLabels[entry.getValue()] = entry.getKey();
+		}
+
+		// Bucket node edges by source group, then dedupe targets per group with a stamp array
+		int groupCount = groupLabels.length;
+		int[] nodeOffsets = new int[groupCount + 1];
+		for (int v = 0; v < labels.length; v++) {
+			nodeOffsets[groupOf[v] + 1]++;
+		}
+		for (int g = 0; g < groupCount; g++) {
+			nodeOffsets[g + 1] += nodeOffsets[g];
+		}
+		int[] nodesByGroup = new int[labels.length];
+		int[] fill = Arrays.copyOf(nodeOffsets, groupCount);
+		for (int v = 0; v < labels.length; v++) {
+			nodesByGroup[fill[groupOf[v]]++] = v;
+		}
+
+		int[] stamp = new int[groupCount];
+		Arrays.fill(stamp, -1);
+		int[] groupOffsets = new int[groupCount + 1];
+		int[] groupTargets = new int[targets.length];
+		String[] groupWitnesses = new String[targets.length];
+		int count = 0;
+		for (int g = 0; g < groupCount; g++) {
+			groupOffsets[g] = count;
+			for (int i = nodeOffsets[g]; i < nodeOffsets[g + 1]; i++) {
+				int v = nodesByGroup[i];
+				for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+					int target = groupOf[targets[e]];
+					if (target != g && stamp[target] != g) {
+						stamp[target] = g;
+						groupTargets[count] = target;
+						groupWitnesses[count] = labels[v] + " -> " + labels[targets[e]];
+						count++;
+					}
+				}
+			}
+		}
+		groupOffsets[groupCount] = count;
+
+		return new Digraph(groupLabels, groupLabels, groupOffsets, Arrays.copyOf(groupTargets, count),
+				Arrays.copyOf(groupWitnesses, count));
+	}
+}
@@ -0,0 +1,41 @@
+package com.eclipse.mcp.server.analysis;
+
+/**
+ * A type reached by a {@link TypeDependencyGraph} query.
+ */
+public final class GraphNode {
+
+	private final String name;
+	private final String packageName;
+	private final String projectName;
+	private final int depth;
+
+	GraphNode(String name, String packageName, String projectName, int depth) {
+		this.name = name;
+		this.packageName = packageName;
+		this.projectName = projectName;
+		this.depth = depth;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Returns the project whose sources declare the type, or {@code null} for library types.
+	 */
+	public String getProjectName() {
+		return projectName;
+	}
+
+	/**
+	 * Returns the number of edges between the queried type and this one.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+}
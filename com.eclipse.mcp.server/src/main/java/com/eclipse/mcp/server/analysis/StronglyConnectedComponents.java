@@ -0,0 +1,255 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Strongly connected components of a {@link Digraph}, computed with an iterative version of
+ * Tarjan's algorithm on {@code int} arrays, so it runs in O(V + E) without recursion depth
+ * limits. For every component that forms a cycle, a shortest cycle through one of its members
+ * and the edges inside the component are reported.
+ */
+public final class StronglyConnectedComponents {
+
+	/**
+	 * One component with more than one node, or a single node depending on itself.
+	 */
+	public static final class Component {
+
+		private final List<String> members;
+		private final List<String> cycle;
+		private final List<String> edges;
+		private final int edgeCount;
+
+		Component(List<String> members, List<String> cycle, List<String> edges, int edgeCount) {
+			this.members = members;
+			this.cycle = cycle;
+			this.edges = edges;
+			this.edgeCount = edgeCount;
+		}
+
+		public List<String> getMembers() {
+			return members;
+		}
+
+		/**
+		 * Returns the labels along one shortest cycle, starting and ending with the same node.
+		 */
+		public List<String> getCycle() {
+			return cycle;
+		}
+
+		/**
+		 * Returns up to the requested number of edges inside the component, described as
+		 * {@code "from -> to"}, followed by the type reference they stand for where known.
+		 */
+		public List<String> getEdges() {
+			return edges;
+		}
+
+		public int getEdgeCount() {
+			return edgeCount;
+		}
+	}
+
+	private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+	private StronglyConnectedComponents() {
+	}
+
+	/**
+	 * Returns the cyclic components, largest first.
+	 *
+	 * @param maxEdges maximum number of edges listed per component
+	 */
+	public static List<Component> find(Digraph graph, int maxEdges, IProgressMonitor monitor) {
+		int n = graph.size();
+		int[] component = tarjan(graph, monitor);
+
+		int componentCount = 0;
+		for (int c : component) {
+			componentCount = Math.max(componentCount, c + 1);
+		}
+		int[] sizes = new int[componentCount];
+		for (int c : component) {
+			sizes[c]++;
+		}
+
+		// Group nodes by component
+		int[] memberOffsets = new int[componentCount + 1];
+		for (int c = 0; c < componentCount; c++) {
+			memberOffsets[c + 1] = memberOffsets[c] + sizes[c];
+		}
+		int[] members = new int[n];
+		int[] fill = Arrays.copyOf(memberOffsets, componentCount);
+		for (int v = 0; v < n; v++) {
+			members[fill[component[v]]++] = v;
+		}
+
+		int[] parent = new int[n];
+		int[] queue = new int[n];
+		Arrays.fill(parent, -1);
+		List<Component> result = new ArrayList<>();
+		for (int c = 0; c < componentCount; c++) {
+			int first = members[memberOffsets[c]];
+			if (sizes[c] == 1 && !hasEdge(graph, first, first)) {
+				continue;
+			}
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+
+			List<String> labels = new ArrayList<>(sizes[c]);
+			List<String> edges = new ArrayList<>();
+			int edgeCount = 0;
+			for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+				int v = members[i];
+				labels.add(graph.labels[v]);
+				for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+					if (component[graph.targets[e]] == c) {
+						edgeCount++;
+						if (edges.size() < maxEdges) {
+							edges.add(describeEdge(graph, v, e));
+						}
+					}
+				}
+			}
+			labels.sort(null);
+			result.add(new Component(labels, shortestCycle(graph, component, first, parent, queue), edges, edgeCount));
+		}
+
+		result.sort((a, b) -> Integer.compare(b.getMembers().size(), a.getMembers().size()));
+		return result;
+	}
+
+	/**
+	 * Returns the component index of every node.
+	 */
+	static int[] tarjan(Digraph graph, IProgressMonitor monitor) {
+		int n = graph.size();
+		int[] offsets = graph.offsets;
+		int[] targets = graph.targets;
+
+		int[] index = new int[n];
+		int[] low = new int[n];
+		int[] next = new int[n];
+		int[] component = new int[n];
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n];
+		int[] callStack = new int[n];
+		Arrays.fill(index, -1);
+
+		int counter = 0;
+		int componentCount = 0;
+		int sp = 0;
+		for (int root = 0; root < n; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			if ((root % CANCEL_CHECK_INTERVAL) == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+
+			int cp = 0;
+			index[root] = low[root] = counter++;
+			next[root] = offsets[root];
+			stack[sp++] = root;
+			onStack[root] = true;
+			callStack[cp++] = root;
+
+			while (cp > 0) {
+				int v = callStack[cp - 1];
+				if (next[v] < offsets[v + 1]) {
+					int w = targets[next[v]++];
+					if (index[w] < 0) {
+						index[w] = low[w] = counter++;
+						next[w] = offsets[w];
+						stack[sp++] = w;
+						onStack[w] = true;
+						callStack[cp++] = w;
+					} else if (onStack[w]) {
+						low[v] = Math.min(low[v], index[w]);
+					}
+					continue;
+				}
+
+				cp--;
+				if (low[v] == index[v]) {
+					int w;
+					do {
+						w = stack[--sp];
+						onStack[w] = false;
+						component[w] = componentCount;
+					} while (w != v);
+					componentCount++;
+				}
+				if (cp > 0) {
+					int u = callStack[cp - 1];
+					low[u] = Math.min(low[u], low[v]);
+				}
+			}
+		}
+		return component;
+	}
+
+	/**
+	 * Breadth-first search inside the component from {@code start} back to itself.
+	 */
+	private static List<String> shortestCycle(Digraph graph, int[] component, int start, int[] parent, int[] queue) {
+		int c = component[start];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		parent[start] = start;
+		int last = -1;
+
+		search: while (head < tail) {
+			int v = queue[head++];
+			for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+				int w = graph.targets[e];
+				if (w == start) {
+					last = v;
+					break search;
+				}
+				if (component[w] == c && parent[w] < 0) {
+					parent[w] = v;
+					queue[tail++] = w;
+				}
+			}
+		}
+
+		List<String> cycle = new ArrayList<>();
+		if (last >= 0) {
+			for (int v = last; v != start; v = parent[v]) {
+				cycle.add(graph.labels[v]);
+			}
+			cycle.add(graph.labels[start]);
+			Collections.reverse(cycle);
+			cycle.add(graph.labels[start]);
+		}
+		for (int i = 0; i < tail; i++) {
+			parent[queue[i]] = -1;
+		}
+		return cycle;
+	}
+
+	private static boolean hasEdge(Digraph graph, int from, int to) {
+		for (int e = graph.offsets[from]; e < graph.offsets[from + 1]; e++) {
+			if (graph.targets[e] == to) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String describeEdge(Digraph graph, int from, int edge) {
+		String description = graph.labels[from] + " -> " + graph.labels[graph.targets[edge]];
+		String witness = graph.witnesses != null ? graph.witnesses[edge] : null;
+		return witness != null ? description + " (" + witness + ")" : description;
+	}
+}
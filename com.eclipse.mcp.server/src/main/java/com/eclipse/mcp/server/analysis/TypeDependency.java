@@ -0,0 +1,84 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * A type referenced from analyzed source, with where it comes from.
+ */
+public class TypeDependency {
+
+	/** Source type of a type declared in a source folder of a workspace project. */
+	public static final String SOURCE_PROJECT = "project";
+	/** Source type of a type from a library or another binary root. */
+	public static final String SOURCE_JAR = "jar";
+	public static final String SOURCE_UNKNOWN = "unknown";
+
+	final String fqn;
+	final String packageName;
+	String sourceProject;
+	String sourceType;
+	String jarName;
+	ICompilationUnit compilationUnit;
+	boolean excluded;
+	String excludedByRule;
+
+	TypeDependency(String fqn, String packageName) {
+		this.fqn = fqn;
+		this.packageName = packageName;
+	}
+
+	public String getFullyQualifiedName() {
+		return fqn;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	public String getSourceProject() {
+		return sourceProject;
+	}
+
+	/**
+	 * Returns {@link #SOURCE_PROJECT}, {@link #SOURCE_JAR} or {@link #SOURCE_UNKNOWN}.
+	 */
+	public String getSourceType() {
+		return sourceType;
+	}
+
+	public String getJarName() {
+		return jarName;
+	}
+
+	/**
+	 * Returns the compilation unit declaring the type, or {@code null} for binary types.
+	 */
+	public ICompilationUnit getCompilationUnit() {
+		return compilationUnit;
+	}
+
+	public boolean isExcluded() {
+		return excluded;
+	}
+
+	/**
+	 * Marks the dependency as excluded by the given package prefix.
+	 */
+	public void exclude(String rule) {
+		excluded = true;
+		excludedByRule = rule;
+	}
+
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("fqn", fqn);
+		map.put("excluded", excluded);
+		if (excludedByRule != null) {
+			map.put("excludedByRule", excludedByRule);
+		}
+		return map;
+	}
+}
@@ -0,0 +1,907 @@
+package com.eclipse.mcp.server.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Type-to-type dependency graph of all source types in the workspace.
+ * <p>
+ * Types are numbered, and each source compilation unit keeps the ids of the top-level types it
+ * declares and of the types it references, as plain {@code int} arrays. Edges are recorded per
+ * unit: all types declared in a unit share its dependencies. The reverse direction is derived
+ * on demand as a compressed adjacency array (offsets plus unit ids) and rebuilt only after the
+ * graph changed.
+ * <p>
+ * The graph is persisted in the plugin state location together with the modification stamp of
+ * every unit. After a restart only units whose stamp differs are parsed again; after that,
+ * saved compilation units are re-parsed individually from Java element deltas, and a classpath
+ * change re-parses the units of the affected project.
+ */
+public class TypeDependencyGraph implements IElementChangedListener {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final long UPDATE_DELAY_MS = 1000;
+	private static final long RETRY_DELAY_MS = 10 * 1000;
+	private static final int[] NO_IDS = new int[0];
+
+	private static final class Unit {
+		final String path;
+		final String project;
+		final String packageName;
+		final long stamp;
+		final int[] types;
+		final int[] members;
+		final int[] dependencies;
+
+		Unit(String path, String project, String packageName, long stamp, int[] types, int[] members,
+				int[] dependencies) {
+			this.path = path;
+			this.project = project;
+			this.packageName = packageName;
+			this.stamp = stamp;
+			this.types = types;
+			this.members = members;
+			this.dependencies = dependencies;
+		}
+	}
+
+	private static final class ParsedUnit {
+		String path;
+		String project;
+		String packageName;
+		long stamp;
+		List<String> types;
+		List<String> members;
+		Map<String, TypeDependency> dependencies;
+	}
+
+	private final File snapshotFile;
+
+	private String[] names = new String[1024];
+	private String[] packages = new String[1024];
+	private int[] nodeUnits = new int[1024];
+	private int nodeCount;
+	private final Map<String, Integer> nodeIds = new HashMap<>();
+	private final Map<String, String> strings = new HashMap<>();
+
+	private Unit[] units = new Unit[256];
+	private int unitCount;
+	private final Map<String, Integer> unitIds = new HashMap<>();
+	private final Deque<Integer> freeUnits = new ArrayDeque<>();
+
+	private int[] reverseOffsets;
+	private int[] reverseUnits;
+	private long revision;
+	private volatile boolean ready;
+
+	private final Set<ICompilationUnit> dirtyUnits = new LinkedHashSet<>();
+	private final Set<String> dirtyProjects = new HashSet<>();
+	private final Set<String> removedUnits = new HashSet<>();
+	private boolean syncRequested;
+	private final Job updateJob = new UpdateJob();
+
+	public TypeDependencyGraph(File snapshotFile) {
+		this.snapshotFile = snapshotFile;
+	}
+
+	/**
+	 * Loads the persisted graph, starts listening for changes and schedules a background sync
+	 * that parses units changed since the snapshot (all units on the first start).
+	 */
+	public void start() {
+		try {
+			readSnapshot();
+			ready = true;
+		} catch (IOException | RuntimeException e) {
+			// Unreadable snapshot: start empty, the sync below rebuilds the graph
+			synchronized (this) {
+				clear();
+			}
+			snapshotFile.delete();
+		}
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+		synchronized (dirtyUnits) {
+			syncRequested = true;
+		}
+		updateJob.schedule();
+	}
+
+	public void stop() {
+		JavaCore.removeElementChangedListener(this);
+		updateJob.cancel();
+		if (ready) {
+			saveSnapshot();
+		}
+	}
+
+	/**
+	 * Returns whether queries can be answered, i.e. a snapshot was loaded or a sync completed.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Returns a counter that changes whenever the graph changes.
+	 */
+	public synchronized long getRevision() {
+		return revision;
+	}
+
+	public synchronized int getTypeCount() {
+		return nodeCount;
+	}
+
+	public synchronized int getUnitCount() {
+		return unitIds.size();
+	}
+
+	public synchronized int getEdgeCount() {
+		int edges = 0;
+		for (int i = 0; i < unitCount; i++) {
+			if (units[i] != null) {
+				edges += units[i].dependencies.length * units[i].types.length;
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Returns whether the type is declared in workspace sources or referenced from them.
+	 */
+	public synchronized boolean contains(String typeName) {
+		return nodeIds.containsKey(typeName);
+	}
+
+	/**
+	 * Returns the types the given type depends on, or the whole forward closure if
+	 * {@code transitive} is set, ordered by distance and name.
+	 */
+	public synchronized List<GraphNode> getDependencies(String typeName, boolean transitive) {
+		return traverse(requireNode(typeName), transitive, true);
+	}
+
+	/**
+	 * Returns the top-level types that depend on the given type, or the whole reverse closure if
+	 * {@code transitive} is set, ordered by distance and name.
+	 */
+	public synchronized List<GraphNode> getDependents(String typeName, boolean transitive) {
+		return traverse(requireNode(typeName), transitive, false);
+	}
+
+	/**
+	 * Returns whether the graph knows the compilation unit with the given workspace path.
+	 */
+	public synchronized boolean containsUnit(String path) {
+		return unitIds.containsKey(path);
+	}
+
+	/**
+	 * Returns the top-level types declared in the given compilation units and every type that
+	 * depends on one of them, directly or transitively. Unknown paths are ignored.
+	 */
+	public synchronized Set<String> getAffectedTypes(Collection<String> unitPaths) {
+		ensureReverseIndex();
+		boolean[] seen = new boolean[nodeCount];
+		int[] queue = new int[nodeCount];
+		int tail = 0;
+		for (String path : unitPaths) {
+			Integer unit = unitIds.get(path);
+			if (unit == null) {
+				continue;
+			}
+			for (int type : units[unit].types) {
+				if (!seen[type]) {
+					seen[type] = true;
+					queue[tail++] = type;
+				}
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			for (int next : neighbors(queue[head], false)) {
+				if (!seen[next]) {
+					seen[next] = true;
+					queue[tail++] = next;
+				}
+			}
+		}
+		Set<String> affected = new HashSet<>();
+		for (int i = 0; i < tail; i++) {
+			affected.add(names[queue[i]]);
+		}
+		return affected;
+	}
+
+	/**
+	 * Returns the packages that source types of the given package depend on, with the number of
+	 * type references into each, most referenced first.
+	 */
+	public synchronized Map<String, Integer> getPackageDependencies(String packageName) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < unitCount; i++) {
+			Unit unit = units[i];
+			if (unit == null || !unit.packageName.equals(packageName)) {
+				continue;
+			}
+			for (int dependency : unit.dependencies) {
+				if (!packages[dependency].equals(packageName)) {
+					counts.merge(packages[dependency], unit.types.length, Integer::sum);
+				}
+			}
+		}
+		return sortByCount(counts);
+	}
+
+	/**
+	 * Returns the packages whose source types depend on types of the given package, with the
+	 * number of type references from each, most referencing first.
+	 */
+	public synchronized Map<String, Integer> getPackageDependents(String packageName) {
+		ensureReverseIndex();
+		Map<String, Integer> counts = new HashMap<>();
+		for (int node = 0; node < nodeCount; node++) {
+			if (!packages[node].equals(packageName)) {
+				continue;
+			}
+			for (int r = reverseOffsets[node]; r < reverseOffsets[node + 1]; r++) {
+				Unit unit = units[reverseUnits[r]];
+				if (!unit.packageName.equals(packageName)) {
+					counts.merge(unit.packageName, unit.types.length, Integer::sum);
+				}
+			}
+		}
+		return sortByCount(counts);
+	}
+
+	/**
+	 * Returns the source part of the graph as a {@link Digraph} with one node per compilation
+	 * unit, labelled with its first top-level type and grouped by package, and an edge wherever a
+	 * unit references a type declared in another one. If a project is given, only its units are
+	 * included.
+	 */
+	public synchronized Digraph getUnitGraph(String projectName) {
+		int[] nodeOf = new int[unitCount];
+		int size = 0;
+		int edgeBound = 0;
+		for (int i = 0; i < unitCount; i++) {
+			Unit unit = units[i];
+			if (unit != null && unit.types.length > 0 && (projectName == null || projectName.equals(unit.project))) {
+				nodeOf[i] = size++;
+				edgeBound += unit.dependencies.length;
+			} else {
+				nodeOf[i] = -1;
+			}
+		}
+
+		String[] labels = new String[size];
+		String[] groups = new String[size];
+		int[] offsets = new int[size + 1];
+		int[] targets = new int[edgeBound];
+		int[] stamp = new int[size];
+		Arrays.fill(stamp, -1);
+		int count = 0;
+		for (int i = 0; i < unitCount; i++) {
+			int v = nodeOf[i];
+			if (v < 0) {
+				continue;
+			}
+			Unit unit = units[i];
+			labels[v] = names[unit.types[0]];
+			groups[v] = unit.packageName;
+			offsets[v] = count;
+			for (int dependency : unit.dependencies) {
+				int target = nodeUnits[dependency] >= 0 ? nodeOf[nodeUnits[dependency]] : -1;
+				if (target >= 0 && target != v && stamp[target] != v) {
+					stamp[target] = v;
+					targets[count++] = target;
+				}
+			}
+		}
+		offsets[size] = count;
+		return new Digraph(labels, groups, offsets, Arrays.copyOf(targets, count), null);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean changed;
+		synchronized (dirtyUnits) {
+			changed = collectChanges(event.getDelta());
+		}
+		if (changed) {
+			updateJob.schedule(UPDATE_DELAY_MS);
+		}
+	}
+
+	/**
+	 * Records saved, added and removed compilation units and projects whose classpath changed.
+	 *
+	 * @return {@code true} if anything relevant changed
+	 */
+	private boolean collectChanges(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					dirtyProjects.add(element.getElementName());
+					syncRequested = true;
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					dirtyProjects.add(element.getJavaProject().getElementName());
+					syncRequested = true;
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu = (ICompilationUnit) element;
+				if (cu.isWorkingCopy() && delta.getKind() == IJavaElementDelta.CHANGED
+						&& (flags & IJavaElementDelta.F_PRIMARY_RESOURCE) == 0) {
+					return false;
+				}
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					removedUnits.add(cu.getPath().toString());
+				} else {
+					dirtyUnits.add(cu.getPrimary());
+				}
+				return true;
+			default:
+				break;
+		}
+
+		boolean changed = false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			changed |= collectChanges(child);
+		}
+		return changed;
+	}
+
+	private void update(IProgressMonitor monitor) throws CoreException {
+		List<ICompilationUnit> toParse;
+		Set<String> removed;
+		Set<String> projects;
+		boolean sync;
+		synchronized (dirtyUnits) {
+			toParse = new ArrayList<>(dirtyUnits);
+			removed = new HashSet<>(removedUnits);
+			projects = new HashSet<>(dirtyProjects);
+			sync = syncRequested;
+			dirtyUnits.clear();
+			removedUnits.clear();
+			dirtyProjects.clear();
+			syncRequested = false;
+		}
+
+		boolean complete = false;
+		try {
+			complete = update(toParse, removed, projects, sync, monitor);
+		} catch (CoreException | RuntimeException e) {
+			// E.g. a project closed mid-sync; try again rather than stay unready until restart
+			if (!(e instanceof OperationCanceledException)) {
+				updateJob.schedule(RETRY_DELAY_MS);
+			}
+			throw e;
+		} finally {
+			if (!complete) {
+				// Processing a unit twice is harmless, losing one is not
+				synchronized (dirtyUnits) {
+					dirtyUnits.addAll(toParse);
+					removedUnits.addAll(removed);
+					dirtyProjects.addAll(projects);
+					syncRequested |= sync;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies one batch of changes.
+	 *
+	 * @return {@code false} if the monitor cancelled the batch before it was fully applied
+	 */
+	private boolean update(List<ICompilationUnit> toParse, Set<String> removed, Set<String> projects, boolean sync,
+			IProgressMonitor monitor) throws CoreException {
+		if (sync) {
+			Map<String, ICompilationUnit> current = collectSourceUnits(monitor);
+			synchronized (this) {
+				for (String path : unitIds.keySet()) {
+					if (!current.containsKey(path)) {
+						removed.add(path);
+					}
+				}
+				for (Map.Entry<String, ICompilationUnit> entry : current.entrySet()) {
+					Integer id = unitIds.get(entry.getKey());
+					ICompilationUnit cu = entry.getValue();
+					if (id == null || units[id].stamp != getStamp(cu)
+							|| projects.contains(cu.getJavaProject().getElementName())) {
+						toParse.add(cu);
+					}
+				}
+			}
+		}
+
+		synchronized (this) {
+			for (String path : removed) {
+				removeUnit(path);
+			}
+		}
+
+		Map<IJavaProject, List<ICompilationUnit>> byProject = new LinkedHashMap<>();
+		for (ICompilationUnit cu : new LinkedHashSet<>(toParse)) {
+			if (cu.exists()) {
+				byProject.computeIfAbsent(cu.getJavaProject(), p -> new ArrayList<>()).add(cu);
+			} else {
+				synchronized (this) {
+					removeUnit(cu.getPath().toString());
+				}
+			}
+		}
+
+		for (Map.Entry<IJavaProject, List<ICompilationUnit>> entry : byProject.entrySet()) {
+			List<ICompilationUnit> projectUnits = entry.getValue();
+			for (int start = 0; start < projectUnits.size(); start += BatchParser.BATCH_SIZE) {
+				List<ICompilationUnit> batch = projectUnits.subList(start,
+						Math.min(start + BatchParser.BATCH_SIZE, projectUnits.size()));
+				List<ParsedUnit> parsed = new ArrayList<>(batch.size());
+				boolean complete = BatchParser.parse(entry.getKey(), batch, monitor,
+						(source, ast) -> parsed.add(parse(source, ast)));
+				synchronized (this) {
+					for (ParsedUnit unit : parsed) {
+						putUnit(unit);
+					}
+				}
+				if (!complete) {
+					return false;
+				}
+			}
+		}
+
+		if (sync) {
+			ready = true;
+			saveSnapshot();
+		}
+		return true;
+	}
+
+	private Map<String, ICompilationUnit> collectSourceUnits(IProgressMonitor monitor) throws JavaModelException {
+		Map<String, ICompilationUnit> result = new LinkedHashMap<>();
+		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		for (IJavaProject project : projects) {
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (root.getKind() != IPackageFragmentRoot.K_SOURCE || !project.equals(root.getJavaProject())) {
+					continue;
+				}
+				for (IJavaElement child : root.getChildren()) {
+					for (ICompilationUnit cu : ((IPackageFragment) child).getCompilationUnits()) {
+						result.put(cu.getPath().toString(), cu);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static long getStamp(ICompilationUnit cu) {
+		return cu.getResource() != null ? cu.getResource().getModificationStamp() : -1;
+	}
+
+	private static ParsedUnit parse(ICompilationUnit source, CompilationUnit ast) {
+		DependencyCollector collector = new DependencyCollector(null);
+		Map<String, TypeDependency> dependencies = collector.collect(ast);
+
+		ParsedUnit unit = new ParsedUnit();
+		unit.path = source.getPath().toString();
+		unit.project = source.getJavaProject().getElementName();
+		unit.packageName = ast.getPackage() != null ? ast.getPackage().getName().getFullyQualifiedName() : "";
+		unit.stamp = getStamp(source);
+		unit.types = collector.getTopLevelTypes();
+		unit.members = new ArrayList<>(collector.getDeclaredTypes());
+		unit.members.removeAll(unit.types);
+		unit.dependencies = dependencies;
+		return unit;
+	}
+
+	private void putUnit(ParsedUnit parsed) {
+		removeUnit(parsed.path);
+
+		int[] types = new int[parsed.types.size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = node(parsed.types.get(i), parsed.packageName);
+		}
+		int[] members = new int[parsed.members.size()];
+		for (int i = 0; i < members.length; i++) {
+			members[i] = node(parsed.members.get(i), parsed.packageName);
+		}
+		int[] dependencies = new int[parsed.dependencies.size()];
+		int count = 0;
+		for (TypeDependency dependency : parsed.dependencies.values()) {
+			dependencies[count++] = node(dependency.fqn, dependency.packageName);
+		}
+
+		addUnit(new Unit(parsed.path, intern(parsed.project), intern(parsed.packageName), parsed.stamp,
+				types, members, dependencies));
+	}
+
+	private void addUnit(Unit unit) {
+		int id;
+		if (!freeUnits.isEmpty()) {
+			id = freeUnits.pop();
+		} else {
+			if (unitCount == units.length) {
+				units = Arrays.copyOf(units, unitCount * 2);
+			}
+			id = unitCount++;
+		}
+		units[id] = unit;
+		unitIds.put(unit.path, id);
+		for (int type : unit.types) {
+			nodeUnits[type] = id;
+		}
+		for (int member : unit.members) {
+			nodeUnits[member] = id;
+		}
+		changed();
+	}
+
+	private void removeUnit(String path) {
+		Integer id = unitIds.remove(path);
+		if (id == null) {
+			return;
+		}
+		Unit unit = units[id];
+		for (int type : unit.types) {
+			if (nodeUnits[type] == id) {
+				nodeUnits[type] = -1;
+			}
+		}
+		for (int member : unit.members) {
+			if (nodeUnits[member] == id) {
+				nodeUnits[member] = -1;
+			}
+		}
+		units[id] = null;
+		freeUnits.push(id);
+		changed();
+	}
+
+	private int node(String name, String packageName) {
+		Integer id = nodeIds.get(name);
+		if (id != null) {
+			return id;
+		}
+		if (nodeCount == names.length) {
+			names = Arrays.copyOf(names, nodeCount * 2);
+			packages = Arrays.copyOf(packages, nodeCount * 2);
+			nodeUnits = Arrays.copyOf(nodeUnits, nodeCount * 2);
+		}
+		names[nodeCount] = name;
+		packages[nodeCount] = intern(packageName);
+		nodeUnits[nodeCount] = -1;
+		nodeIds.put(name, nodeCount);
+		return nodeCount++;
+	}
+
+	private String intern(String value) {
+		return strings.computeIfAbsent(value, v -> v);
+	}
+
+	private void changed() {
+		revision++;
+		reverseOffsets = null;
+		reverseUnits = null;
+	}
+
+	private void clear() {
+		Arrays.fill(names, 0, nodeCount, null);
+		Arrays.fill(packages, 0, nodeCount, null);
+		nodeCount = 0;
+		nodeIds.clear();
+		strings.clear();
+		Arrays.fill(units, 0, unitCount, null);
+		unitCount = 0;
+		unitIds.clear();
+		freeUnits.clear();
+		changed();
+	}
+
+	private int requireNode(String typeName) {
+		Integer id = nodeIds.get(typeName);
+		if (id == null) {
+			throw new IllegalArgumentException("Type not found in dependency graph: " + typeName);
+		}
+		return id;
+	}
+
+	/**
+	 * Builds the reverse adjacency (type to referencing units) in compressed form.
+	 */
+	private void ensureReverseIndex() {
+		if (reverseOffsets != null) {
+			return;
+		}
+		int[] offsets = new int[nodeCount + 1];
+		for (int i = 0; i < unitCount; i++) {
+			if (units[i] != null) {
+				for (int dependency : units[i].dependencies) {
+					offsets[dependency + 1]++;
+				}
+			}
+		}
+		for (int node = 0; node < nodeCount; node++) {
+			offsets[node + 1] += offsets[node];
+		}
+		int[] sources = new int[offsets[nodeCount]];
+		int[] fill = Arrays.copyOf(offsets, nodeCount);
+		for (int i = 0; i < unitCount; i++) {
+			if (units[i] != null) {
+				for (int dependency : units[i].dependencies) {
+					sources[fill[dependency]++] = i;
+				}
+			}
+		}
+		reverseOffsets = offsets;
+		reverseUnits = sources;
+	}
+
+	private List<GraphNode> traverse(int start, boolean transitive, boolean forward) {
+		if (!forward) {
+			ensureReverseIndex();
+		}
+		int[] depth = new int[nodeCount];
+		Arrays.fill(depth, -1);
+		depth[start] = 0;
+		int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+
+		List<GraphNode> result = new ArrayList<>();
+		while (head < tail) {
+			int node = queue[head++];
+			if (!transitive && depth[node] >= 1) {
+				continue;
+			}
+			for (int next : neighbors(node, forward)) {
+				if (depth[next] < 0) {
+					depth[next] = depth[node] + 1;
+					queue[tail++] = next;
+					result.add(toGraphNode(next, depth[next]));
+				}
+			}
+		}
+		result.sort(Comparator.comparingInt(GraphNode::getDepth).thenComparing(GraphNode::getName));
+		return result;
+	}
+
+	private int[] neighbors(int node, boolean forward) {
+		if (forward) {
+			int unit = nodeUnits[node];
+			return unit >= 0 ? units[unit].dependencies : NO_IDS;
+		}
+		int from = reverseOffsets[node];
+		int to = reverseOffsets[node + 1];
+		if (from == to) {
+			return NO_IDS;
+		}
+		int size = 0;
+		for (int r = from; r < to; r++) {
+			size += units[reverseUnits[r]].types.length;
+		}
+		int[] result = new int[size];
+		int count = 0;
+		for (int r = from; r < to; r++) {
+			for (int type : units[reverseUnits[r]].types) {
+				result[count++] = type;
+			}
+		}
+		return result;
+	}
+
+	private GraphNode toGraphNode(int node, int nodeDepth) {
+		int unit = nodeUnits[node];
+		return new GraphNode(names[node], packages[node], unit >= 0 ? units[unit].project : null, nodeDepth);
+	}
+
+	private static Map<String, Integer> sortByCount(Map<String, Integer> counts) {
+		Map<String, Integer> sorted = new LinkedHashMap<>();
+		counts.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+						.thenComparing(Map.Entry.comparingByKey()))
+				.forEach(e -> sorted.put(e.getKey(), e.getValue()));
+		return sorted;
+	}
+
+	private void saveSnapshot() {
+		try {
+			writeSnapshot();
+		} catch (IOException e) {
+			snapshotFile.delete();
+		}
+	}
+
+	private synchronized void writeSnapshot() throws IOException {
+		Map<String, Integer> stringIds = new LinkedHashMap<>();
+		for (int node = 0; node < nodeCount; node++) {
+			stringIds.putIfAbsent(packages[node], stringIds.size());
+		}
+		for (int i = 0; i < unitCount; i++) {
+			if (units[i] != null) {
+				stringIds.putIfAbsent(units[i].project, stringIds.size());
+				stringIds.putIfAbsent(units[i].packageName, stringIds.size());
+			}
+		}
+
+		File temp = new File(snapshotFile.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(stringIds.size());
+			for (String value : stringIds.keySet()) {
+				out.writeUTF(value);
+			}
+			out.writeInt(nodeCount);
+			for (int node = 0; node < nodeCount; node++) {
+				out.writeUTF(names[node]);
+				out.writeInt(stringIds.get(packages[node]));
+			}
+			out.writeInt(unitIds.size());
+			for (int i = 0; i < unitCount; i++) {
+				Unit unit = units[i];
+				if (unit == null) {
+					continue;
+				}
+				out.writeUTF(unit.path);
+				out.writeInt(stringIds.get(unit.project));
+				out.writeInt(stringIds.get(unit.packageName));
+				out.writeLong(unit.stamp);
+				writeIds(out, unit.types);
+				writeIds(out, unit.members);
+				writeIds(out, unit.dependencies);
+			}
+		}
+		if (!temp.renameTo(snapshotFile)) {
+			snapshotFile.delete();
+			if (!temp.renameTo(snapshotFile)) {
+				throw new IOException("Cannot replace " + snapshotFile);
+			}
+		}
+	}
+
+	private synchronized void readSnapshot() throws IOException {
+		if (!snapshotFile.isFile()) {
+			throw new IOException("No snapshot");
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported snapshot format");
+			}
+			// Counts are checked against the file size, so a corrupt one cannot allocate huge arrays
+			long size = snapshotFile.length();
+			String[] table = new String[readCount(in, size, 2)];
+			for (int i = 0; i < table.length; i++) {
+				table[i] = intern(in.readUTF());
+			}
+			int nodes = readCount(in, size, 6);
+			for (int node = 0; node < nodes; node++) {
+				String name = in.readUTF();
+				if (node(name, readString(in, table)) != node) {
+					throw new IOException("Corrupt snapshot: duplicate node " + name);
+				}
+			}
+			int unitTotal = readCount(in, size, 30);
+			for (int i = 0; i < unitTotal; i++) {
+				String path = in.readUTF();
+				String project = readString(in, table);
+				String packageName = readString(in, table);
+				long stamp = in.readLong();
+				int[] types = readIds(in, size, nodes);
+				int[] members = readIds(in, size, nodes);
+				int[] dependencies = readIds(in, size, nodes);
+				addUnit(new Unit(path, project, packageName, stamp, types, members, dependencies));
+			}
+		}
+	}
+
+	private static void writeIds(DataOutputStream out, int[] ids) throws IOException {
+		out.writeInt(ids.length);
+		for (int id : ids) {
+			out.writeInt(id);
+		}
+	}
+
+	private static int[] readIds(DataInputStream in, long fileSize, int nodes) throws IOException {
+		int[] ids = new int[readCount(in, fileSize, 4)];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = in.readInt();
+			if (ids[i] < 0 || ids[i] >= nodes) {
+				throw new IOException("Corrupt snapshot");
+			}
+		}
+		return ids;
+	}
+
+	private static int readCount(DataInputStream in, long fileSize, int minBytesPerItem) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || (long) count * minBytesPerItem > fileSize) {
+			throw new IOException("Corrupt snapshot: invalid count " + count);
+		}
+		return count;
+	}
+
+	private static String readString(DataInputStream in, String[] table) throws IOException {
+		int index = in.readInt();
+		if (index < 0 || index >= table.length) {
+			throw new IOException("Corrupt snapshot: invalid string reference " + index);
+		}
+		return table[index];
+	}
+
+	private final class UpdateJob extends Job {
+
+		UpdateJob() {
+			super("Updating type dependency graph");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update(monitor);
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (CoreException e) {
+				return e.getStatus();
+			}
+		}
+	}
+}
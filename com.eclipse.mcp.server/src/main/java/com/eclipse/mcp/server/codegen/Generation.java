@@ -0,0 +1,280 @@
+package com.eclipse.mcp.server.codegen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * The result of a {@link SourceGenerator} run on one compilation unit: the members generated and
+ * skipped, the new source and its unified diff against the source the members were generated for.
+ */
+public final class Generation {
+
+	private final ICompilationUnit unit;
+	private final String source;
+	private final List<String> generated;
+	private final List<String> skipped;
+	private final String newSource;
+	private final String diff;
+
+	Generation(ICompilationUnit unit, String source, TextEdit edit, TextEdit importEdit, List<String> generated,
+			List<String> skipped) {
+		this.unit = unit;
+		this.source = source;
+		this.generated = List.copyOf(generated);
+		this.skipped = List.copyOf(skipped);
+		if (edit == null) {
+			this.newSource = source;
+			this.diff = "";
+			return;
+		}
+		MultiTextEdit root = new MultiTextEdit();
+		root.addChild(edit);
+		if (importEdit != null) {
+			root.addChild(importEdit);
+		}
+		IDocument document = new Document(source);
+		try {
+			// Hunks are computed from the edits' original positions, which applying moves
+			List<TextEdit> leaves = new ArrayList<>();
+			String leavesDiff = collectLeaves(root, leaves) ? createDiff(leaves) : null;
+			root.apply(document, TextEdit.NONE);
+			this.newSource = document.get();
+			this.diff = leavesDiff != null ? leavesDiff : createDiff();
+		} catch (BadLocationException e) {
+			throw new IllegalStateException("Generated edit does not fit " + unit.getElementName(), e);
+		}
+	}
+
+	public ICompilationUnit getCompilationUnit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the generated members, as {@code Type.method(parameter types)}.
+	 */
+	public List<String> getGenerated() {
+		return generated;
+	}
+
+	/**
+	 * Returns the members that were not generated, with the reason.
+	 */
+	public List<String> getSkipped() {
+		return skipped;
+	}
+
+	public boolean hasChanges() {
+		return !generated.isEmpty();
+	}
+
+	public String getNewSource() {
+		return newSource;
+	}
+
+	/**
+	 * Returns the change as a unified diff without context lines, empty without changes.
+	 */
+	public String getDiff() {
+		return diff;
+	}
+
+	/**
+	 * Writes all generations with changes in one workspace operation, so the workspace reports a
+	 * single resource delta and builds once. Every unit is checked before any is written: if one
+	 * no longer has the source it was generated for, nothing is written.
+	 *
+	 * @throws IllegalArgumentException if a unit changed since its members were generated or has
+	 *             unsaved edits
+	 */
+	public static void apply(List<Generation> generations, IProgressMonitor monitor) throws CoreException {
+		List<Generation> changes = new ArrayList<>();
+		for (Generation generation : generations) {
+			if (generation.hasChanges()) {
+				changes.add(generation);
+			}
+		}
+		if (changes.isEmpty()) {
+			return;
+		}
+		IWorkspaceRunnable runnable = runnableMonitor -> {
+			SubMonitor subMonitor = SubMonitor.convert(runnableMonitor, "Writing generated source", changes.size() * 2);
+			List<ICompilationUnit> workingCopies = new ArrayList<>();
+			try {
+				for (Generation generation : changes) {
+					ICompilationUnit unit = generation.unit;
+					checkSaved(unit);
+					unit.becomeWorkingCopy(subMonitor.split(1));
+					workingCopies.add(unit);
+					if (!generation.source.equals(unit.getBuffer().getContents())) {
+						throw new IllegalArgumentException(unit.getPath() + " changed or has unsaved edits; nothing was written");
+					}
+				}
+				for (Generation generation : changes) {
+					ICompilationUnit unit = generation.unit;
+					IBuffer buffer = unit.getBuffer();
+					buffer.setContents(generation.newSource);
+					unit.commitWorkingCopy(false, subMonitor.split(1));
+				}
+			} finally {
+				for (ICompilationUnit workingCopy : workingCopies) {
+					workingCopy.discardWorkingCopy();
+				}
+			}
+		};
+		JavaCore.run(runnable, ResourcesPlugin.getWorkspace().getRoot(), monitor);
+	}
+
+	/**
+	 * Refuses units open in an editor with unsaved edits. Their source and buffer are the editor's,
+	 * so committing the generated members would save the user's edits along with them.
+	 */
+	static void checkSaved(ICompilationUnit unit) throws JavaModelException {
+		if (unit.isWorkingCopy() && unit.hasUnsavedChanges()) {
+			throw new IllegalArgumentException(unit.getPath() + " has unsaved edits in an editor; save or revert them first");
+		}
+	}
+
+	/**
+	 * Collects the edits that change text, in document order. Returns {@code false} if the tree
+	 * holds edits that move or copy text, whose effect cannot be read from their own text.
+	 */
+	private static boolean collectLeaves(TextEdit edit, List<TextEdit> leaves) {
+		if (!edit.hasChildren()) {
+			if (edit instanceof InsertEdit || edit instanceof ReplaceEdit || edit instanceof DeleteEdit) {
+				leaves.add(edit);
+				return true;
+			}
+			return edit instanceof MultiTextEdit;
+		}
+		if (!(edit instanceof MultiTextEdit)) {
+			return false;
+		}
+		for (TextEdit child : edit.getChildren()) {
+			if (!collectLeaves(child, leaves)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates one hunk per group of edits touching the same or adjacent lines. Takes the leaves
+	 * before they were applied, with their original offsets.
+	 */
+	private String createDiff(List<TextEdit> leaves) throws BadLocationException {
+		IDocument original = new Document(source);
+		List<int[]> hunks = new ArrayList<>();
+		List<List<TextEdit>> hunkEdits = new ArrayList<>();
+		for (TextEdit leaf : leaves) {
+			int firstLine = original.getLineOfOffset(leaf.getOffset());
+			int lastLine = leaf.getLength() == 0 ? firstLine
+				: original.getLineOfOffset(leaf.getOffset() + leaf.getLength() - 1);
+			int[] last = hunks.isEmpty() ? null : hunks.get(hunks.size() - 1);
+			if (last != null && firstLine <= last[1] + 1) {
+				last[1] = Math.max(last[1], lastLine);
+				hunkEdits.get(hunkEdits.size() - 1).add(leaf);
+			} else {
+				hunks.add(new int[] { firstLine, lastLine });
+				hunkEdits.add(new ArrayList<>(List.of(leaf)));
+			}
+		}
+
+		StringBuilder diff = new StringBuilder();
+		int shift = 0;
+		for (int i = 0; i < hunks.size(); i++) {
+			int[] lines = hunks.get(i);
+			int start = original.getLineOffset(lines[0]);
+			int end = original.getLineOffset(lines[1]) + original.getLineLength(lines[1]);
+			String oldText = source.substring(start, end);
+			StringBuilder newText = new StringBuilder(oldText);
+			List<TextEdit> edits = hunkEdits.get(i);
+			for (int j = edits.size() - 1; j >= 0; j--) {
+				TextEdit edit = edits.get(j);
+				newText.replace(edit.getOffset() - start, edit.getOffset() - start + edit.getLength(), getText(edit));
+			}
+			shift += appendHunk(diff, lines[0], shift, splitLines(oldText), splitLines(newText.toString()));
+		}
+		return diff.toString();
+	}
+
+	/**
+	 * Creates a single hunk spanning from the first to the last changed line.
+	 */
+	private String createDiff() {
+		List<String> oldLines = splitLines(source);
+		List<String> newLines = splitLines(newSource);
+		int prefix = 0;
+		while (prefix < oldLines.size() && prefix < newLines.size() && oldLines.get(prefix).equals(newLines.get(prefix))) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < oldLines.size() - prefix && suffix < newLines.size() - prefix
+				&& oldLines.get(oldLines.size() - 1 - suffix).equals(newLines.get(newLines.size() - 1 - suffix))) {
+			suffix++;
+		}
+		StringBuilder diff = new StringBuilder();
+		appendHunk(diff, prefix, 0, oldLines.subList(prefix, oldLines.size() - suffix),
+			newLines.subList(prefix, newLines.size() - suffix));
+		return diff.toString();
+	}
+
+	/**
+	 * Appends a hunk replacing old lines starting at the zero-based line, and returns how many
+	 * lines it adds.
+	 */
+	private static int appendHunk(StringBuilder diff, int line, int shift, List<String> oldLines,
+			List<String> newLines) {
+		if (diff.isEmpty()) {
+			diff.append("--- a\n+++ b\n");
+		}
+		// Without context, an empty side is numbered by the line before it
+		int oldStart = oldLines.isEmpty() ? line : line + 1;
+		int newStart = newLines.isEmpty() ? line + shift : line + shift + 1;
+		diff.append("@@ -").append(oldStart).append(',').append(oldLines.size())
+			.append(" +").append(newStart).append(',').append(newLines.size()).append(" @@\n");
+		for (String oldLine : oldLines) {
+			diff.append('-').append(oldLine).append('\n');
+		}
+		for (String newLine : newLines) {
+			diff.append('+').append(newLine).append('\n');
+		}
+		return newLines.size() - oldLines.size();
+	}
+
+	private static String getText(TextEdit edit) {
+		if (edit instanceof InsertEdit insert) {
+			return insert.getText();
+		}
+		if (edit instanceof ReplaceEdit replace) {
+			return replace.getText();
+		}
+		return "";
+	}
+
+	private static List<String> splitLines(String text) {
+		List<String> lines = new ArrayList<>(List.of(text.split("\r\n|\r|\n", -1)));
+		// A trailing line break does not start another line
+		if (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+			lines.remove(lines.size() - 1);
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,409 @@
+package com.eclipse.mcp.server.codegen;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.ArrayType;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.PrimitiveType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Generates the members of Eclipse's "Source" actions without any dialog: getters and setters,
+ * a constructor from fields, {@code toString()}, and {@code hashCode()} with {@code equals()}.
+ * <p>
+ * The generated code follows the shape of the JDT generators with their default settings. It is
+ * added at the end of every top-level class of the unit through an {@link ASTRewrite}, which
+ * indents it with the project's formatter settings, and the imports it needs are added with an
+ * {@link ImportRewrite}. Members that already exist are left alone and reported as skipped.
+ * Nothing is written here; see {@link Generation#apply}.
+ */
+public final class SourceGenerator {
+
+	/**
+	 * The supported actions, by their tool names.
+	 */
+	public enum Action {
+		GETTERS_SETTERS("generate_getters_setters"),
+		CONSTRUCTOR("generate_constructor"),
+		TO_STRING("generate_toString"),
+		HASHCODE_EQUALS("generate_hashcode_equals");
+
+		private final String id;
+
+		Action(String id) {
+			this.id = id;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the action with the given tool name.
+		 *
+		 * @throws IllegalArgumentException for unknown names
+		 */
+		public static Action parse(String id) {
+			for (Action action : values()) {
+				if (action.id.equals(id)) {
+					return action;
+				}
+			}
+			List<String> ids = new ArrayList<>();
+			for (Action action : values()) {
+				ids.add(action.id);
+			}
+			throw new IllegalArgumentException("Unknown action: " + id + ". Supported actions: " + String.join(", ", ids));
+		}
+	}
+
+	private SourceGenerator() {
+	}
+
+	/**
+	 * Computes the edits of the action on every top-level class of the unit.
+	 *
+	 * @param fieldNames the fields to generate for, or {@code null} for all instance fields
+	 * @throws IllegalArgumentException if the unit has unsaved edits in an editor
+	 */
+	public static Generation generate(ICompilationUnit unit, Action action, Set<String> fieldNames,
+			IProgressMonitor monitor) throws CoreException {
+		Generation.checkSaved(unit);
+		String source = unit.getSource();
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(unit);
+		parser.setResolveBindings(false);
+		CompilationUnit astRoot = (CompilationUnit) parser.createAST(monitor);
+
+		ASTRewrite rewrite = ASTRewrite.create(astRoot.getAST());
+		ImportRewrite imports = ImportRewrite.create(astRoot, true);
+		List<String> generated = new ArrayList<>();
+		List<String> skipped = new ArrayList<>();
+
+		for (Object type : astRoot.types()) {
+			if (!(type instanceof TypeDeclaration typeDeclaration) || typeDeclaration.isInterface()) {
+				if (type instanceof AbstractTypeDeclaration other) {
+					skipped.add(other.getName().getIdentifier() + ": not a class");
+				}
+				continue;
+			}
+			TypeGenerator generator = new TypeGenerator(typeDeclaration, source, imports, fieldNames);
+			ListRewrite body = rewrite.getListRewrite(typeDeclaration, TypeDeclaration.BODY_DECLARATIONS_PROPERTY);
+			for (Member member : generator.generate(action, skipped)) {
+				body.insertLast(rewrite.createStringPlaceholder(member.code, ASTNode.METHOD_DECLARATION), null);
+				generated.add(typeDeclaration.getName().getIdentifier() + "." + member.signature);
+			}
+		}
+
+		if (generated.isEmpty()) {
+			return new Generation(unit, source, null, null, generated, skipped);
+		}
+		Map<String, String> options = unit.getJavaProject().getOptions(true);
+		TextEdit edit = rewrite.rewriteAST(new Document(source), options);
+		TextEdit importEdit = imports.hasRecordedChanges() ? imports.rewriteImports(monitor) : null;
+		return new Generation(unit, source, edit, importEdit, generated, skipped);
+	}
+
+	private record Member(String signature, String code) {
+	}
+
+	private record Field(String name, String type, String primitive, int dimensions, boolean isFinal,
+			boolean initialized) {
+
+		boolean isArray() {
+			return dimensions > 0;
+		}
+
+		String getCapitalizedName() {
+			return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		}
+	}
+
+	/**
+	 * Generates the members for one class.
+	 */
+	private static final class TypeGenerator {
+
+		private static final Pattern QUALIFIER = Pattern.compile("(?:[\\w$]+\\.)+(?=[\\w$])");
+
+		private final TypeDeclaration type;
+		private final String typeName;
+		private final String source;
+		private final ImportRewrite imports;
+		private final List<Field> fields = new ArrayList<>();
+		private final Set<String> declaredFieldNames = new HashSet<>();
+		private final List<MethodDeclaration> methods;
+
+		TypeGenerator(TypeDeclaration type, String source, ImportRewrite imports, Set<String> fieldNames) {
+			this.type = type;
+			this.typeName = type.getName().getIdentifier();
+			this.source = source;
+			this.imports = imports;
+			this.methods = List.of(type.getMethods());
+			for (FieldDeclaration declaration : type.getFields()) {
+				for (Object object : declaration.fragments()) {
+					declaredFieldNames.add(((VariableDeclarationFragment) object).getName().getIdentifier());
+				}
+				if (Modifier.isStatic(declaration.getModifiers())) {
+					continue;
+				}
+				String baseType = getSource(declaration.getType());
+				int baseDimensions = declaration.getType().isArrayType()
+					? ((ArrayType) declaration.getType()).getDimensions()
+					: 0;
+				for (Object object : declaration.fragments()) {
+					VariableDeclarationFragment fragment = (VariableDeclarationFragment) object;
+					String name = fragment.getName().getIdentifier();
+					if (fieldNames != null && !fieldNames.contains(name)) {
+						continue;
+					}
+					int extraDimensions = fragment.getExtraDimensions();
+					String primitive = declaration.getType().isPrimitiveType() && extraDimensions == 0
+						? ((PrimitiveType) declaration.getType()).getPrimitiveTypeCode().toString()
+						: null;
+					fields.add(new Field(name, baseType + "[]".repeat(extraDimensions), primitive,
+						baseDimensions + extraDimensions, Modifier.isFinal(declaration.getModifiers()),
+						fragment.getInitializer() != null));
+				}
+			}
+		}
+
+		List<Member> generate(Action action, List<String> skipped) {
+			List<Member> members = new ArrayList<>();
+			if (fields.isEmpty() && action != Action.TO_STRING) {
+				skipped.add(typeName + ": no instance fields");
+				return members;
+			}
+			switch (action) {
+				case GETTERS_SETTERS -> addAccessors(members, skipped);
+				case CONSTRUCTOR -> addConstructor(members, skipped);
+				case TO_STRING -> addToString(members, skipped);
+				case HASHCODE_EQUALS -> addHashCodeEquals(members, skipped);
+			}
+			return members;
+		}
+
+		private void addAccessors(List<Member> members, List<String> skipped) {
+			for (Field field : fields) {
+				String getter = ("boolean".equals(field.primitive) ? "is" : "get") + field.getCapitalizedName();
+				if (hasMethod(getter, List.of())) {
+					skipped.add(typeName + "." + getter + "(): exists");
+				} else {
+					members.add(new Member(getter + "()",
+						"public " + field.type + " " + getter + "() {\n"
+							+ "\treturn " + field.name + ";\n"
+							+ "}"));
+				}
+				if (field.isFinal) {
+					continue;
+				}
+				String setter = "set" + field.getCapitalizedName();
+				if (hasMethod(setter, List.of(field.type))) {
+					skipped.add(typeName + "." + setter + "(" + field.type + "): exists");
+				} else {
+					members.add(new Member(setter + "(" + field.type + ")",
+						"public void " + setter + "(" + field.type + " " + field.name + ") {\n"
+							+ "\tthis." + field.name + " = " + field.name + ";\n"
+							+ "}"));
+				}
+			}
+		}
+
+		private void addConstructor(List<Member> members, List<String> skipped) {
+			List<Field> parameters = new ArrayList<>();
+			List<String> parameterTypes = new ArrayList<>();
+			for (Field field : fields) {
+				if (!(field.isFinal && field.initialized)) {
+					parameters.add(field);
+					parameterTypes.add(field.type);
+				}
+			}
+			String signature = typeName + "(" + String.join(", ", parameterTypes) + ")";
+			if (parameters.isEmpty()) {
+				skipped.add(typeName + ": no assignable fields");
+				return;
+			}
+			if (hasMethod(typeName, parameterTypes)) {
+				skipped.add(typeName + "." + signature + ": exists");
+				return;
+			}
+			StringBuilder code = new StringBuilder("public ").append(typeName).append('(');
+			for (int i = 0; i < parameters.size(); i++) {
+				code.append(i > 0 ? ", " : "").append(parameters.get(i).type).append(' ').append(parameters.get(i).name);
+			}
+			code.append(") {\n\tsuper();\n");
+			for (Field field : parameters) {
+				code.append("\tthis.").append(field.name).append(" = ").append(field.name).append(";\n");
+			}
+			members.add(new Member(signature, code.append('}').toString()));
+		}
+
+		private void addToString(List<Member> members, List<String> skipped) {
+			if (hasMethod("toString", List.of())) {
+				skipped.add(typeName + ".toString(): exists");
+				return;
+			}
+			StringBuilder expression = new StringBuilder("\"").append(typeName).append(" [");
+			for (int i = 0; i < fields.size(); i++) {
+				Field field = fields.get(i);
+				String value = field.isArray() ? addImport("java.util.Arrays") + ".toString(" + field.name + ")" : field.name;
+				expression.append(i > 0 ? ", " : "").append(field.name).append("=\" + ").append(value).append(" + \"");
+			}
+			expression.append("]\"");
+			members.add(new Member("toString()",
+				"@Override\n"
+					+ "public String toString() {\n"
+					+ "\treturn " + expression + ";\n"
+					+ "}"));
+		}
+
+		private void addHashCodeEquals(List<Member> members, List<String> skipped) {
+			if (hasMethod("hashCode", List.of()) || hasMethod("equals", List.of("Object"))) {
+				skipped.add(typeName + ".hashCode()/equals(Object): exists");
+				return;
+			}
+			boolean inherits = type.getSuperclassType() != null;
+			// Locals named like a field would shadow it, as JDT does pick other names then
+			String obj = getLocalName("obj");
+			String other = getLocalName("other");
+			String prime = getLocalName("prime");
+			String result = getLocalName("result");
+			List<String> hashed = new ArrayList<>();
+			List<String> arrays = new ArrayList<>();
+			List<String> comparisons = new ArrayList<>();
+			for (Field field : fields) {
+				if (field.isArray()) {
+					String arraysType = addImport("java.util.Arrays");
+					arrays.add(arraysType + (field.dimensions > 1 ? ".deepHashCode(" : ".hashCode(") + field.name + ")");
+					comparisons.add(arraysType + (field.dimensions > 1 ? ".deepEquals(" : ".equals(") + field.name
+						+ ", " + other + "." + field.name + ")");
+				} else {
+					hashed.add(field.name);
+					comparisons.add(getComparison(field, other));
+				}
+			}
+
+			StringBuilder hashCode = new StringBuilder("@Override\npublic int hashCode() {\n");
+			if (!inherits && arrays.isEmpty()) {
+				hashCode.append("\treturn ").append(addImport("java.util.Objects")).append(".hash(")
+					.append(String.join(", ", hashed)).append(");\n");
+			} else {
+				String step = "\t" + result + " = " + prime + " * " + result + " + ";
+				hashCode.append("\tfinal int ").append(prime).append(" = 31;\n");
+				hashCode.append("\tint ").append(result).append(" = ").append(inherits ? "super.hashCode()" : "1").append(";\n");
+				for (String array : arrays) {
+					hashCode.append(step).append(array).append(";\n");
+				}
+				if (!hashed.isEmpty()) {
+					hashCode.append(step).append(addImport("java.util.Objects"))
+						.append(".hash(").append(String.join(", ", hashed)).append(");\n");
+				}
+				hashCode.append("\treturn ").append(result).append(";\n");
+			}
+			hashCode.append('}');
+
+			String otherType = typeName + (type.typeParameters().isEmpty() ? "" : "<?>");
+			String equals = "@Override\n"
+				+ "public boolean equals(Object " + obj + ") {\n"
+				+ "\tif (this == " + obj + ")\n"
+				+ "\t\treturn true;\n"
+				+ (inherits ? "\tif (!super.equals(" + obj + "))\n" : "\tif (" + obj + " == null)\n")
+				+ "\t\treturn false;\n"
+				+ "\tif (getClass() != " + obj + ".getClass())\n"
+				+ "\t\treturn false;\n"
+				+ "\t" + otherType + " " + other + " = (" + otherType + ") " + obj + ";\n"
+				+ "\treturn " + String.join("\n\t\t\t&& ", comparisons) + ";\n"
+				+ "}";
+
+			members.add(new Member("hashCode()", hashCode.toString()));
+			members.add(new Member("equals(Object)", equals));
+		}
+
+		private String getComparison(Field field, String other) {
+			String otherField = other + "." + field.name;
+			if ("double".equals(field.primitive)) {
+				return "Double.doubleToLongBits(" + field.name + ") == Double.doubleToLongBits(" + otherField + ")";
+			}
+			if ("float".equals(field.primitive)) {
+				return "Float.floatToIntBits(" + field.name + ") == Float.floatToIntBits(" + otherField + ")";
+			}
+			if (field.primitive != null) {
+				return field.name + " == " + otherField;
+			}
+			return addImport("java.util.Objects") + ".equals(" + field.name + ", " + otherField + ")";
+		}
+
+		/**
+		 * Returns the name, or the name with the lowest number appended, that no field of the class
+		 * has.
+		 */
+		private String getLocalName(String name) {
+			String candidate = name;
+			for (int i = 2; declaredFieldNames.contains(candidate); i++) {
+				candidate = name + i;
+			}
+			return candidate;
+		}
+
+		/**
+		 * Returns whether the class declares a method or constructor with this name and these
+		 * parameter types, compared by simple names since there are no bindings.
+		 */
+		private boolean hasMethod(String name, List<String> parameterTypes) {
+			for (MethodDeclaration method : methods) {
+				if (!method.getName().getIdentifier().equals(name)
+						|| method.parameters().size() != parameterTypes.size()) {
+					continue;
+				}
+				boolean same = true;
+				for (int i = 0; i < parameterTypes.size() && same; i++) {
+					SingleVariableDeclaration parameter = (SingleVariableDeclaration) method.parameters().get(i);
+					String parameterType = getSource(parameter.getType()) + "[]".repeat(parameter.getExtraDimensions());
+					same = toSimpleNames(parameterType).equals(toSimpleNames(parameterTypes.get(i)));
+				}
+				if (same) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Reduces every qualified name in the type text to its last segment, e.g.
+		 * {@code java.util.List<java.lang.String>} to {@code List<String>}.
+		 */
+		private static String toSimpleNames(String type) {
+			return QUALIFIER.matcher(type.replaceAll("\\s+", "")).replaceAll("");
+		}
+
+		private String addImport(String qualifiedName) {
+			return imports.addImport(qualifiedName);
+		}
+
+		private String getSource(ASTNode node) {
+			return source.substring(node.getStartPosition(), node.getStartPosition() + node.getLength());
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Requests that are queued or running, by client and JSON-RPC id, so that they can be cancelled
+ * on {@code notifications/cancelled} or when the client goes away.
+ */
+public class ActiveRequests {
+
+	private final Map<Object, Map<Object, RequestContext>> byClient = new ConcurrentHashMap<>();
+
+	public void register(Object client, RequestContext request) {
+		byClient.computeIfAbsent(client, c -> new ConcurrentHashMap<>()).put(request.getRequestId(), request);
+	}
+
+	public void unregister(Object client, RequestContext request) {
+		byClient.computeIfPresent(client, (c, requests) -> {
+			requests.remove(request.getRequestId(), request);
+			return requests.isEmpty() ? null : requests;
+		});
+	}
+
+	/**
+	 * Cancels the client's request with the given id.
+	 *
+	 * @return {@code false} if no such request is active, e.g. because it already completed
+	 */
+	public boolean cancel(Object client, Object requestId, String reason) {
+		Map<Object, RequestContext> requests = byClient.get(client);
+		RequestContext request = requests != null && requestId != null ? requests.get(requestId) : null;
+		if (request == null) {
+			return false;
+		}
+		request.cancel(reason);
+		return true;
+	}
+
+	/**
+	 * Cancels all active requests of the client.
+	 *
+	 * @return the number of requests cancelled
+	 */
+	public int cancelAll(Object client, String reason) {
+		Map<Object, RequestContext> requests = byClient.remove(client);
+		if (requests == null) {
+			return 0;
+		}
+		for (RequestContext request : requests.values()) {
+			request.cancel(reason);
+		}
+		return requests.size();
+	}
+}
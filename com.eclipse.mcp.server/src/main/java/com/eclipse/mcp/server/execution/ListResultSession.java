@@ -0,0 +1,36 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pages over an already computed list of lightweight items (e.g. index entries), converting
+ * only the handed-out items to result maps.
+ */
+public class ListResultSession<T> extends ResultSession {
+
+	private final List<T> items;
+	private final Function<T, Map<String, Object>> mapper;
+	private int position;
+
+	public ListResultSession(List<T> items, Function<T, Map<String, Object>> mapper) {
+		this.items = items;
+		this.mapper = mapper;
+	}
+
+	@Override
+	protected synchronized Map<String, Object> poll(long timeoutMs) {
+		return position < items.size() ? mapper.apply(items.get(position++)) : null;
+	}
+
+	@Override
+	protected synchronized boolean isExhausted() {
+		return position >= items.size();
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release
+	}
+}
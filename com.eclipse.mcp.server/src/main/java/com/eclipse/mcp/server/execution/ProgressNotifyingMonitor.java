@@ -0,0 +1,87 @@
+package com.eclipse.mcp.server.execution;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+
+/**
+ * Forwards everything to the job's monitor and mirrors the work done, task and subtask names as
+ * progress notifications through a {@link ProgressReporter}. Cancellation is still answered by
+ * the wrapped monitor.
+ */
+class ProgressNotifyingMonitor extends ProgressMonitorWrapper {
+
+	private final ProgressReporter reporter;
+	private double totalWork;
+	private double worked;
+	private String taskName;
+	private String subTaskName;
+
+	ProgressNotifyingMonitor(IProgressMonitor monitor, ProgressReporter reporter) {
+		super(monitor);
+		this.reporter = reporter;
+	}
+
+	@Override
+	public void beginTask(String name, int totalWork) {
+		super.beginTask(name, totalWork);
+		synchronized (this) {
+			this.taskName = name;
+			this.totalWork = totalWork > 0 ? totalWork : 0;
+			this.worked = 0;
+		}
+		publish();
+	}
+
+	@Override
+	public void setTaskName(String name) {
+		super.setTaskName(name);
+		synchronized (this) {
+			this.taskName = name;
+		}
+		publish();
+	}
+
+	@Override
+	public void subTask(String name) {
+		super.subTask(name);
+		synchronized (this) {
+			this.subTaskName = name;
+		}
+		publish();
+	}
+
+	@Override
+	public void worked(int work) {
+		super.worked(work);
+		addWork(work);
+	}
+
+	@Override
+	public void internalWorked(double work) {
+		super.internalWorked(work);
+		addWork(work);
+	}
+
+	private void addWork(double work) {
+		synchronized (this) {
+			worked = totalWork > 0 ? Math.min(totalWork, worked + work) : worked + work;
+		}
+		publish();
+	}
+
+	private void publish() {
+		double progress;
+		double total;
+		String message;
+		synchronized (this) {
+			progress = worked;
+			total = totalWork;
+			if (taskName != null && !taskName.isEmpty() && subTaskName != null && !subTaskName.isEmpty()) {
+				message = taskName + ": " + subTaskName;
+			} else {
+				message = taskName != null && !taskName.isEmpty() ? taskName : subTaskName;
+			}
+		}
+		reporter.report(progress, total, message);
+	}
+}
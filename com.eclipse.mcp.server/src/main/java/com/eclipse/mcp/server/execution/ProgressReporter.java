@@ -0,0 +1,64 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the {@code notifications/progress} messages of one request that carries a progress token.
+ * <p>
+ * Plain progress updates are sent at most every {@link #THROTTLE_MS} and only when the progress
+ * value increased, as the protocol requires, so a monitor reporting many small steps does not
+ * flood the connection. Partial results are always sent, since they carry data.
+ */
+public class ProgressReporter {
+
+	static final long THROTTLE_MS = 250;
+
+	private final RequestContext request;
+	private double lastProgress = -1;
+	private long lastSent;
+
+	ProgressReporter(RequestContext request) {
+		this.request = request;
+	}
+
+	/**
+	 * Reports progress unless an update was sent less than {@link #THROTTLE_MS} ago.
+	 *
+	 * @param total total amount of work, or a value {@code <= 0} if unknown
+	 */
+	public synchronized void report(double progress, double total, String message) {
+		long now = System.currentTimeMillis();
+		if (progress <= lastProgress || now - lastSent < THROTTLE_MS) {
+			return;
+		}
+		Map<String, Object> params = createParams(progress, total, message);
+		send(params, progress, now);
+	}
+
+	synchronized void sendResults(List<Map<String, Object>> results, int count) {
+		Map<String, Object> params = createParams(Math.max(count, lastProgress), 0, count + " results");
+		params.put("partialResults", results);
+		send(params, Math.max(count, lastProgress), System.currentTimeMillis());
+	}
+
+	private Map<String, Object> createParams(double progress, double total, String message) {
+		Map<String, Object> params = new LinkedHashMap<>();
+		params.put("progressToken", request.getProgressToken());
+		params.put("progress", progress);
+		if (total > 0) {
+			params.put("total", total);
+		}
+		if (message != null && !message.isEmpty()) {
+			params.put("message", message);
+		}
+		return params;
+	}
+
+	private void send(Map<String, Object> params, double progress, long now) {
+		lastProgress = progress;
+		lastSent = now;
+		request.sendNotification("notifications/progress", params);
+	}
+}
@@ -0,0 +1,118 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifies the JSON-RPC request a handler is serving and lets code running on its behalf send
+ * notifications back to the requesting client.
+ * <p>
+ * {@code MCPServer} binds the context to the worker thread for the duration of the handler call;
+ * {@link ToolExecutor} carries it over to the tool's job through {@link ToolContext}.
+ * <p>
+ * The context is also the request's cancellation handle: {@link #cancel} is called when the client
+ * sends {@code notifications/cancelled} or disconnects, and runs the handlers registered by whoever
+ * is doing the work, e.g. {@link ToolExecutor} cancelling the tool's job.
+ */
+public class RequestContext {
+
+	/**
+	 * Sends a JSON-RPC notification to the client that issued the request.
+	 */
+	@FunctionalInterface
+	public interface NotificationSender {
+		void send(String method, Map<String, Object> params);
+	}
+
+	private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+	private final Object requestId;
+	private final Object progressToken;
+	private final NotificationSender sender;
+	private final List<Runnable> cancelHandlers = new ArrayList<>();
+	private boolean canceled;
+	private String cancelReason;
+
+	public RequestContext(Object requestId, Object progressToken, NotificationSender sender) {
+		this.requestId = requestId;
+		this.progressToken = progressToken;
+		this.sender = sender;
+	}
+
+	/**
+	 * Returns the context bound to the calling thread, or {@code null} outside of a request.
+	 */
+	public static RequestContext current() {
+		return CURRENT.get();
+	}
+
+	public static void bind(RequestContext context) {
+		CURRENT.set(context);
+	}
+
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+	public Object getRequestId() {
+		return requestId;
+	}
+
+	/**
+	 * Returns the {@code _meta.progressToken} of the request, or {@code null} if the client did
+	 * not ask for progress notifications.
+	 */
+	public Object getProgressToken() {
+		return progressToken;
+	}
+
+	public void sendNotification(String method, Map<String, Object> params) {
+		sender.send(method, params);
+	}
+
+	/**
+	 * Marks the request as cancelled and runs the registered cancel handlers. Only the first call
+	 * has an effect.
+	 */
+	public void cancel(String reason) {
+		List<Runnable> handlers;
+		synchronized (this) {
+			if (canceled) {
+				return;
+			}
+			canceled = true;
+			cancelReason = reason;
+			handlers = new ArrayList<>(cancelHandlers);
+			cancelHandlers.clear();
+		}
+		for (Runnable handler : handlers) {
+			handler.run();
+		}
+	}
+
+	public synchronized boolean isCanceled() {
+		return canceled;
+	}
+
+	/**
+	 * Returns why the request was cancelled, or {@code null} if it was not.
+	 */
+	public synchronized String getCancelReason() {
+		return cancelReason;
+	}
+
+	/**
+	 * Registers a handler to run when the request is cancelled. Runs it right away if the request
+	 * already was.
+	 */
+	public void onCancel(Runnable handler) {
+		synchronized (this) {
+			if (!canceled) {
+				cancelHandlers.add(handler);
+				return;
+			}
+		}
+		handler.run();
+	}
+}
@@ -0,0 +1,164 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.eclipse.mcp.server.logging.AsyncLogger;
+import com.eclipse.mcp.server.logging.LogLevel;
+
+/**
+ * Bounded request scheduler with separate lanes for cheap and heavy requests.
+ * <p>
+ * Each lane owns a fixed number of worker threads and a bounded queue. Within a lane, queued
+ * requests are kept per client and served round-robin, so one agent flooding the server cannot
+ * starve the others. When a lane or a client's share of it is full, {@link #submit} refuses the
+ * request and the caller reports the server as busy.
+ */
+public class RequestScheduler {
+
+	public enum Lane {
+		/** Protocol housekeeping and quick lookups: initialize, tools/list, resources/list. */
+		LIGHT,
+		/** Workspace-wide searches, analyses, test runs and builds. */
+		HEAVY
+	}
+
+	private record Task(String name, Runnable runnable) {
+	}
+
+	private final Map<Lane, LaneQueue> lanes = new HashMap<>();
+	private final AsyncLogger logger;
+
+	public RequestScheduler(int lightWorkers, int heavyWorkers, int laneCapacity, int clientCapacity,
+			AsyncLogger logger) {
+		this.logger = logger;
+		lanes.put(Lane.LIGHT, new LaneQueue(Lane.LIGHT, lightWorkers, laneCapacity, clientCapacity));
+		lanes.put(Lane.HEAVY, new LaneQueue(Lane.HEAVY, heavyWorkers, laneCapacity, clientCapacity));
+	}
+
+	/**
+	 * Queues a task for the given client. The name, such as {@code "id=7 method=tools/call"},
+	 * identifies the task in the log if it fails.
+	 *
+	 * @return {@code false} if the lane is saturated and the task was not accepted
+	 */
+	public boolean submit(Lane lane, Object client, String name, Runnable task) {
+		return lanes.get(lane).offer(client, new Task(name, task));
+	}
+
+	/**
+	 * Stops all workers. Queued tasks are discarded; running tasks are interrupted.
+	 */
+	public void shutdown() {
+		for (LaneQueue lane : lanes.values()) {
+			lane.shutdown();
+		}
+	}
+
+	private final class LaneQueue {
+
+		private final int capacity;
+		private final int clientCapacity;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition notEmpty = lock.newCondition();
+		private final Map<Object, ArrayDeque<Task>> queues = new HashMap<>();
+		private final ArrayDeque<Object> rotation = new ArrayDeque<>();
+		private final List<Thread> workers = new ArrayList<>();
+		private int size;
+		private boolean stopped;
+
+		LaneQueue(Lane lane, int workerCount, int capacity, int clientCapacity) {
+			this.capacity = capacity;
+			this.clientCapacity = clientCapacity;
+			for (int i = 0; i < Math.max(1, workerCount); i++) {
+				Thread worker = new Thread(this::work, "MCP " + lane.name().toLowerCase() + " worker " + (i + 1));
+				worker.setDaemon(true);
+				worker.start();
+				workers.add(worker);
+			}
+		}
+
+		boolean offer(Object client, Task task) {
+			lock.lock();
+			try {
+				if (stopped || size >= capacity) {
+					return false;
+				}
+				ArrayDeque<Task> queue = queues.get(client);
+				if (queue == null) {
+					queue = new ArrayDeque<>();
+					queues.put(client, queue);
+					rotation.addLast(client);
+				} else if (queue.size() >= clientCapacity) {
+					return false;
+				}
+				queue.addLast(task);
+				size++;
+				notEmpty.signal();
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void shutdown() {
+			lock.lock();
+			try {
+				stopped = true;
+				queues.clear();
+				rotation.clear();
+				size = 0;
+				notEmpty.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			for (Thread worker : workers) {
+				worker.interrupt();
+			}
+		}
+
+		private Task take() throws InterruptedException {
+			lock.lock();
+			try {
+				while (size == 0 && !stopped) {
+					notEmpty.await();
+				}
+				if (stopped) {
+					return null;
+				}
+				Object client = rotation.pollFirst();
+				ArrayDeque<Task> queue = queues.get(client);
+				Task task = queue.pollFirst();
+				size--;
+				if (queue.isEmpty()) {
+					queues.remove(client);
+				} else {
+					rotation.addLast(client);
+				}
+				return task;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void work() {
+			try {
+				Task task;
+				while ((task = take()) != null) {
+					try {
+						task.runnable().run();
+					} catch (RuntimeException e) {
+						logger.log(LogLevel.ERROR, "ERROR", task.name() + " failed in scheduler: " + e);
+					}
+				}
+			} catch (InterruptedException e) {
+				// Shutting down
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Server-side state of a paginated result set, addressed by the cursor handed to the client.
+ * Pages are cut from whatever source the subclass wraps; only the current page is materialized
+ * as result maps.
+ */
+public abstract class ResultSession {
+
+	private static final long POLL_INTERVAL_MS = 50;
+	private static final int STREAM_BATCH_SIZE = 50;
+	private static final long STREAM_INTERVAL_MS = 100;
+
+	private String id;
+	private volatile long lastAccess = System.currentTimeMillis();
+
+	/**
+	 * Returns the next result, waiting at most the given time, or {@code null} if none is
+	 * available yet or the results are exhausted.
+	 */
+	protected abstract Map<String, Object> poll(long timeoutMs) throws Exception;
+
+	/**
+	 * Returns whether all results have been handed out.
+	 */
+	protected abstract boolean isExhausted();
+
+	/**
+	 * Releases the source, stopping any producer still running.
+	 */
+	public abstract void close();
+
+	/**
+	 * Collects up to {@code limit} results. If {@code stream} is set and the request carries a
+	 * progress token, results are also sent ahead in small batches as progress notifications
+	 * while the page is being filled. If the request's latency budget runs out first, the page
+	 * is returned as far as it got.
+	 */
+	public List<Map<String, Object>> nextPage(int limit, boolean stream, ToolContext context) throws Exception {
+		lastAccess = System.currentTimeMillis();
+		boolean streaming = stream && context.getProgressToken() != null;
+
+		List<Map<String, Object>> page = new ArrayList<>();
+		List<Map<String, Object>> batch = new ArrayList<>();
+		long lastFlush = System.currentTimeMillis();
+
+		while (page.size() < limit) {
+			if (context.getMonitor().isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			long remaining = context.getRemainingBudgetMs();
+			if (remaining == 0) {
+				break;
+			}
+
+			Map<String, Object> result = poll(Math.min(POLL_INTERVAL_MS, remaining));
+			if (result != null) {
+				page.add(result);
+				if (streaming) {
+					batch.add(result);
+				} else {
+					context.reportProgress(page.size(), limit, page.size() + " results");
+				}
+			} else if (isExhausted()) {
+				break;
+			}
+
+			long now = System.currentTimeMillis();
+			if (!batch.isEmpty() && (batch.size() >= STREAM_BATCH_SIZE || now - lastFlush >= STREAM_INTERVAL_MS)) {
+				context.sendPartialResults(batch, page.size());
+				batch = new ArrayList<>();
+				lastFlush = now;
+			}
+		}
+
+		lastAccess = System.currentTimeMillis();
+		return page;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	void setId(String id) {
+		this.id = id;
+	}
+
+	long getLastAccess() {
+		return lastAccess;
+	}
+}
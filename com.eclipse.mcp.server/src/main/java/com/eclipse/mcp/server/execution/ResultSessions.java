@@ -0,0 +1,131 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Open result sessions of paginated tools, keyed by cursor.
+ * <p>
+ * Sessions not touched for {@link #IDLE_TIMEOUT_MS} are closed, and at most
+ * {@link #MAX_SESSIONS} are kept, so abandoned cursors do not hold searches or results.
+ */
+public class ResultSessions {
+
+	/**
+	 * Creates the session for the first page of a query.
+	 */
+	@FunctionalInterface
+	public interface SessionFactory {
+		ResultSession create() throws Exception;
+	}
+
+	public static final int DEFAULT_LIMIT = 500;
+	public static final int MAX_LIMIT = 5000;
+
+	private static final long IDLE_TIMEOUT_MS = 2 * 60 * 1000;
+	private static final int MAX_SESSIONS = 32;
+
+	private final Map<String, ResultSession> sessions = new LinkedHashMap<>();
+
+	/**
+	 * Answers one page of a paginated tool call. Without a {@code cursor} argument a new session
+	 * is created by the factory; with one, the existing session continues.
+	 * <p>
+	 * The result holds {@code results}, {@code count} and, if more results exist,
+	 * {@code nextCursor}. A page cut short by the latency budget is flagged {@code truncated};
+	 * its cursor continues where the search got to.
+	 */
+	public Map<String, Object> page(Map<String, Object> arguments, ToolContext context, SessionFactory factory)
+			throws Exception {
+		int limit = getLimit(arguments);
+		String cursor = (String) arguments.get("cursor");
+		boolean stream = Boolean.TRUE.equals(arguments.get("stream"));
+
+		ResultSession session;
+		if (cursor != null) {
+			session = get(cursor);
+		} else {
+			session = factory.create();
+			register(session);
+		}
+
+		List<Map<String, Object>> results;
+		try {
+			results = session.nextPage(limit, stream, context);
+		} catch (Exception e) {
+			remove(session);
+			throw e;
+		}
+
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("results", results);
+		response.put("count", results.size());
+		if (results.size() < limit && !session.isExhausted() && context.isBudgetExhausted()) {
+			response.put("truncated", true);
+		}
+		if (session.isExhausted()) {
+			remove(session);
+		} else {
+			response.put("nextCursor", session.getId());
+		}
+		return response;
+	}
+
+	public synchronized void closeAll() {
+		for (ResultSession session : sessions.values()) {
+			session.close();
+		}
+		sessions.clear();
+	}
+
+	private int getLimit(Map<String, Object> arguments) {
+		Object value = arguments.get("limit");
+		if (value == null) {
+			return DEFAULT_LIMIT;
+		}
+		if (!(value instanceof Number number) || number.intValue() <= 0) {
+			throw new IllegalArgumentException("limit must be a positive integer");
+		}
+		return Math.min(number.intValue(), MAX_LIMIT);
+	}
+
+	private synchronized ResultSession get(String cursor) {
+		expireIdle();
+		ResultSession session = sessions.get(cursor);
+		if (session == null) {
+			throw new IllegalArgumentException("Unknown or expired cursor: " + cursor);
+		}
+		return session;
+	}
+
+	private synchronized void register(ResultSession session) {
+		expireIdle();
+		while (sessions.size() >= MAX_SESSIONS) {
+			Iterator<ResultSession> oldest = sessions.values().iterator();
+			oldest.next().close();
+			oldest.remove();
+		}
+		session.setId(UUID.randomUUID().toString());
+		sessions.put(session.getId(), session);
+	}
+
+	private synchronized void remove(ResultSession session) {
+		sessions.remove(session.getId());
+		session.close();
+	}
+
+	private void expireIdle() {
+		long now = System.currentTimeMillis();
+		Iterator<ResultSession> it = sessions.values().iterator();
+		while (it.hasNext()) {
+			ResultSession session = it.next();
+			if (now - session.getLastAccess() > IDLE_TIMEOUT_MS) {
+				session.close();
+				it.remove();
+			}
+		}
+	}
+}
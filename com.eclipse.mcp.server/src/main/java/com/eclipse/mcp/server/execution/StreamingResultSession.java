@@ -0,0 +1,114 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Result session fed by a search running in its own job.
+ * <p>
+ * The producer hands results to a bounded buffer and blocks when it is full, so a search with
+ * millions of hits holds at most one buffer of results in memory and simply pauses until the
+ * client asks for the next page. Closing the session cancels the search.
+ */
+public class StreamingResultSession extends ResultSession {
+
+	/**
+	 * Runs the search, passing each result to the sink.
+	 */
+	@FunctionalInterface
+	public interface Producer {
+		void produce(Consumer<Map<String, Object>> sink, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Results buffered ahead of the client by default.
+	 */
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	private static final long OFFER_INTERVAL_MS = 100;
+
+	private final BlockingQueue<Map<String, Object>> buffer;
+	private final Job job;
+	private volatile boolean producerDone;
+	private volatile Throwable failure;
+
+	public StreamingResultSession(String name, Producer producer) {
+		this(name, DEFAULT_CAPACITY, producer);
+	}
+
+	public StreamingResultSession(String name, int capacity, Producer producer) {
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+		this.job = new Job(name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					producer.produce(result -> offer(result, monitor), monitor);
+					return Status.OK_STATUS;
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (Throwable e) {
+					failure = e;
+					return Status.OK_STATUS;
+				} finally {
+					producerDone = true;
+				}
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == ToolExecutor.FAMILY;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.SHORT);
+		job.schedule();
+	}
+
+	private void offer(Map<String, Object> result, IProgressMonitor monitor) {
+		try {
+			while (!buffer.offer(result, OFFER_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+	}
+
+	@Override
+	protected Map<String, Object> poll(long timeoutMs) throws Exception {
+		Map<String, Object> result = buffer.poll(timeoutMs, TimeUnit.MILLISECONDS);
+		if (result == null && producerDone && failure != null && buffer.isEmpty()) {
+			Throwable cause = failure;
+			failure = null;
+			if (cause instanceof Exception e) {
+				throw e;
+			}
+			throw new RuntimeException(cause);
+		}
+		return result;
+	}
+
+	@Override
+	protected boolean isExhausted() {
+		return producerDone && failure == null && buffer.isEmpty();
+	}
+
+	@Override
+	public void close() {
+		job.cancel();
+		buffer.clear();
+	}
+}
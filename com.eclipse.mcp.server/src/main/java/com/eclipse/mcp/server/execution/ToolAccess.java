@@ -0,0 +1,31 @@
+package com.eclipse.mcp.server.execution;
+
+/**
+ * Describes how a tool touches the workspace, which determines where and under which
+ * scheduling rule {@link ToolExecutor} runs it.
+ */
+public enum ToolAccess {
+
+	/**
+	 * Only reads the Java model, resources or markers. Runs on a background worker and may
+	 * run concurrently with any other read.
+	 */
+	READ,
+
+	/**
+	 * Modifies the workspace. Runs on a background worker holding the workspace root rule,
+	 * exclusive of all other tool invocations.
+	 */
+	WRITE,
+
+	/**
+	 * Hands its work to jobs of its own and waits for them. Runs on a background worker without
+	 * any scheduling rule, so it never holds a rule those jobs need.
+	 */
+	DELEGATE,
+
+	/**
+	 * Needs the SWT display thread (dialogs, editors, workbench state).
+	 */
+	UI
+}
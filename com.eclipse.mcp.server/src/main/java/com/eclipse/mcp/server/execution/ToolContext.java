@@ -0,0 +1,121 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Per-invocation state handed to a tool by {@link ToolExecutor}.
+ */
+public class ToolContext {
+
+	/**
+	 * Budget end of invocations without a latency budget.
+	 */
+	public static final long NO_BUDGET = Long.MAX_VALUE;
+
+	private final IProgressMonitor monitor;
+	private final RequestContext request;
+	private final ResultSessions resultSessions;
+	private final long budgetEnd;
+	private final ProgressReporter progress;
+
+	public ToolContext(IProgressMonitor monitor, RequestContext request, ResultSessions resultSessions) {
+		this(monitor, request, resultSessions, NO_BUDGET);
+	}
+
+	/**
+	 * @param budgetEnd time in {@link System#currentTimeMillis()} millis by which the tool should
+	 *            answer, with partial results if need be, or {@link #NO_BUDGET}
+	 */
+	public ToolContext(IProgressMonitor monitor, RequestContext request, ResultSessions resultSessions,
+			long budgetEnd) {
+		IProgressMonitor base = monitor != null ? monitor : new NullProgressMonitor();
+		this.progress = request != null && request.getProgressToken() != null ? new ProgressReporter(request) : null;
+		this.monitor = progress != null ? new ProgressNotifyingMonitor(base, progress) : base;
+		this.request = request;
+		this.resultSessions = resultSessions;
+		this.budgetEnd = budgetEnd;
+	}
+
+	/**
+	 * Returns a context for tools invoked outside of the executor, e.g. from another tool.
+	 */
+	public static ToolContext detached() {
+		return new ToolContext(null, null, new ResultSessions());
+	}
+
+	/**
+	 * Returns the monitor of the job running the tool. Pass it to searches, launches and
+	 * refreshes so the work can be cancelled. If the client asked for progress, the work reported
+	 * to it is sent as throttled progress notifications.
+	 */
+	public IProgressMonitor getMonitor() {
+		return monitor;
+	}
+
+	/**
+	 * Returns the request being served, or {@code null} for detached invocations.
+	 */
+	public RequestContext getRequest() {
+		return request;
+	}
+
+	/**
+	 * Returns whether the caller set a latency budget ({@code timeoutMs} or the tool's configured
+	 * default). Tools that can stop early check {@link #isBudgetExhausted()} and return what they
+	 * have with {@code truncated: true}.
+	 */
+	public boolean hasBudget() {
+		return budgetEnd != NO_BUDGET;
+	}
+
+	/**
+	 * Returns the milliseconds left of the latency budget, or {@link Long#MAX_VALUE} without one.
+	 */
+	public long getRemainingBudgetMs() {
+		if (budgetEnd == NO_BUDGET) {
+			return Long.MAX_VALUE;
+		}
+		return Math.max(0, budgetEnd - System.currentTimeMillis());
+	}
+
+	public boolean isBudgetExhausted() {
+		return getRemainingBudgetMs() == 0;
+	}
+
+	public Object getProgressToken() {
+		return request != null ? request.getProgressToken() : null;
+	}
+
+	/**
+	 * Returns the cursor store for paginated tools.
+	 */
+	public ResultSessions getResultSessions() {
+		return resultSessions;
+	}
+
+	/**
+	 * Reports progress outside of the monitor, throttled like monitor updates. Does nothing unless
+	 * the client supplied a progress token.
+	 *
+	 * @param total total amount of work, or a value {@code <= 0} if unknown
+	 */
+	public void reportProgress(double done, double total, String message) {
+		if (progress != null) {
+			progress.report(done, total, message);
+		}
+	}
+
+	/**
+	 * Sends results ahead of the response as a {@code notifications/progress} message. Does
+	 * nothing unless the client supplied a progress token.
+	 */
+	public void sendPartialResults(List<Map<String, Object>> results, int total) {
+		if (progress != null) {
+			progress.sendResults(results, total);
+		}
+	}
+}
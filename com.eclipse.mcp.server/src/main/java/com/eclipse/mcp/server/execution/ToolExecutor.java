@@ -0,0 +1,210 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.tools.Tool;
+
+/**
+ * Runs tool invocations off the SWT display thread.
+ * <p>
+ * Each invocation becomes a system {@link Job} on the platform worker pool. Read-only tools get a
+ * rule that only conflicts with writing tools, so any number of them run in parallel. Writing tools
+ * additionally hold the workspace root, which serializes them against each other, against reads
+ * and against builds. Tools that only wait for jobs of their own ({@link ToolAccess#DELEGATE})
+ * run without a rule. Only tools declaring {@link ToolAccess#UI} are run on the display thread.
+ * <p>
+ * Independently of that hard deadline, a call can carry a latency budget: the {@code timeoutMs}
+ * argument, or the tool's default from {@link ToolTimeouts}. It is handed to the tool through
+ * {@link ToolContext}, and tools that can stop early answer with partial results when it runs out.
+ * <p>
+ * A job is cancelled, and its monitor reports {@link IProgressMonitor#isCanceled()}, when the
+ * request is cancelled or when the tool runs past its {@link Tool#getDeadlineMs() deadline}. The
+ * waiting request thread is released immediately in either case.
+ */
+public class ToolExecutor {
+
+	/**
+	 * Job family of all tool jobs, used to cancel outstanding work on shutdown.
+	 */
+	public static final Object FAMILY = ToolExecutor.class;
+
+	private final ResultSessions resultSessions = new ResultSessions();
+
+	/**
+	 * Executes the tool and blocks the calling (request) thread until it completes, is cancelled
+	 * or exceeds its deadline. The {@link RequestContext} bound to the calling thread, if any, is
+	 * handed to the tool.
+	 */
+	public Object execute(String toolName, Tool tool, Map<String, Object> arguments) throws Exception {
+		ToolAccess access = tool.getAccess();
+		RequestContext request = RequestContext.current();
+		long timeoutMs = getTimeout(toolName, arguments);
+		long budgetEnd = timeoutMs > 0 ? System.currentTimeMillis() + timeoutMs : ToolContext.NO_BUDGET;
+
+		if (access == ToolAccess.UI) {
+			return PlatformUI.getWorkbench().getDisplay().syncCall(
+					() -> tool.execute(arguments, new ToolContext(null, request, resultSessions, budgetEnd)));
+		}
+
+		ToolJob job = new ToolJob(toolName, tool, arguments, request, resultSessions, budgetEnd);
+		job.setRule(createRule(access));
+		if (request != null) {
+			request.onCancel(job::cancel);
+		}
+		job.schedule();
+
+		long deadline = tool.getDeadlineMs();
+		try {
+			return job.result.get(deadline, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			job.cancel();
+			throw new OperationCanceledException(toolName + " exceeded its deadline of " + (deadline / 1000) + " s");
+		} catch (InterruptedException e) {
+			job.cancel();
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException("Interrupted while waiting for " + toolName);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception ex) {
+				throw ex;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Cancels all running and queued tool jobs and drops open result sessions.
+	 */
+	public void shutdown() {
+		resultSessions.closeAll();
+		Job.getJobManager().cancel(FAMILY);
+	}
+
+	private long getTimeout(String toolName, Map<String, Object> arguments) {
+		Object value = arguments.get("timeoutMs");
+		if (value == null) {
+			return ToolTimeouts.getDefault(toolName);
+		}
+		if (!(value instanceof Number number) || number.longValue() <= 0) {
+			throw new IllegalArgumentException("timeoutMs must be a positive number");
+		}
+		return number.longValue();
+	}
+
+	private ISchedulingRule createRule(ToolAccess access) {
+		if (access == ToolAccess.DELEGATE) {
+			return null;
+		}
+		if (access == ToolAccess.WRITE) {
+			return MultiRule.combine(ResourcesPlugin.getWorkspace().getRoot(), new AccessRule(true));
+		}
+		return new AccessRule(false);
+	}
+
+	/**
+	 * Reader/writer style rule: a shared rule conflicts only with exclusive ones (and itself, as
+	 * required by the {@link ISchedulingRule} contract), so each job gets its own instance.
+	 */
+	private static final class AccessRule implements ISchedulingRule {
+
+		private final boolean exclusive;
+
+		AccessRule(boolean exclusive) {
+			this.exclusive = exclusive;
+		}
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			if (rule == this) {
+				return true;
+			}
+			return rule instanceof AccessRule other && (exclusive || other.exclusive);
+		}
+	}
+
+	private static final class ToolJob extends Job {
+
+		private final Tool tool;
+		private final Map<String, Object> arguments;
+		private final RequestContext request;
+		private final ResultSessions resultSessions;
+		private final long budgetEnd;
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		ToolJob(String toolName, Tool tool, Map<String, Object> arguments, RequestContext request,
+				ResultSessions resultSessions, long budgetEnd) {
+			super("MCP tool: " + toolName);
+			this.tool = tool;
+			this.arguments = arguments;
+			this.request = request;
+			this.resultSessions = resultSessions;
+			this.budgetEnd = budgetEnd;
+			setSystem(true);
+			setPriority(Job.SHORT);
+			// A job cancelled while still waiting for its rule never runs nor gets canceling()
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					completeCancelled();
+				}
+			});
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				result.complete(tool.execute(arguments, new ToolContext(monitor, request, resultSessions, budgetEnd)));
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				result.completeExceptionally(e);
+				return Status.CANCEL_STATUS;
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+				return Status.OK_STATUS;
+			}
+		}
+
+		@Override
+		protected void canceling() {
+			completeCancelled();
+		}
+
+		/**
+		 * Releases the waiting request thread, unless the result is already known.
+		 */
+		private void completeCancelled() {
+			if (result.isDone()) {
+				return;
+			}
+			String reason = request != null ? request.getCancelReason() : null;
+			result.completeExceptionally(new OperationCanceledException(
+					getName() + " was cancelled" + (reason != null ? ": " + reason : "")));
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == FAMILY;
+		}
+	}
+}
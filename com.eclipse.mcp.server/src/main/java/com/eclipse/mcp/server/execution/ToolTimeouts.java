@@ -0,0 +1,57 @@
+package com.eclipse.mcp.server.execution;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.preferences.PreferenceInitializer;
+
+/**
+ * Default latency budgets of tools called without a {@code timeoutMs} argument, configured in
+ * preferences as comma separated {@code tool=milliseconds} pairs. Tools not listed run without a
+ * budget.
+ */
+public final class ToolTimeouts {
+
+	public static final String DEFAULTS =
+			"find_type=10000,find_resource=10000,find_references=30000,analyze_type_dependencies=120000,run_tests=600000";
+
+	private ToolTimeouts() {
+	}
+
+	/**
+	 * Returns the configured budget of the tool in milliseconds, or 0 if it has none.
+	 */
+	public static long getDefault(String toolName) {
+		Activator activator = Activator.getDefault();
+		String spec = activator != null
+				? activator.getPreferenceStore().getString(PreferenceInitializer.PREF_TOOL_TIMEOUTS)
+				: DEFAULTS;
+		return parse(spec).getOrDefault(toolName, 0L);
+	}
+
+	/**
+	 * Parses a {@code tool=milliseconds} list, skipping malformed entries.
+	 */
+	static Map<String, Long> parse(String spec) {
+		Map<String, Long> timeouts = new HashMap<>();
+		if (spec == null) {
+			return timeouts;
+		}
+		for (String entry : spec.split(",")) {
+			int separator = entry.indexOf('=');
+			if (separator <= 0) {
+				continue;
+			}
+			try {
+				long value = Long.parseLong(entry.substring(separator + 1).trim());
+				if (value > 0) {
+					timeouts.put(entry.substring(0, separator).trim(), value);
+				}
+			} catch (NumberFormatException e) {
+				// Skip malformed entry
+			}
+		}
+		return timeouts;
+	}
+}
@@ -7,10 +7,18 @@ import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.execution.ResultSessions;
+import com.eclipse.mcp.server.execution.ToolExecutor;
 
 public class ResourcesReadHandler implements MCPRequestHandler {
 
+    private final ToolExecutor toolExecutor;
+
+    public ResourcesReadHandler(ToolExecutor toolExecutor) {
+        this.toolExecutor = toolExecutor;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Object handle(Object params) throws Exception {
@@ -21,13 +29,7 @@ public class ResourcesReadHandler implements MCPRequestHandler {
             throw new IllegalArgumentException("URI is required");
         }
         
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return readResource(uri);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return readResource(uri);
     }
     
     private Map<String, Object> readResource(String uri) throws Exception {
@@ -57,19 +59,14 @@ public class ResourcesReadHandler implements MCPRequestHandler {
             Map<String, Object> arguments = new HashMap<>();
             arguments.put("projectName", projectName);
             
-            Object problems = problemsTool.execute(arguments);
+            Object problems = toolExecutor.execute("get_problems", problemsTool, arguments);
             result.put("contents", problems);
             result.put("mimeType", "application/json");
             
         } else if (uri.startsWith("workspace://project/") && uri.endsWith("/files")) {
             String projectName = uri.substring("workspace://project/".length(), uri.length() - "/files".length());
             
-            com.eclipse.mcp.server.tools.FindResourceTool resourceTool = new com.eclipse.mcp.server.tools.FindResourceTool();
-            Map<String, Object> arguments = new HashMap<>();
-            arguments.put("resourceName", "*");
-            
-            Object files = resourceTool.execute(arguments);
-            result.put("contents", files);
+            result.put("contents", listFiles(projectName));
             result.put("mimeType", "application/json");
             
         } else {
@@ -78,4 +75,28 @@ public class ResourcesReadHandler implements MCPRequestHandler {
         
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Lists all files of the project. A resource has no cursor, so every page of
+     * {@code find_resource} is read, each within its own time budget.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> listFiles(String projectName) throws Exception {
+        com.eclipse.mcp.server.tools.FindResourceTool resourceTool = new com.eclipse.mcp.server.tools.FindResourceTool();
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("resourceName", "*");
+        arguments.put("projectName", projectName);
+        arguments.put("limit", ResultSessions.MAX_LIMIT);
+
+        List<Object> files = new ArrayList<>();
+        while (true) {
+            Map<String, Object> page = (Map<String, Object>) toolExecutor.execute("find_resource", resourceTool, arguments);
+            files.addAll((List<Object>) page.get("results"));
+            String nextCursor = (String) page.get("nextCursor");
+            if (nextCursor == null) {
+                return files;
+            }
+            arguments.put("cursor", nextCursor);
+        }
+    }
+}
@@ -1,29 +1,33 @@
 package com.eclipse.mcp.server.handlers;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import com.eclipse.mcp.server.execution.ToolExecutor;
+import com.eclipse.mcp.server.protocol.ToolCallResult;
 import com.eclipse.mcp.server.tools.AnalyzeTypeDependenciesTool;
+import com.eclipse.mcp.server.tools.FindDependencyCyclesTool;
 import com.eclipse.mcp.server.tools.FindReferencesTool;
 import com.eclipse.mcp.server.tools.FindResourceTool;
 import com.eclipse.mcp.server.tools.FindTypeTool;
 import com.eclipse.mcp.server.tools.GetProblemsTool;
+import com.eclipse.mcp.server.tools.MavenBuildTool;
+import com.eclipse.mcp.server.tools.MavenDependenciesTool;
 import com.eclipse.mcp.server.tools.MavenGoalTool;
 import com.eclipse.mcp.server.tools.MavenUpdateProjectTool;
+import com.eclipse.mcp.server.tools.QueryDependencyGraphTool;
 import com.eclipse.mcp.server.tools.RefactorActionsTool;
 import com.eclipse.mcp.server.tools.RunTestsTool;
 import com.eclipse.mcp.server.tools.SourceActionsTool;
 import com.eclipse.mcp.server.tools.Tool;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class ToolsCallHandler implements MCPRequestHandler {
     
     private final Map<String, Tool> tools;
-    private final ObjectMapper objectMapper;
+    private final ToolExecutor toolExecutor;
     
-    public ToolsCallHandler() {
-        this.objectMapper = new ObjectMapper();
+    public ToolsCallHandler(ToolExecutor toolExecutor) {
+        this.toolExecutor = toolExecutor;
         this.tools = new HashMap<>();
         
         registerTools();
@@ -37,9 +41,13 @@ public class ToolsCallHandler implements MCPRequestHandler {
         tools.put("source_actions", new SourceActionsTool());
         tools.put("refactor_actions", new RefactorActionsTool());
         tools.put("maven_goal", new MavenGoalTool());
+        tools.put("maven_build", new MavenBuildTool());
+        tools.put("maven_dependencies", new MavenDependenciesTool());
         tools.put("maven_update_project", new MavenUpdateProjectTool());
         tools.put("find_references", new FindReferencesTool());
         tools.put("analyze_type_dependencies", new AnalyzeTypeDependenciesTool());
+        tools.put("query_dependency_graph", new QueryDependencyGraphTool());
+        tools.put("find_dependency_cycles", new FindDependencyCyclesTool());
     }
 
     @Override
@@ -54,19 +62,18 @@ public class ToolsCallHandler implements MCPRequestHandler {
             throw new IllegalArgumentException("Unknown tool: " + toolName);
         }
         
-        Map<String, Object> argumentsMap = new HashMap<>();
-        if (arguments != null) {
-            argumentsMap = objectMapper.convertValue(arguments, Map.class);
+        // Params are deserialized as untyped JSON, so arguments already are a map
+        Map<String, Object> argumentsMap;
+        if (arguments == null) {
+            argumentsMap = new HashMap<>();
+        } else if (arguments instanceof Map) {
+            argumentsMap = (Map<String, Object>) arguments;
+        } else {
+            throw new IllegalArgumentException("arguments must be an object");
         }
         
-        Object result = tool.execute(argumentsMap);
+        Object result = toolExecutor.execute(toolName, tool, argumentsMap);
 
-        String textContent = objectMapper.writeValueAsString(result);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("content", List.of(Map.of("type", "text", "text", textContent)));
-        response.put("isError", false);
-
-        return response;
+        return new ToolCallResult(result);
     }
 }
\ No newline at end of file
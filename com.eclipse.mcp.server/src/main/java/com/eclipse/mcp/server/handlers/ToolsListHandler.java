@@ -2,9 +2,12 @@ package com.eclipse.mcp.server.handlers;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.eclipse.mcp.server.execution.ResultSessions;
+
 public class ToolsListHandler implements MCPRequestHandler {
 
     @Override
@@ -13,10 +16,10 @@ public class ToolsListHandler implements MCPRequestHandler {
         
         tools.add(createTool(
             "find_type",
-            "Find Java types by name",
+            "Find Java types by name. Results are paginated: pass the returned nextCursor to get the next page",
             Map.of(
                 "type", "object",
-                "properties", Map.of(
+                "properties", withPaging(Map.of(
                     "typeName", Map.of(
                         "type", "string",
                         "description", "Name or pattern of the type to find"
@@ -25,18 +28,23 @@ public class ToolsListHandler implements MCPRequestHandler {
                         "type", "boolean",
                         "description", "Whether the search should be case sensitive",
                         "default", false
+                    ),
+                    "matchMode", Map.of(
+                        "type", "string",
+                        "description", "How typeName is matched against simple names: exact, prefix, camelCase (e.g. 'NPE' or 'HMap'), or pattern with * and ? wildcards. Defaults to pattern if typeName contains wildcards, exact otherwise",
+                        "enum", List.of("exact", "prefix", "camelCase", "pattern")
                     )
-                ),
+                )),
                 "required", List.of("typeName")
             )
         ));
         
         tools.add(createTool(
             "find_resource",
-            "Find resources by name or path",
+            "Find resources by name or path. Results are paginated: pass the returned nextCursor to get the next page",
             Map.of(
                 "type", "object",
-                "properties", Map.of(
+                "properties", withPaging(Map.of(
                     "resourceName", Map.of(
                         "type", "string",
                         "description", "Name or pattern of the resource to find"
@@ -44,15 +52,19 @@ public class ToolsListHandler implements MCPRequestHandler {
                     "fileExtension", Map.of(
                         "type", "string",
                         "description", "Filter by file extension (optional)"
+                    ),
+                    "projectName", Map.of(
+                        "type", "string",
+                        "description", "Limit the search to a specific project (optional)"
                     )
-                ),
+                )),
                 "required", List.of("resourceName")
             )
         ));
         
         tools.add(createTool(
             "run_tests",
-            "Run JUnit tests",
+            "Run JUnit tests and wait for them to finish. Returns status (passed, failed, aborted or timeout), a summary of counts, and every test with its status, duration and failure trace",
             Map.of(
                 "type", "object",
                 "properties", Map.of(
@@ -67,7 +79,28 @@ public class ToolsListHandler implements MCPRequestHandler {
                     "testMethod", Map.of(
                         "type", "string",
                         "description", "Specific test method to run (optional)"
-                    )
+                    ),
+                    "shards", Map.of(
+                        "type", "integer",
+                        "description", "Split the project's test classes by their recorded run times into this many launches that run in parallel JVMs (at most one per core; not with testClass)",
+                        "default", 1
+                    ),
+                    "changedFiles", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Workspace paths of changed files (e.g. /project/src/com/example/Foo.java); only test classes depending on them are run (not with testClass)"
+                    ),
+                    "changedSince", Map.of(
+                        "type", "string",
+                        "enum", List.of("lastRun"),
+                        "description", "Run only test classes affected by files changed since the last whole-project run, plus the classes that failed in it (not with testClass)"
+                    ),
+                    "stream", Map.of(
+                        "type", "boolean",
+                        "description", "Send test results in notifications/progress messages (partialResults) as tests finish (requires a progressToken in _meta)",
+                        "default", false
+                    ),
+                    "timeoutMs", timeoutProperty()
                 ),
                 "required", List.of("projectName")
             )
@@ -75,22 +108,31 @@ public class ToolsListHandler implements MCPRequestHandler {
         
         tools.add(createTool(
             "get_problems",
-            "Get compilation errors for a project",
+            "Get compilation problems for a project or the whole workspace. Pass the returned revision as sinceRevision to get only problems added or removed since",
             Map.of(
                 "type", "object",
                 "properties", Map.of(
                     "projectName", Map.of(
                         "type", "string",
-                        "description", "Name of the project to get problems for"
+                        "description", "Name of the project to get problems for (optional, all projects if omitted)"
+                    ),
+                    "severity", Map.of(
+                        "type", "string",
+                        "description", "Minimum severity to report",
+                        "enum", List.of("error", "warning", "info"),
+                        "default", "error"
+                    ),
+                    "sinceRevision", Map.of(
+                        "type", "integer",
+                        "description", "Revision of a previous result; returns only added problems and removed marker ids. If the revision is too old, a full result with reset=true is returned"
                     )
-                ),
-                "required", List.of("projectName")
+                )
             )
         ));
         
         tools.add(createTool(
             "source_actions",
-            "Execute Eclipse source actions (Alt+Shift+S equivalent)",
+            "Execute Eclipse source actions (Alt+Shift+S equivalent) on one or more files and return the diffs",
             Map.of(
                 "type", "object",
                 "properties", Map.of(
@@ -98,13 +140,27 @@ public class ToolsListHandler implements MCPRequestHandler {
                         "type", "string",
                         "description", "Path to the Java file"
                     ),
+                    "filePaths", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Paths to Java files, all changed in one workspace operation"
+                    ),
                     "action", Map.of(
                         "type", "string",
                         "description", "Source action to perform",
                         "enum", List.of("generate_getters_setters", "generate_constructor", "generate_toString", "generate_hashcode_equals")
+                    ),
+                    "fields", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Fields to generate for (default: all instance fields)"
+                    ),
+                    "dryRun", Map.of(
+                        "type", "boolean",
+                        "description", "Return the diffs without changing any file (default: false)"
                     )
                 ),
-                "required", List.of("filePath", "action")
+                "required", List.of("action")
             )
         ));
         
@@ -134,7 +190,7 @@ public class ToolsListHandler implements MCPRequestHandler {
         
         tools.add(createTool(
             "maven_goal",
-            "Execute Maven goals on a project",
+            "Run Maven goals on a project in the embedded Maven runtime. Returns status (success, failed or timeout), exitCode, durationMs, the failing mojo and the tail of the build log; log lines are sent as progress",
             Map.of(
                 "type", "object",
                 "properties", Map.of(
@@ -146,15 +202,77 @@ public class ToolsListHandler implements MCPRequestHandler {
                         "type", "array",
                         "items", Map.of("type", "string"),
                         "description", "Maven goals to execute"
-                    )
+                    ),
+                    "timeoutMs", timeoutProperty()
                 ),
                 "required", List.of("projectName", "goals")
             )
         ));
         
+        tools.add(createTool(
+            "maven_build",
+            "Build several Maven projects in reactor order, running independent modules in parallel and skipping modules whose inputs are unchanged since their last successful build. Returns the overall status and each module's status (success, unchanged, failed, skipped or notBuilt) with failures and log",
+            Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "projectNames", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Workspace Maven projects to build (default: all)"
+                    ),
+                    "goals", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Maven goals to run on each module, e.g. [\"install\"]"
+                    ),
+                    "threads", Map.of(
+                        "type", "integer",
+                        "description", "Modules built at the same time, like mvn -T (at most one per core)",
+                        "default", 1
+                    ),
+                    "force", Map.of(
+                        "type", "boolean",
+                        "description", "Build all modules even if their inputs are unchanged",
+                        "default", false
+                    ),
+                    "timeoutMs", timeoutProperty()
+                ),
+                "required", List.of("goals")
+            )
+        ));
+        
+        tools.add(createTool(
+            "maven_dependencies",
+            "Show the dependencies of a Maven project as resolved by m2e: a list of artifacts with version, scope and the dependencies that pull them in, the dependency tree, or the effective classpath. Cached until the POM or the Maven project configuration changes",
+            Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "projectName", Map.of(
+                        "type", "string",
+                        "description", "Name of the Maven project"
+                    ),
+                    "view", Map.of(
+                        "type", "string",
+                        "enum", List.of("list", "tree", "classpath"),
+                        "description", "What to return",
+                        "default", "list"
+                    ),
+                    "artifact", Map.of(
+                        "type", "string",
+                        "description", "Only list artifacts whose groupId:artifactId contains this text (list view)"
+                    ),
+                    "scope", Map.of(
+                        "type", "string",
+                        "description", "Only list artifacts in this scope, e.g. compile or test (list view)"
+                    )
+                ),
+                "required", List.of("projectName")
+            )
+        ));
+        
         tools.add(createTool(
             "maven_update_project",
-            "Update Maven project configuration",
+            "Update the configuration of Maven projects. Updates requested in quick succession are coalesced into one background update. Returns the status of each project",
             Map.of(
                 "type", "object",
                 "properties", Map.of(
@@ -162,22 +280,37 @@ public class ToolsListHandler implements MCPRequestHandler {
                         "type", "string",
                         "description", "Name of the Maven project to update"
                     ),
+                    "projectNames", Map.of(
+                        "type", "array",
+                        "items", Map.of("type", "string"),
+                        "description", "Names of several Maven projects to update"
+                    ),
+                    "stale", Map.of(
+                        "type", "boolean",
+                        "description", "Also update every Maven project whose pom.xml changed since it was last read",
+                        "default", false
+                    ),
                     "forceUpdate", Map.of(
                         "type", "boolean",
                         "description", "Force update of snapshots/releases",
                         "default", false
-                    )
-                ),
-                "required", List.of("projectName")
+                    ),
+                    "offline", Map.of(
+                        "type", "boolean",
+                        "description", "Do not access remote repositories",
+                        "default", false
+                    ),
+                    "timeoutMs", timeoutProperty()
+                )
             )
         ));
         
         tools.add(createTool(
             "find_references",
-            "Find all references to a Java element (type, method, or field) across the workspace. Equivalent to Ctrl+Shift+G in Eclipse.",
+            "Find all references to a Java element (type, method, or field) across the workspace. Equivalent to Ctrl+Shift+G in Eclipse. Results are paginated: pass the returned nextCursor to get the next page.",
             Map.of(
                 "type", "object",
-                "properties", Map.of(
+                "properties", withPaging(Map.of(
                     "elementName", Map.of(
                         "type", "string",
                         "description", "Name of the element to find references for (simple name or fully qualified)"
@@ -197,7 +330,7 @@ public class ToolsListHandler implements MCPRequestHandler {
                         "description", "Whether the search should be case sensitive",
                         "default", true
                     )
-                ),
+                )),
                 "required", List.of("elementName")
             )
         ));
@@ -219,20 +352,115 @@ public class ToolsListHandler implements MCPRequestHandler {
                     ),
                     "includeTransitive", Map.of(
                         "type", "boolean",
-                        "description", "Whether to recursively analyze project-local dependencies (capped at 100 types)",
+                        "description", "Whether to recursively analyze project-local dependencies",
                         "default", false
+                    ),
+                    "timeoutMs", timeoutProperty(),
+                    "timeBudgetMs", Map.of(
+                        "type", "integer",
+                        "description", "Older name of timeoutMs, used when timeoutMs is not given"
                     )
                 ),
                 "required", List.of("typeName")
             )
         ));
 
+        tools.add(createTool(
+            "query_dependency_graph",
+            "Query the workspace type dependency graph, which is kept up to date in the background. Answers what a type or package depends on, or what depends on it, without re-parsing sources.",
+            Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "typeName", Map.of(
+                        "type", "string",
+                        "description", "Fully qualified name of the type to query (either typeName or packageName is required)"
+                    ),
+                    "packageName", Map.of(
+                        "type", "string",
+                        "description", "Package to roll up: returns the packages it depends on, or that depend on it, with reference counts"
+                    ),
+                    "direction", Map.of(
+                        "type", "string",
+                        "description", "'dependencies' for what the type/package uses, 'dependents' for what uses it",
+                        "enum", List.of("dependencies", "dependents"),
+                        "default", "dependencies"
+                    ),
+                    "transitive", Map.of(
+                        "type", "boolean",
+                        "description", "Return the whole closure instead of direct neighbors (types only)",
+                        "default", false
+                    )
+                )
+            )
+        ));
+
+        tools.add(createTool(
+            "find_dependency_cycles",
+            "Find dependency cycles between types and between packages (strongly connected components of the type dependency graph), with one cycle per component and the dependencies that close it. Useful for planning module splits.",
+            Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "projectName", Map.of(
+                        "type", "string",
+                        "description", "Limit the analysis to a specific project (optional, whole workspace if omitted)"
+                    ),
+                    "level", Map.of(
+                        "type", "string",
+                        "description", "Report type-level cycles, package-level cycles, or both",
+                        "enum", List.of("type", "package", "both"),
+                        "default", "both"
+                    ),
+                    "maxComponents", Map.of(
+                        "type", "integer",
+                        "description", "Maximum number of components to report per level, largest first",
+                        "default", 50
+                    ),
+                    "maxEdgesPerComponent", Map.of(
+                        "type", "integer",
+                        "description", "Maximum number of dependencies listed per component",
+                        "default", 20
+                    )
+                )
+            )
+        ));
+
         Map<String, Object> result = new HashMap<>();
         result.put("tools", tools);
 
         return result;
     }
     
+    /**
+     * Adds the limit/cursor/stream arguments shared by paginated tools.
+     */
+    private Map<String, Object> withPaging(Map<String, Object> properties) {
+        Map<String, Object> result = new LinkedHashMap<>(properties);
+        result.put("limit", Map.of(
+            "type", "integer",
+            "description", "Maximum number of results per page",
+            "default", ResultSessions.DEFAULT_LIMIT,
+            "maximum", ResultSessions.MAX_LIMIT
+        ));
+        result.put("cursor", Map.of(
+            "type", "string",
+            "description", "nextCursor of a previous call, to continue that query (other arguments are then ignored). Cursors expire after two minutes of inactivity"
+        ));
+        result.put("stream", Map.of(
+            "type", "boolean",
+            "description", "Send results ahead in notifications/progress messages while the page fills (requires a progressToken in _meta)",
+            "default", false
+        ));
+        result.put("timeoutMs", timeoutProperty());
+        return result;
+    }
+
+    private Map<String, Object> timeoutProperty() {
+        return Map.of(
+            "type", "integer",
+            "description", "Latency budget in milliseconds. When it runs out the tool returns what it has so far with truncated=true instead of blocking. Defaults per tool are set in the server preferences"
+        );
+    }
+
     private Map<String, Object> createTool(String name, String description, Map<String, Object> inputSchema) {
         Map<String, Object> tool = new HashMap<>();
         tool.put("name", name);
@@ -0,0 +1,115 @@
+package com.eclipse.mcp.server.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Bounded cache of {@link LineOffsetTable}s per compilation unit.
+ * <p>
+ * A table is dropped as soon as the unit's buffer changes or is closed, so cached positions
+ * always agree with what {@link ICompilationUnit#getSource()} would return.
+ */
+public class LineOffsetCache {
+
+	private static final int MAX_ENTRIES = 512;
+
+	private final Map<ICompilationUnit, CachedTable> tables = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ICompilationUnit, CachedTable> eldest) {
+			if (size() > MAX_ENTRIES) {
+				eldest.getValue().detach();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Returns the line table for the unit's current source, or {@code null} if it has no source.
+	 */
+	public LineOffsetTable get(ICompilationUnit cu) throws JavaModelException {
+		synchronized (tables) {
+			CachedTable cached = tables.get(cu);
+			if (cached != null) {
+				return cached.table;
+			}
+		}
+
+		// Listen before reading, so an edit made while the table is built is not missed
+		IBuffer buffer = cu.getBuffer();
+		CachedTable cached = new CachedTable(cu, buffer);
+		if (buffer != null) {
+			buffer.addBufferChangedListener(cached);
+		}
+		String source = buffer != null ? buffer.getContents() : cu.getSource();
+		if (source == null) {
+			cached.detach();
+			return null;
+		}
+		cached.table = new LineOffsetTable(source);
+
+		synchronized (tables) {
+			if (cached.changed) {
+				// Still right for the source just read, but not worth keeping
+				cached.detach();
+				return cached.table;
+			}
+			CachedTable previous = tables.put(cu, cached);
+			if (previous != null) {
+				previous.detach();
+			}
+		}
+		return cached.table;
+	}
+
+	public void clear() {
+		synchronized (tables) {
+			for (CachedTable cached : tables.values()) {
+				cached.detach();
+			}
+			tables.clear();
+		}
+	}
+
+	private void invalidate(CachedTable cached) {
+		synchronized (tables) {
+			if (tables.get(cached.cu) == cached) {
+				tables.remove(cached.cu);
+			}
+		}
+		cached.detach();
+	}
+
+	private final class CachedTable implements IBufferChangedListener {
+
+		final ICompilationUnit cu;
+		final IBuffer buffer;
+		LineOffsetTable table;
+		volatile boolean changed;
+
+		CachedTable(ICompilationUnit cu, IBuffer buffer) {
+			this.cu = cu;
+			this.buffer = buffer;
+		}
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			changed = true;
+			invalidate(this);
+		}
+
+		void detach() {
+			if (buffer != null) {
+				buffer.removeBufferChangedListener(this);
+			}
+		}
+	}
+}
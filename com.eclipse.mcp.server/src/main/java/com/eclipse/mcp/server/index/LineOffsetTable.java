@@ -0,0 +1,80 @@
+package com.eclipse.mcp.server.index;
+
+/**
+ * Line start offsets of a source text, for resolving character offsets to line and column by
+ * binary search instead of rescanning the text.
+ */
+public final class LineOffsetTable {
+
+	private final String source;
+	private final int[] lineStarts;
+
+	public LineOffsetTable(String source) {
+		this.source = source;
+
+		int count = 1;
+		for (int i = 0; i < source.length(); i++) {
+			if (source.charAt(i) == '\n') {
+				count++;
+			}
+		}
+		lineStarts = new int[count];
+		int line = 1;
+		for (int i = 0; i < source.length(); i++) {
+			if (source.charAt(i) == '\n') {
+				lineStarts[line++] = i + 1;
+			}
+		}
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public int getLineCount() {
+		return lineStarts.length;
+	}
+
+	/**
+	 * Returns the 1-based line containing the offset.
+	 */
+	public int getLineNumber(int offset) {
+		int low = 0;
+		int high = lineStarts.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineStarts[mid] <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low + 1;
+	}
+
+	/**
+	 * Returns the 1-based column of the offset within its line.
+	 */
+	public int getColumn(int offset) {
+		return offset - lineStarts[getLineNumber(offset) - 1] + 1;
+	}
+
+	/**
+	 * Returns the offset of the first character of the 1-based line.
+	 */
+	public int getLineStart(int lineNumber) {
+		return lineStarts[lineNumber - 1];
+	}
+
+	/**
+	 * Returns the text of the 1-based line without its line delimiter.
+	 */
+	public String getLineText(int lineNumber) {
+		int start = lineStarts[lineNumber - 1];
+		int end = lineNumber < lineStarts.length ? lineStarts[lineNumber] - 1 : source.length();
+		if (end > start && source.charAt(end - 1) == '\r') {
+			end--;
+		}
+		return source.substring(start, end);
+	}
+}
@@ -0,0 +1,306 @@
+package com.eclipse.mcp.server.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Snapshot of all problem markers in the workspace, kept current from marker deltas.
+ * <p>
+ * Every resource change event that touches problems advances a revision number. The changes of
+ * recent revisions are kept in a bounded log, so clients that remember the revision of their last
+ * query can ask for only what was added or removed since. Queries never go to the marker
+ * manager; the workspace is only scanned on the first query and when a project is opened.
+ */
+public class MarkerCache implements IResourceChangeListener {
+
+	/**
+	 * Problems added and removed since a revision.
+	 */
+	public static final class Changes {
+
+		private final long revision;
+		private final List<ProblemEntry> added;
+		private final List<ProblemEntry> removed;
+
+		Changes(long revision, List<ProblemEntry> added, List<ProblemEntry> removed) {
+			this.revision = revision;
+			this.added = added;
+			this.removed = removed;
+		}
+
+		public long getRevision() {
+			return revision;
+		}
+
+		public List<ProblemEntry> getAdded() {
+			return added;
+		}
+
+		/**
+		 * Returns the removed problems, as last seen before removal. Changed markers are
+		 * reported as removed and added again.
+		 */
+		public List<ProblemEntry> getRemoved() {
+			return removed;
+		}
+	}
+
+	private static final int MAX_LOGGED_CHANGES = 10_000;
+
+	private static final class Change {
+		final long revision;
+		final ProblemEntry entry;
+		final boolean added;
+
+		Change(long revision, ProblemEntry entry, boolean added) {
+			this.revision = revision;
+			this.entry = entry;
+			this.added = added;
+		}
+	}
+
+	private final Map<Long, ProblemEntry> problems = new HashMap<>();
+	private final Deque<Change> log = new ArrayDeque<>();
+	private long revision;
+	private long truncatedRevision;
+	private boolean built;
+
+	/**
+	 * Starts listening for marker changes. The initial scan happens on the first query.
+	 */
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		synchronized (this) {
+			problems.clear();
+			log.clear();
+			built = false;
+		}
+	}
+
+	/**
+	 * Returns the current revision.
+	 */
+	public synchronized long getRevision() throws CoreException {
+		ensureBuilt();
+		return revision;
+	}
+
+	/**
+	 * Returns all problems of at least the given severity, optionally restricted to a project.
+	 */
+	public synchronized List<ProblemEntry> getProblems(String projectName, int minSeverity) throws CoreException {
+		ensureBuilt();
+		List<ProblemEntry> result = new ArrayList<>();
+		for (ProblemEntry entry : problems.values()) {
+			if (matches(entry, projectName, minSeverity)) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the problems added and removed after the given revision, or {@code null} if the log
+	 * no longer reaches back that far and the client has to start over from a full query.
+	 */
+	public synchronized Changes getChangesSince(long sinceRevision, String projectName, int minSeverity)
+			throws CoreException {
+		ensureBuilt();
+		if (sinceRevision < truncatedRevision || sinceRevision > revision) {
+			return null;
+		}
+
+		Map<Long, ProblemEntry> added = new LinkedHashMap<>();
+		Map<Long, ProblemEntry> removed = new LinkedHashMap<>();
+		Set<Long> newInWindow = new HashSet<>();
+		for (Change change : log) {
+			if (change.revision <= sinceRevision) {
+				continue;
+			}
+			Long id = change.entry.markerId;
+			if (change.added) {
+				if (!removed.containsKey(id) && !added.containsKey(id)) {
+					newInWindow.add(id);
+				}
+				added.put(id, change.entry);
+			} else if (added.remove(id) == null || !newInWindow.remove(id)) {
+				removed.putIfAbsent(id, change.entry);
+			}
+		}
+
+		return new Changes(revision, filter(added, projectName, minSeverity), filter(removed, projectName, minSeverity));
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IMarkerDelta[] markerDeltas = event.findMarkerDeltas(IMarker.PROBLEM, true);
+		IResourceDelta delta = event.getDelta();
+
+		synchronized (this) {
+			if (!built) {
+				return;
+			}
+			long next = revision + 1;
+			boolean changed = false;
+
+			for (IMarkerDelta markerDelta : markerDeltas) {
+				ProblemEntry previous = problems.remove(markerDelta.getId());
+				if (previous != null) {
+					record(next, previous, false);
+					changed = true;
+				}
+				if (markerDelta.getKind() != IResourceDelta.REMOVED) {
+					ProblemEntry entry = createEntry(markerDelta);
+					problems.put(entry.markerId, entry);
+					record(next, entry, true);
+					changed = true;
+				}
+			}
+
+			if (delta != null) {
+				for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+					changed |= applyProjectDelta(projectDelta, next);
+				}
+			}
+
+			if (changed) {
+				revision = next;
+			}
+		}
+	}
+
+	/**
+	 * Drops the problems of closed or deleted projects and scans projects that were opened, as
+	 * neither produces marker deltas.
+	 */
+	private boolean applyProjectDelta(IResourceDelta delta, long next) {
+		IProject project = (IProject) delta.getResource();
+		boolean opened = (delta.getFlags() & IResourceDelta.OPEN) != 0 && project.isOpen();
+		boolean closed = delta.getKind() == IResourceDelta.REMOVED || !project.isOpen();
+		if (!opened && !closed) {
+			return false;
+		}
+
+		boolean changed = false;
+		String projectName = project.getName();
+		for (ProblemEntry entry : new ArrayList<>(problems.values())) {
+			if (projectName.equals(entry.projectName)) {
+				problems.remove(entry.markerId);
+				record(next, entry, false);
+				changed = true;
+			}
+		}
+		if (opened) {
+			try {
+				for (IMarker marker : project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE)) {
+					ProblemEntry entry = createEntry(marker);
+					problems.put(entry.markerId, entry);
+					record(next, entry, true);
+					changed = true;
+				}
+			} catch (CoreException e) {
+				// Project went away again, nothing to add
+			}
+		}
+		return changed;
+	}
+
+	private void ensureBuilt() throws CoreException {
+		if (built) {
+			return;
+		}
+		problems.clear();
+		log.clear();
+		IMarker[] markers = ResourcesPlugin.getWorkspace().getRoot()
+				.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+		for (IMarker marker : markers) {
+			ProblemEntry entry = createEntry(marker);
+			problems.put(entry.markerId, entry);
+		}
+		revision++;
+		truncatedRevision = revision;
+		built = true;
+	}
+
+	private void record(long changeRevision, ProblemEntry entry, boolean added) {
+		log.addLast(new Change(changeRevision, entry, added));
+		while (log.size() > MAX_LOGGED_CHANGES) {
+			truncatedRevision = log.removeFirst().revision;
+		}
+	}
+
+	private static List<ProblemEntry> filter(Map<Long, ProblemEntry> entries, String projectName, int minSeverity) {
+		List<ProblemEntry> result = new ArrayList<>();
+		for (ProblemEntry entry : entries.values()) {
+			if (matches(entry, projectName, minSeverity)) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	private static boolean matches(ProblemEntry entry, String projectName, int minSeverity) {
+		return entry.severity >= minSeverity && (projectName == null || projectName.equals(entry.projectName));
+	}
+
+	private static ProblemEntry createEntry(IMarker marker) throws CoreException {
+		IResource resource = marker.getResource();
+		return createEntry(marker.getId(), resource, marker.getType(),
+				marker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO),
+				marker.getAttribute(IMarker.MESSAGE, ""),
+				marker.getAttribute(IMarker.LINE_NUMBER, -1),
+				marker.getAttribute(IMarker.CHAR_START, -1),
+				marker.getAttribute(IMarker.CHAR_END, -1),
+				marker.getAttribute(IMarker.SOURCE_ID, ""));
+	}
+
+	private static ProblemEntry createEntry(IMarkerDelta delta) {
+		return createEntry(delta.getId(), delta.getResource(), delta.getType(),
+				delta.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO),
+				delta.getAttribute(IMarker.MESSAGE, ""),
+				delta.getAttribute(IMarker.LINE_NUMBER, -1),
+				delta.getAttribute(IMarker.CHAR_START, -1),
+				delta.getAttribute(IMarker.CHAR_END, -1),
+				delta.getAttribute(IMarker.SOURCE_ID, ""));
+	}
+
+	private static ProblemEntry createEntry(long id, IResource resource, String type, int severity, String message,
+			int lineNumber, int charStart, int charEnd, String sourceId) {
+		IPath location = resource.getLocation();
+		return new ProblemEntry(
+				id,
+				resource.getProject() != null ? resource.getProject().getName() : null,
+				resource.getFullPath().toString(),
+				resource.getName(),
+				location != null ? location.toString() : null,
+				severity,
+				message,
+				lineNumber,
+				charStart,
+				charEnd,
+				sourceId,
+				type);
+	}
+}
@@ -0,0 +1,93 @@
+package com.eclipse.mcp.server.index;
+
+import org.eclipse.core.resources.IMarker;
+
+/**
+ * Immutable copy of the attributes of one problem marker held by {@link MarkerCache}.
+ */
+public final class ProblemEntry {
+
+	final long markerId;
+	final String projectName;
+	final String resourcePath;
+	final String resourceName;
+	final String location;
+	final int severity;
+	final String message;
+	final int lineNumber;
+	final int charStart;
+	final int charEnd;
+	final String sourceId;
+	final String type;
+
+	ProblemEntry(long markerId, String projectName, String resourcePath, String resourceName, String location,
+			int severity, String message, int lineNumber, int charStart, int charEnd, String sourceId, String type) {
+		this.markerId = markerId;
+		this.projectName = projectName;
+		this.resourcePath = resourcePath;
+		this.resourceName = resourceName;
+		this.location = location;
+		this.severity = severity;
+		this.message = message;
+		this.lineNumber = lineNumber;
+		this.charStart = charStart;
+		this.charEnd = charEnd;
+		this.sourceId = sourceId;
+		this.type = type;
+	}
+
+	public long getMarkerId() {
+		return markerId;
+	}
+
+	public String getProjectName() {
+		return projectName;
+	}
+
+	public String getResourcePath() {
+		return resourcePath;
+	}
+
+	public String getResourceName() {
+		return resourceName;
+	}
+
+	/**
+	 * Returns the local file system location of the resource, or {@code null} if it has none.
+	 */
+	public String getLocation() {
+		return location;
+	}
+
+	/**
+	 * Returns one of {@link IMarker#SEVERITY_ERROR}, {@link IMarker#SEVERITY_WARNING} or
+	 * {@link IMarker#SEVERITY_INFO}.
+	 */
+	public int getSeverity() {
+		return severity;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	public int getCharStart() {
+		return charStart;
+	}
+
+	public int getCharEnd() {
+		return charEnd;
+	}
+
+	public String getSourceId() {
+		return sourceId;
+	}
+
+	public String getType() {
+		return type;
+	}
+}
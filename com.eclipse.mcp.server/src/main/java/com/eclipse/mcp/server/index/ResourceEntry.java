@@ -0,0 +1,78 @@
+package com.eclipse.mcp.server.index;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * One workspace file held by {@link ResourceIndex}. The size is read from disk the first time it
+ * is asked for; entries are replaced when the file content changes.
+ */
+public final class ResourceEntry {
+
+	final IFile file;
+	final String lowerName;
+	final String lowerExtension;
+	private final long lastModified;
+	private volatile long size = -1;
+
+	ResourceEntry(IFile file) {
+		this.file = file;
+		this.lowerName = file.getName().toLowerCase();
+		String extension = file.getFileExtension();
+		this.lowerExtension = extension != null ? extension.toLowerCase() : null;
+		this.lastModified = file.getLocalTimeStamp();
+	}
+
+	public IFile getFile() {
+		return file;
+	}
+
+	public String getName() {
+		return file.getName();
+	}
+
+	public String getExtension() {
+		return file.getFileExtension();
+	}
+
+	public String getProjectName() {
+		return file.getProject().getName();
+	}
+
+	public String getPath() {
+		return file.getFullPath().toString();
+	}
+
+	/**
+	 * Returns the local file system location, or {@code null} for files without one.
+	 */
+	public String getLocation() {
+		IPath location = file.getLocation();
+		return location != null ? location.toString() : null;
+	}
+
+	/**
+	 * Returns the local modification time recorded by the workspace when the entry was indexed.
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Returns the file size in bytes, or {@code -1} if it cannot be determined.
+	 */
+	public long getSize() {
+		long current = size;
+		if (current < 0) {
+			IPath location = file.getLocation();
+			File local = location != null ? location.toFile() : null;
+			if (local != null && local.isFile()) {
+				current = local.length();
+				size = current;
+			}
+		}
+		return current;
+	}
+}
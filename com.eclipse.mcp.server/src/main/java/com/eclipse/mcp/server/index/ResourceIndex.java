@@ -0,0 +1,255 @@
+package com.eclipse.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * In-memory index of all files in open workspace projects.
+ * <p>
+ * The index is built once with an {@link org.eclipse.core.resources.IResourceProxyVisitor}, which
+ * walks the workspace tree without creating resource handles for folders, and is then kept
+ * current from resource deltas. Files are additionally grouped by extension, so extension
+ * queries only look at matching files. Nothing touches the file system during a lookup except
+ * reading the size of returned files once.
+ */
+public class ResourceIndex implements IResourceChangeListener {
+
+	private final Map<IPath, ResourceEntry> entries = new ConcurrentHashMap<>();
+	private final Map<String, Set<ResourceEntry>> byExtension = new ConcurrentHashMap<>();
+	private final Job buildJob = new BuildJob();
+	private volatile boolean ready;
+
+	/**
+	 * Starts listening for changes and schedules the initial build.
+	 */
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		buildJob.schedule();
+	}
+
+	public void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		buildJob.cancel();
+		ready = false;
+		entries.clear();
+		byExtension.clear();
+	}
+
+	/**
+	 * Returns whether the initial build has completed.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Finds files by name. The name is matched case-insensitively: as a glob against the whole
+	 * file name if it contains {@code *} or {@code ?}, as a substring otherwise.
+	 *
+	 * @param extension only return files with this extension (case-insensitive), may be {@code null}
+	 * @param projectName only return files of this project, may be {@code null}
+	 */
+	public List<ResourceEntry> find(String name, String extension, String projectName) {
+		String lowerName = name.toLowerCase();
+		boolean isPattern = lowerName.contains("*") || lowerName.contains("?");
+		Pattern glob = isPattern ? compileGlob(lowerName) : null;
+
+		String lowerExtension = extension != null ? extension.toLowerCase() : globExtension(lowerName);
+		Collection<ResourceEntry> candidates;
+		if (lowerExtension != null) {
+			Set<ResourceEntry> matching = byExtension.get(lowerExtension);
+			candidates = matching != null ? matching : Set.of();
+		} else {
+			candidates = entries.values();
+		}
+
+		List<ResourceEntry> results = new ArrayList<>();
+		for (ResourceEntry entry : candidates) {
+			if (projectName != null && !projectName.equals(entry.file.getProject().getName())) {
+				continue;
+			}
+			boolean matches = glob != null ? glob.matcher(entry.lowerName).matches()
+					: entry.lowerName.contains(lowerName);
+			if (matches && entry.file.exists()) {
+				results.add(entry);
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(this::applyDelta);
+		} catch (CoreException e) {
+			buildJob.schedule();
+		}
+	}
+
+	private boolean applyDelta(IResourceDelta delta) throws CoreException {
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+			case IResource.PROJECT:
+				IProject project = (IProject) resource;
+				if (delta.getKind() == IResourceDelta.REMOVED || !project.isOpen()) {
+					removeProject(project);
+					return false;
+				}
+				if (delta.getKind() == IResourceDelta.ADDED || (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					addAll(project, null);
+					return false;
+				}
+				return true;
+			case IResource.FILE:
+				IFile file = (IFile) resource;
+				if (delta.getKind() == IResourceDelta.REMOVED) {
+					remove(file.getFullPath());
+				} else if (delta.getKind() == IResourceDelta.ADDED
+						|| (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+					add(file);
+				}
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	private void addAll(IResource container, IProgressMonitor monitor) throws CoreException {
+		container.accept((IResourceProxy proxy) -> {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (proxy.getType() == IResource.FILE) {
+				add((IFile) proxy.requestResource());
+				return false;
+			}
+			return proxy.getType() != IResource.PROJECT || ((IProject) proxy.requestResource()).isOpen();
+		}, IResource.NONE);
+	}
+
+	private void add(IFile file) {
+		ResourceEntry entry = new ResourceEntry(file);
+		ResourceEntry previous = entries.put(file.getFullPath(), entry);
+		if (previous != null) {
+			removeFromExtension(previous);
+		}
+		if (entry.lowerExtension != null) {
+			byExtension.computeIfAbsent(entry.lowerExtension, k -> ConcurrentHashMap.newKeySet()).add(entry);
+		}
+	}
+
+	private void remove(IPath path) {
+		ResourceEntry previous = entries.remove(path);
+		if (previous != null) {
+			removeFromExtension(previous);
+		}
+	}
+
+	private void removeFromExtension(ResourceEntry entry) {
+		if (entry.lowerExtension != null) {
+			Set<ResourceEntry> set = byExtension.get(entry.lowerExtension);
+			if (set != null) {
+				set.remove(entry);
+			}
+		}
+	}
+
+	private void removeProject(IProject project) {
+		IPath projectPath = project.getFullPath();
+		for (IPath path : entries.keySet()) {
+			if (projectPath.isPrefixOf(path)) {
+				remove(path);
+			}
+		}
+	}
+
+	/**
+	 * Returns the extension of a {@code *.ext} glob, which can be answered from the extension
+	 * groups alone, or {@code null} for any other name.
+	 */
+	private static String globExtension(String lowerName) {
+		if (lowerName.startsWith("*.")) {
+			String extension = lowerName.substring(2);
+			if (!extension.isEmpty() && extension.indexOf('*') < 0 && extension.indexOf('?') < 0
+					&& extension.indexOf('.') < 0) {
+				return extension;
+			}
+		}
+		return null;
+	}
+
+	private static Pattern compileGlob(String glob) {
+		StringBuilder regex = new StringBuilder();
+		int literalStart = 0;
+		for (int i = 0; i < glob.length(); i++) {
+			char c = glob.charAt(i);
+			if (c == '*' || c == '?') {
+				if (i > literalStart) {
+					regex.append(Pattern.quote(glob.substring(literalStart, i)));
+				}
+				regex.append(c == '*' ? ".*" : ".");
+				literalStart = i + 1;
+			}
+		}
+		if (literalStart < glob.length()) {
+			regex.append(Pattern.quote(glob.substring(literalStart)));
+		}
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+
+	private final class BuildJob extends Job {
+
+		BuildJob() {
+			super("Indexing workspace files");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IWorkspace workspace = ResourcesPlugin.getWorkspace();
+			try {
+				entries.clear();
+				byExtension.clear();
+				ready = false;
+				addAll(workspace.getRoot(), monitor);
+				ready = true;
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (CoreException e) {
+				return e.getStatus();
+			}
+		}
+	}
+}
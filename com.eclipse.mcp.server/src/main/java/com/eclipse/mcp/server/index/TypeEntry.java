@@ -0,0 +1,97 @@
+package com.eclipse.mcp.server.index;
+
+import org.eclipse.jdt.core.Flags;
+
+/**
+ * Immutable description of one type declaration held by {@link TypeNameIndex}.
+ */
+public final class TypeEntry {
+
+	final String simpleName;
+	final String packageName;
+	final String enclosingTypeNames;
+	final String projectName;
+	final String fileName;
+	final String filePath;
+	final String container;
+	final int modifiers;
+	final boolean binary;
+
+	TypeEntry(String simpleName, String packageName, String enclosingTypeNames, String projectName,
+			String fileName, String filePath, String container, int modifiers, boolean binary) {
+		this.simpleName = simpleName;
+		this.packageName = packageName;
+		this.enclosingTypeNames = enclosingTypeNames;
+		this.projectName = projectName;
+		this.fileName = fileName;
+		this.filePath = filePath;
+		this.container = container;
+		this.modifiers = modifiers;
+		this.binary = binary;
+	}
+
+	public String getSimpleName() {
+		return simpleName;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Returns the dot-separated names of enclosing types, empty for top-level types.
+	 */
+	public String getEnclosingTypeNames() {
+		return enclosingTypeNames;
+	}
+
+	/**
+	 * Returns the name in the form reported by {@code IType.getFullyQualifiedName('.')}.
+	 */
+	public String getFullyQualifiedName() {
+		StringBuilder name = new StringBuilder(packageName.length() + enclosingTypeNames.length() + simpleName.length() + 2);
+		if (!packageName.isEmpty()) {
+			name.append(packageName).append('.');
+		}
+		if (!enclosingTypeNames.isEmpty()) {
+			name.append(enclosingTypeNames).append('.');
+		}
+		return name.append(simpleName).toString();
+	}
+
+	public String getProjectName() {
+		return projectName;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Returns the workspace path of the compilation unit, or the path of the archive or class
+	 * folder for binary types.
+	 */
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public boolean isBinary() {
+		return binary;
+	}
+
+	public boolean isInterface() {
+		return Flags.isInterface(modifiers);
+	}
+
+	public boolean isEnum() {
+		return Flags.isEnum(modifiers);
+	}
+
+	public boolean isAnnotation() {
+		return Flags.isAnnotation(modifiers);
+	}
+
+	public boolean isClass() {
+		return !Flags.isInterface(modifiers) && !Flags.isEnum(modifiers) && !Flags.isAnnotation(modifiers);
+	}
+}
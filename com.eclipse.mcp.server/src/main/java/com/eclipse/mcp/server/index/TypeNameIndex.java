@@ -0,0 +1,604 @@
+package com.eclipse.mcp.server.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+/**
+ * In-memory index of all type names visible in the workspace, including library types.
+ * <p>
+ * The index is built once with {@link SearchEngine#searchAllTypeNames} and then kept current from
+ * Java element deltas: changed compilation units are re-read individually, classpath changes
+ * trigger a rebuild. Entries are held in an immutable array sorted case-insensitively by simple
+ * name, so exact, prefix and camelCase lookups are a binary search plus a short scan. A snapshot
+ * is written to the plugin state location so the index is usable right after a restart while it
+ * is being refreshed in the background.
+ */
+public class TypeNameIndex implements IElementChangedListener {
+
+	public enum MatchMode {
+		EXACT, PREFIX, CAMEL_CASE, PATTERN
+	}
+
+	private static final int FORMAT_VERSION = 1;
+	private static final long UPDATE_DELAY_MS = 500;
+
+	private static final Comparator<TypeEntry> ORDER = Comparator
+			.comparing((TypeEntry e) -> e.simpleName, String.CASE_INSENSITIVE_ORDER)
+			.thenComparing(e -> e.packageName)
+			.thenComparing(e -> e.enclosingTypeNames)
+			.thenComparing(e -> e.container);
+
+	private final File snapshotFile;
+	private volatile TypeEntry[] entries;
+
+	private final Set<ICompilationUnit> dirtyUnits = new LinkedHashSet<>();
+	private final Set<String> removedContainers = new HashSet<>();
+	// Rebuild and update both replace the entries from what they read, so they never run together
+	private final ISchedulingRule indexRule = new IndexRule();
+	private final Job rebuildJob = new RebuildJob();
+	private final Job updateJob = new UpdateJob();
+
+	public TypeNameIndex(File snapshotFile) {
+		this.snapshotFile = snapshotFile;
+	}
+
+	/**
+	 * Loads the persisted snapshot, starts listening for changes and schedules a background
+	 * rebuild to pick up anything that changed while Eclipse was not running.
+	 */
+	public void start() {
+		try {
+			entries = readSnapshot();
+		} catch (IOException | RuntimeException e) {
+			// Unreadable snapshot: start empty, the rebuild below recreates it
+			snapshotFile.delete();
+		}
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+		rebuildJob.schedule();
+	}
+
+	public void stop() {
+		JavaCore.removeElementChangedListener(this);
+		rebuildJob.cancel();
+		updateJob.cancel();
+		TypeEntry[] current = entries;
+		if (current != null) {
+			try {
+				writeSnapshot(current);
+			} catch (IOException e) {
+				snapshotFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether lookups can be answered, i.e. a snapshot was loaded or a build completed.
+	 */
+	public boolean isReady() {
+		return entries != null;
+	}
+
+	public int size() {
+		TypeEntry[] current = entries;
+		return current != null ? current.length : 0;
+	}
+
+	/**
+	 * Finds types whose simple name matches the pattern. If the pattern contains a dot, the
+	 * part before the last dot must match the package (and enclosing types) as well.
+	 *
+	 * @param limit maximum number of entries to return, or {@code -1} for all
+	 */
+	public List<TypeEntry> find(String pattern, MatchMode mode, boolean caseSensitive, int limit) {
+		TypeEntry[] current = entries;
+		if (current == null) {
+			throw new IllegalStateException("Type index is not ready");
+		}
+
+		int lastDot = pattern.lastIndexOf('.');
+		String namePattern = lastDot >= 0 ? pattern.substring(lastDot + 1) : pattern;
+		String qualifier = lastDot >= 0 ? pattern.substring(0, lastDot) : null;
+		char[] qualifierChars = qualifier != null && mode == MatchMode.PATTERN ? qualifier.toCharArray() : null;
+		char[] nameChars = mode == MatchMode.PATTERN ? namePattern.toCharArray() : null;
+
+		String rangePrefix = switch (mode) {
+			case EXACT, PREFIX -> namePattern;
+			case CAMEL_CASE -> namePattern.isEmpty() ? "" : namePattern.substring(0, 1);
+			case PATTERN -> literalPrefix(namePattern);
+		};
+
+		List<TypeEntry> results = new ArrayList<>();
+		for (int i = lowerBound(current, rangePrefix); i < current.length; i++) {
+			TypeEntry entry = current[i];
+			if (!entry.simpleName.regionMatches(true, 0, rangePrefix, 0, rangePrefix.length())) {
+				break;
+			}
+
+			boolean nameMatches = switch (mode) {
+				case EXACT -> caseSensitive ? entry.simpleName.equals(namePattern)
+						: entry.simpleName.equalsIgnoreCase(namePattern);
+				case PREFIX -> !caseSensitive
+						|| entry.simpleName.startsWith(namePattern);
+				case CAMEL_CASE -> SearchPattern.camelCaseMatch(namePattern, entry.simpleName);
+				case PATTERN -> CharOperation.match(nameChars, entry.simpleName.toCharArray(), caseSensitive);
+			};
+			if (!nameMatches || !qualifierMatches(entry, qualifier, qualifierChars, caseSensitive)) {
+				continue;
+			}
+
+			results.add(entry);
+			if (limit >= 0 && results.size() >= limit) {
+				break;
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (collectChanges(event.getDelta())) {
+			updateJob.cancel();
+			rebuildJob.schedule(UPDATE_DELAY_MS);
+		} else {
+			updateJob.schedule(UPDATE_DELAY_MS);
+		}
+	}
+
+	/**
+	 * Records changed compilation units.
+	 *
+	 * @return {@code true} if the change affects the classpath and needs a full rebuild
+	 */
+	private boolean collectChanges(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+								| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu = (ICompilationUnit) element;
+				if (cu.isWorkingCopy() && delta.getKind() == IJavaElementDelta.CHANGED
+						&& (flags & IJavaElementDelta.F_PRIMARY_RESOURCE) == 0) {
+					return false;
+				}
+				synchronized (dirtyUnits) {
+					if (delta.getKind() == IJavaElementDelta.REMOVED) {
+						removedContainers.add(cu.getPath().toString());
+					} else {
+						dirtyUnits.add(cu.getPrimary());
+					}
+				}
+				return false;
+			default:
+				break;
+		}
+
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChanges(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void rebuild(IProgressMonitor monitor) throws CoreException {
+		synchronized (dirtyUnits) {
+			dirtyUnits.clear();
+			removedContainers.clear();
+		}
+
+		List<TypeEntry> collected = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		Map<String, String> strings = new HashMap<>();
+
+		new SearchEngine().searchAllTypeNames(
+				null,
+				SearchPattern.R_PATTERN_MATCH,
+				null,
+				SearchPattern.R_PATTERN_MATCH,
+				IJavaSearchConstants.TYPE,
+				SearchEngine.createWorkspaceScope(),
+				new TypeNameMatchRequestor() {
+					@Override
+					public void acceptTypeNameMatch(TypeNameMatch match) {
+						TypeEntry entry = createEntry(match, strings);
+						if (entry != null && seen.add(entry.container + '|' + entry.getFullyQualifiedName())) {
+							collected.add(entry);
+						}
+					}
+				},
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+				monitor);
+
+		TypeEntry[] built = collected.toArray(new TypeEntry[0]);
+		Arrays.sort(built, ORDER);
+		entries = built;
+
+		synchronized (dirtyUnits) {
+			if (!dirtyUnits.isEmpty() || !removedContainers.isEmpty()) {
+				updateJob.schedule();
+			}
+		}
+
+		try {
+			writeSnapshot(built);
+		} catch (IOException e) {
+			snapshotFile.delete();
+		}
+	}
+
+	private void update(IProgressMonitor monitor) {
+		TypeEntry[] current = entries;
+		if (current == null) {
+			return;
+		}
+
+		List<ICompilationUnit> units;
+		Set<String> replaced = new HashSet<>();
+		synchronized (dirtyUnits) {
+			units = new ArrayList<>(dirtyUnits);
+			replaced.addAll(removedContainers);
+			dirtyUnits.clear();
+			removedContainers.clear();
+		}
+
+		Map<String, String> strings = new HashMap<>();
+		List<TypeEntry> added = new ArrayList<>();
+		for (ICompilationUnit cu : units) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			replaced.add(cu.getPath().toString());
+			if (cu.exists()) {
+				try {
+					for (IType type : cu.getAllTypes()) {
+						added.add(createEntry(type, strings));
+					}
+				} catch (JavaModelException e) {
+					// Unit vanished or cannot be parsed, its types are dropped
+				}
+			}
+		}
+		if (replaced.isEmpty()) {
+			return;
+		}
+
+		added.sort(ORDER);
+		entries = merge(current, replaced, added);
+	}
+
+	/**
+	 * Merges sorted additions into the sorted entries, dropping entries of replaced containers.
+	 * Linear in the size of the index, no re-sort of the untouched entries.
+	 */
+	private static TypeEntry[] merge(TypeEntry[] current, Set<String> replaced, List<TypeEntry> added) {
+		TypeEntry[] merged = new TypeEntry[current.length + added.size()];
+		int count = 0;
+		int a = 0;
+		for (TypeEntry entry : current) {
+			if (replaced.contains(entry.container)) {
+				continue;
+			}
+			while (a < added.size() && ORDER.compare(added.get(a), entry) < 0) {
+				merged[count++] = added.get(a++);
+			}
+			merged[count++] = entry;
+		}
+		while (a < added.size()) {
+			merged[count++] = added.get(a++);
+		}
+		return Arrays.copyOf(merged, count);
+	}
+
+	private static TypeEntry createEntry(TypeNameMatch match, Map<String, String> strings) {
+		IPackageFragmentRoot root = match.getPackageFragmentRoot();
+		IType type = match.getType();
+		if (root == null || type == null) {
+			return null;
+		}
+
+		boolean binary;
+		try {
+			binary = root.getKind() == IPackageFragmentRoot.K_BINARY;
+		} catch (JavaModelException e) {
+			binary = root.isArchive();
+		}
+
+		String enclosing = match.getTypeContainerName();
+		String packageName = match.getPackageName();
+		if (enclosing.length() > packageName.length()) {
+			enclosing = enclosing.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+		} else {
+			enclosing = "";
+		}
+
+		String fileName;
+		String filePath;
+		String container;
+		if (binary) {
+			fileName = type.getClassFile().getElementName();
+			filePath = root.getPath().toString();
+			container = filePath;
+		} else {
+			ICompilationUnit cu = type.getCompilationUnit();
+			fileName = cu.getElementName();
+			filePath = cu.getPath().toString();
+			container = filePath;
+		}
+
+		return new TypeEntry(
+				match.getSimpleTypeName(),
+				intern(strings, packageName),
+				intern(strings, enclosing),
+				intern(strings, root.getJavaProject().getElementName()),
+				fileName,
+				intern(strings, filePath),
+				intern(strings, container),
+				match.getModifiers(),
+				binary);
+	}
+
+	private static TypeEntry createEntry(IType type, Map<String, String> strings) throws JavaModelException {
+		ICompilationUnit cu = type.getCompilationUnit();
+		String packageName = type.getPackageFragment().getElementName();
+		String qualified = type.getTypeQualifiedName('.');
+		int lastDot = qualified.lastIndexOf('.');
+		String path = cu.getPath().toString();
+
+		return new TypeEntry(
+				type.getElementName(),
+				intern(strings, packageName),
+				intern(strings, lastDot >= 0 ? qualified.substring(0, lastDot) : ""),
+				intern(strings, type.getJavaProject().getElementName()),
+				cu.getElementName(),
+				intern(strings, path),
+				intern(strings, path),
+				type.getFlags(),
+				false);
+	}
+
+	private static boolean qualifierMatches(TypeEntry entry, String qualifier, char[] qualifierChars,
+			boolean caseSensitive) {
+		if (qualifier == null) {
+			return true;
+		}
+		String container = entry.enclosingTypeNames.isEmpty() ? entry.packageName
+				: entry.packageName.isEmpty() ? entry.enclosingTypeNames
+						: entry.packageName + '.' + entry.enclosingTypeNames;
+		if (qualifierChars != null) {
+			return CharOperation.match(qualifierChars, container.toCharArray(), caseSensitive);
+		}
+		return caseSensitive ? container.equals(qualifier) : container.equalsIgnoreCase(qualifier);
+	}
+
+	/**
+	 * Returns the index of the first entry not ordered before the given prefix.
+	 */
+	private static int lowerBound(TypeEntry[] sorted, String prefix) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (String.CASE_INSENSITIVE_ORDER.compare(sorted[mid].simpleName, prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static String literalPrefix(String pattern) {
+		int end = 0;
+		while (end < pattern.length() && pattern.charAt(end) != '*' && pattern.charAt(end) != '?') {
+			end++;
+		}
+		return pattern.substring(0, end);
+	}
+
+	private static String intern(Map<String, String> strings, String value) {
+		String existing = strings.putIfAbsent(value, value);
+		return existing != null ? existing : value;
+	}
+
+	/**
+	 * Writes the entries with a shared string table; package names, projects and archive paths
+	 * repeat for most entries.
+	 */
+	private void writeSnapshot(TypeEntry[] snapshot) throws IOException {
+		Map<String, Integer> table = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		int[] refs = new int[snapshot.length * 7];
+		int r = 0;
+		for (TypeEntry entry : snapshot) {
+			for (String value : new String[] { entry.simpleName, entry.packageName, entry.enclosingTypeNames,
+					entry.projectName, entry.fileName, entry.filePath, entry.container }) {
+				Integer index = table.get(value);
+				if (index == null) {
+					index = strings.size();
+					table.put(value, index);
+					strings.add(value);
+				}
+				refs[r++] = index;
+			}
+		}
+
+		File temp = new File(snapshotFile.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(strings.size());
+			for (String value : strings) {
+				out.writeUTF(value);
+			}
+			out.writeInt(snapshot.length);
+			r = 0;
+			for (TypeEntry entry : snapshot) {
+				for (int i = 0; i < 7; i++) {
+					out.writeInt(refs[r++]);
+				}
+				out.writeInt(entry.modifiers);
+				out.writeBoolean(entry.binary);
+			}
+		}
+		if (!temp.renameTo(snapshotFile)) {
+			snapshotFile.delete();
+			if (!temp.renameTo(snapshotFile)) {
+				throw new IOException("Cannot replace " + snapshotFile);
+			}
+		}
+	}
+
+	private TypeEntry[] readSnapshot() throws IOException {
+		if (!snapshotFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			// Counts are checked against the file size, so a corrupt one cannot allocate huge arrays
+			long size = snapshotFile.length();
+			String[] strings = new String[readCount(in, size, 2)];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+			TypeEntry[] snapshot = new TypeEntry[readCount(in, size, 33)];
+			for (int i = 0; i < snapshot.length; i++) {
+				snapshot[i] = new TypeEntry(
+						readString(in, strings), readString(in, strings), readString(in, strings),
+						readString(in, strings), readString(in, strings), readString(in, strings),
+						readString(in, strings), in.readInt(), in.readBoolean());
+			}
+			return snapshot;
+		}
+	}
+
+	private static int readCount(DataInputStream in, long fileSize, int minBytesPerItem) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || (long) count * minBytesPerItem > fileSize) {
+			throw new IOException("Corrupt snapshot: invalid count " + count);
+		}
+		return count;
+	}
+
+	private static String readString(DataInputStream in, String[] strings) throws IOException {
+		int index = in.readInt();
+		if (index < 0 || index >= strings.length) {
+			throw new IOException("Corrupt snapshot: invalid string reference " + index);
+		}
+		return strings[index];
+	}
+
+	private class RebuildJob extends Job {
+
+		RebuildJob() {
+			super("Indexing Java type names for MCP");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+			setRule(indexRule);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				rebuild(monitor);
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (CoreException e) {
+				return e.getStatus();
+			}
+		}
+	}
+
+	private class UpdateJob extends Job {
+
+		UpdateJob() {
+			super("Updating MCP type name index");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+			setRule(indexRule);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update(monitor);
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+		}
+
+		@Override
+		public boolean shouldRun() {
+			return rebuildJob.getState() == Job.NONE;
+		}
+	}
+
+	private static final class IndexRule implements ISchedulingRule {
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule == this;
+		}
+	}
+}
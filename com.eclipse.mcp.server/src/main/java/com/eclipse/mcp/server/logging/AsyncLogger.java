@@ -0,0 +1,320 @@
+package com.eclipse.mcp.server.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server log that keeps formatting and file I/O off the request threads.
+ * <p>
+ * Callers only check the level and append an entry to a bounded ring buffer; a single writer
+ * thread drains the buffer in batches, writes each batch with one channel write and forces it to
+ * disk at most once per {@link #SYNC_INTERVAL_MS}. When the buffer is full new entries are dropped
+ * and the writer reports how many were lost, so a burst of traffic never blocks a request.
+ * <p>
+ * Payloads are copied up to {@code maxPayloadBytes} at the call site, since the caller may reuse
+ * its buffer, and logged as-is instead of being re-parsed. The file is rotated when it exceeds
+ * {@code maxFileBytes} or when the day changes, keeping {@code maxFiles} old files as
+ * {@code <name>.1} (newest) to {@code <name>.<maxFiles>}.
+ */
+public class AsyncLogger {
+
+	private static final int BUFFER_CAPACITY = 8192;
+	private static final long SYNC_INTERVAL_MS = 1000;
+	private static final long CLOSE_TIMEOUT_MS = 2000;
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+	private final Path file;
+	private final int maxFiles;
+	private final long maxFileBytes;
+	private volatile int maxPayloadBytes;
+	private volatile LogLevel level;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Entry[] ring = new Entry[BUFFER_CAPACITY];
+	private int head;
+	private int count;
+	private long dropped;
+	private boolean stopped;
+
+	private final Thread writer;
+	private final ZoneId zone = ZoneId.systemDefault();
+	private FileChannel channel;
+	private LocalDate channelDate;
+	private long channelSize;
+	private boolean dirty;
+	private long lastSync;
+
+	public AsyncLogger(Path file, LogLevel level, int maxPayloadBytes, long maxFileBytes, int maxFiles) {
+		this.file = file;
+		this.level = level;
+		this.maxPayloadBytes = maxPayloadBytes;
+		this.maxFileBytes = maxFileBytes;
+		this.maxFiles = maxFiles;
+		this.writer = new Thread(this::drain, "MCP log writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	public LogLevel getLevel() {
+		return level;
+	}
+
+	public void setLevel(LogLevel level) {
+		this.level = level;
+	}
+
+	public void setMaxPayloadBytes(int maxPayloadBytes) {
+		this.maxPayloadBytes = maxPayloadBytes;
+	}
+
+	public boolean isEnabled(LogLevel messageLevel) {
+		return messageLevel != LogLevel.OFF && messageLevel.ordinal() <= level.ordinal();
+	}
+
+	public void log(LogLevel messageLevel, String category, String message) {
+		if (isEnabled(messageLevel)) {
+			enqueue(new Entry(System.currentTimeMillis(), category, message, null, 0));
+		}
+	}
+
+	/**
+	 * Logs a message payload, truncated to the configured maximum size.
+	 */
+	public void logPayload(LogLevel messageLevel, String category, byte[] data, int offset, int length) {
+		logPayload(messageLevel, category, null, data, offset, length);
+	}
+
+	/**
+	 * Logs a message followed by a payload, truncated to the configured maximum size.
+	 */
+	public void logPayload(LogLevel messageLevel, String category, String message, byte[] data, int offset,
+			int length) {
+		if (!isEnabled(messageLevel)) {
+			return;
+		}
+		byte[] copy = new byte[Math.min(length, Math.max(0, maxPayloadBytes))];
+		System.arraycopy(data, offset, copy, 0, copy.length);
+		enqueue(new Entry(System.currentTimeMillis(), category, message, copy, length));
+	}
+
+	/**
+	 * Writes out all pending entries and closes the file.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			stopped = true;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			writer.join(CLOSE_TIMEOUT_MS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void enqueue(Entry entry) {
+		lock.lock();
+		try {
+			if (stopped) {
+				return;
+			}
+			if (count == ring.length) {
+				dropped++;
+				return;
+			}
+			ring[(head + count) % ring.length] = entry;
+			count++;
+			if (count == 1) {
+				notEmpty.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void drain() {
+		List<Entry> batch = new ArrayList<>();
+		StringBuilder text = new StringBuilder();
+		while (true) {
+			long lost;
+			boolean done;
+			lock.lock();
+			try {
+				while (count == 0 && !stopped) {
+					if (!dirty) {
+						notEmpty.await();
+					} else if (!notEmpty.await(SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+						break;
+					}
+				}
+				while (count > 0) {
+					batch.add(ring[head]);
+					ring[head] = null;
+					head = (head + 1) % ring.length;
+					count--;
+				}
+				lost = dropped;
+				dropped = 0;
+				done = stopped;
+			} catch (InterruptedException e) {
+				lost = 0;
+				done = true;
+			} finally {
+				lock.unlock();
+			}
+
+			if (lost > 0) {
+				batch.add(new Entry(System.currentTimeMillis(), "LOG", lost + " log entries dropped, buffer full", null, 0));
+			}
+			write(batch, text);
+			batch.clear();
+			if (done || System.currentTimeMillis() - lastSync >= SYNC_INTERVAL_MS) {
+				sync();
+			}
+			if (done) {
+				closeChannel();
+				return;
+			}
+		}
+	}
+
+	private void write(List<Entry> batch, StringBuilder text) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(batch.get(0).time), zone);
+		for (Entry entry : batch) {
+			format(entry, text);
+		}
+		byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+		text.setLength(0);
+
+		try {
+			if (channel == null || !date.equals(channelDate) || channelSize + bytes.length > maxFileBytes) {
+				openChannel(date, bytes.length);
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channelSize += bytes.length;
+			dirty = true;
+		} catch (IOException e) {
+			closeChannel();
+			System.out.print(new String(bytes, StandardCharsets.UTF_8));
+		}
+	}
+
+	private void format(Entry entry, StringBuilder text) {
+		text.append(TIME_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.time), zone)));
+		text.append(" [").append(entry.category).append(']');
+		if (entry.message != null) {
+			text.append(' ').append(entry.message);
+		}
+		if (entry.payload != null) {
+			text.append(' ').append(new String(entry.payload, StandardCharsets.UTF_8));
+			if (entry.payloadLength > entry.payload.length) {
+				text.append(" ... (truncated, ").append(entry.payloadLength).append(" bytes)");
+			}
+		}
+		text.append(System.lineSeparator());
+	}
+
+	/**
+	 * Opens the log file for appending, first rotating it if it is from an earlier day or would
+	 * grow past the size limit.
+	 */
+	private void openChannel(LocalDate date, int pendingBytes) throws IOException {
+		closeChannel();
+		Files.createDirectories(file.getParent());
+		if (Files.exists(file)) {
+			LocalDate fileDate = LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), zone);
+			long size = Files.size(file);
+			if (!fileDate.equals(date) || (size > 0 && size + pendingBytes > maxFileBytes)) {
+				rotate();
+			}
+		}
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		channelDate = date;
+		channelSize = channel.size();
+	}
+
+	private void rotate() throws IOException {
+		if (maxFiles <= 0) {
+			Files.delete(file);
+			return;
+		}
+		Path directory = file.getParent();
+		String name = file.getFileName().toString();
+		Files.deleteIfExists(directory.resolve(name + "." + maxFiles));
+		for (int i = maxFiles - 1; i >= 1; i--) {
+			Path older = directory.resolve(name + "." + i);
+			if (Files.exists(older)) {
+				Files.move(older, directory.resolve(name + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		Files.move(file, directory.resolve(name + ".1"), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void sync() {
+		lastSync = System.currentTimeMillis();
+		if (channel == null || !dirty) {
+			return;
+		}
+		try {
+			channel.force(false);
+		} catch (IOException e) {
+			// Written data stays in the OS cache
+		}
+		dirty = false;
+	}
+
+	private void closeChannel() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Ignore
+		}
+		channel = null;
+		dirty = false;
+	}
+
+	private static final class Entry {
+		final long time;
+		final String category;
+		final String message;
+		final byte[] payload;
+		final int payloadLength;
+
+		Entry(long time, String category, String message, byte[] payload, int payloadLength) {
+			this.time = time;
+			this.category = category;
+			this.message = message;
+			this.payload = payload;
+			this.payloadLength = payloadLength;
+		}
+	}
+}
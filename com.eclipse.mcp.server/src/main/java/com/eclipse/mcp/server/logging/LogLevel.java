@@ -0,0 +1,29 @@
+package com.eclipse.mcp.server.logging;
+
+/**
+ * Verbosity of the server log. Each level includes everything logged at the levels above it.
+ */
+public enum LogLevel {
+	/** Nothing is logged. */
+	OFF,
+	/** Failed requests, unparseable messages and I/O errors. */
+	ERROR,
+	/** Server lifecycle, connections and one line per request and result. */
+	INFO,
+	/** Additionally the JSON payload of every message received and sent. */
+	DEBUG;
+
+	/**
+	 * Parses a level name, falling back to {@code defaultLevel} for unknown or empty values.
+	 */
+	public static LogLevel parse(String name, LogLevel defaultLevel) {
+		if (name == null || name.isBlank()) {
+			return defaultLevel;
+		}
+		try {
+			return valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return defaultLevel;
+		}
+	}
+}
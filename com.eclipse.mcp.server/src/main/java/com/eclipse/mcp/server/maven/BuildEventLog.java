@@ -0,0 +1,139 @@
+package com.eclipse.mcp.server.maven;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import com.eclipse.mcp.server.execution.ToolContext;
+
+/**
+ * Follows an embedded Maven build through its lifecycle events.
+ * <p>
+ * The embedded build logs to the m2e console rather than to a stream we own, so the log kept here
+ * is built from the events: one line per project and mojo, plus the failure message. Only the
+ * last {@link #MAX_LINES} lines are kept. Each line is also reported as progress. Before each mojo
+ * the build is stopped if the tool was cancelled or its budget ran out; the mojo that was running
+ * completes first.
+ */
+public class BuildEventLog extends AbstractExecutionListener {
+
+	private static final int MAX_LINES = 200;
+
+	private final ToolContext context;
+	private final String module;
+	private final AtomicInteger mojosStarted;
+	private final Deque<String> lines = new ArrayDeque<>();
+	private int droppedLines;
+	private volatile boolean stopped;
+	private Map<String, Object> failedMojo;
+
+	public BuildEventLog(ToolContext context) {
+		this(context, null, new AtomicInteger());
+	}
+
+	/**
+	 * Creates the log of one module of a larger build. Progress is reported with the mojo count of
+	 * the whole build and lines prefixed with the module name.
+	 */
+	public BuildEventLog(ToolContext context, String module, AtomicInteger mojosStarted) {
+		this.context = context;
+		this.module = module;
+		this.mojosStarted = mojosStarted;
+	}
+
+	@Override
+	public void projectStarted(ExecutionEvent event) {
+		MavenProject project = event.getProject();
+		add("Building " + project.getName() + " " + project.getVersion());
+	}
+
+	@Override
+	public void mojoStarted(ExecutionEvent event) {
+		if (context.getMonitor().isCanceled() || context.isBudgetExhausted()) {
+			stopped = true;
+			throw new OperationCanceledException();
+		}
+		mojosStarted.incrementAndGet();
+		MojoExecution mojo = event.getMojoExecution();
+		add("--- " + mojo.getArtifactId() + ":" + mojo.getVersion() + ":" + mojo.getGoal() + " ("
+			+ mojo.getExecutionId() + ") @ " + event.getProject().getArtifactId() + " ---");
+	}
+
+	@Override
+	public void mojoFailed(ExecutionEvent event) {
+		MojoExecution mojo = event.getMojoExecution();
+		String message = event.getException() != null ? event.getException().getMessage() : null;
+		synchronized (this) {
+			if (failedMojo == null) {
+				failedMojo = new LinkedHashMap<>();
+				failedMojo.put("plugin", mojo.getGroupId() + ":" + mojo.getArtifactId() + ":" + mojo.getVersion());
+				failedMojo.put("goal", mojo.getGoal());
+				failedMojo.put("executionId", mojo.getExecutionId());
+				failedMojo.put("project", event.getProject().getArtifactId());
+				failedMojo.put("message", message);
+			}
+		}
+		add("[ERROR] " + mojo.getArtifactId() + ":" + mojo.getGoal() + " failed: " + message);
+	}
+
+	@Override
+	public void projectSucceeded(ExecutionEvent event) {
+		add("BUILD SUCCESS " + event.getProject().getArtifactId());
+	}
+
+	@Override
+	public void projectFailed(ExecutionEvent event) {
+		add("BUILD FAILURE " + event.getProject().getArtifactId());
+	}
+
+	@Override
+	public void projectSkipped(ExecutionEvent event) {
+		add("SKIPPED " + event.getProject().getArtifactId());
+	}
+
+	/**
+	 * Adds a line of its own, like an error outside any mojo.
+	 */
+	public void add(String line) {
+		synchronized (this) {
+			if (lines.size() == MAX_LINES) {
+				lines.removeFirst();
+				droppedLines++;
+			}
+			lines.addLast(line);
+		}
+		context.reportProgress(mojosStarted.get(), 0, module != null ? "[" + module + "] " + line : line);
+	}
+
+	/**
+	 * Returns whether the build was stopped for cancellation or an exhausted budget.
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	public synchronized Map<String, Object> getFailedMojo() {
+		return failedMojo;
+	}
+
+	public synchronized List<String> getLines() {
+		return new ArrayList<>(lines);
+	}
+
+	/**
+	 * Returns how many lines were dropped from the start of the log.
+	 */
+	public synchronized int getDroppedLines() {
+		return droppedLines;
+	}
+}
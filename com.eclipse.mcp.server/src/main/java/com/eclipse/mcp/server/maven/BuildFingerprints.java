@@ -0,0 +1,180 @@
+package com.eclipse.mcp.server.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Fingerprints of the inputs of module builds that succeeded, persisted across sessions, so that
+ * a build of unchanged modules can be skipped.
+ * <p>
+ * A fingerprint covers the goals, the path and modification stamp of every file of the project
+ * except the build directory, nested modules and derived or team-private resources, and the
+ * fingerprints of the modules it depends on, so a change also invalidates everything downstream.
+ * Next to it, the state of the build directory after the build is recorded, so a build whose
+ * outputs were removed since, by a {@code clean} or outside Eclipse, is not skipped. Keys are
+ * {@code project/goals}; the file is a plain properties file in the plug-in state location.
+ */
+public class BuildFingerprints {
+
+	private static final String POM_FILE = "pom.xml";
+
+	private final File file;
+	private final Properties fingerprints = new Properties();
+
+	public BuildFingerprints(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Loads the persisted fingerprints. A missing or unreadable file leaves the store empty.
+	 */
+	public synchronized void start() {
+		if (!file.isFile()) {
+			return;
+		}
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			fingerprints.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			fingerprints.clear();
+		}
+	}
+
+	/**
+	 * Returns whether the last successful build of the module with these goals had the same inputs
+	 * and left the build directory as it is now.
+	 */
+	public synchronized boolean isUnchanged(String projectName, List<String> goals, String fingerprint,
+			String outputs) {
+		return (fingerprint + " " + outputs).equals(fingerprints.getProperty(getKey(projectName, goals)));
+	}
+
+	/**
+	 * Records the fingerprint of a successful build and the state of the build directory it left,
+	 * and saves the store.
+	 */
+	public synchronized void record(String projectName, List<String> goals, String fingerprint, String outputs) {
+		fingerprints.setProperty(getKey(projectName, goals), fingerprint + " " + outputs);
+		save();
+	}
+
+	/**
+	 * Forgets the module's last build with these goals, after it failed.
+	 */
+	public synchronized void remove(String projectName, List<String> goals) {
+		if (fingerprints.remove(getKey(projectName, goals)) != null) {
+			save();
+		}
+	}
+
+	/**
+	 * Computes the fingerprint of the project's current inputs. The workspace must be in sync
+	 * with the file system for the result to be accurate.
+	 *
+	 * @param buildDirectory workspace path of the build output directory, or {@code null}
+	 * @param upstream fingerprints of the modules the project depends on, by module name
+	 */
+	public static String compute(IProject project, IPath buildDirectory, List<String> goals,
+			Map<String, String> upstream) throws CoreException {
+		List<String> entries = new ArrayList<>();
+		project.accept((IResourceProxy proxy) -> {
+			if (proxy.isDerived() || proxy.isTeamPrivateMember()) {
+				return false;
+			}
+			if (proxy.getType() == IResource.FILE) {
+				entries.add(proxy.requestFullPath().toString() + ":" + proxy.getModificationStamp());
+				return false;
+			}
+			if (proxy.getType() == IResource.FOLDER
+					&& ((IFolder) proxy.requestResource()).getFile(POM_FILE).exists()) {
+				// A module of its own, fingerprinted separately
+				return false;
+			}
+			return buildDirectory == null || !buildDirectory.equals(proxy.requestFullPath());
+		}, IResource.NONE);
+		entries.sort(null);
+
+		MessageDigest digest = newDigest();
+		update(digest, String.join(" ", goals));
+		for (String entry : entries) {
+			update(digest, entry);
+		}
+		upstream.entrySet().stream().sorted(Map.Entry.comparingByKey())
+			.forEach(entry -> update(digest, entry.getKey() + "=" + entry.getValue()));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Computes a stamp of the build directory: whether it exists and the name, size and modification
+	 * time of each of its entries. Deleting the directory or one of its outputs changes the stamp.
+	 *
+	 * @param buildDirectory file system location of the build directory, or {@code null}
+	 */
+	public static String computeOutputs(File buildDirectory) {
+		if (buildDirectory == null) {
+			return "none";
+		}
+		File[] children = buildDirectory.listFiles();
+		if (children == null) {
+			return "missing";
+		}
+		List<String> entries = new ArrayList<>();
+		for (File child : children) {
+			entries.add(child.getName() + ":" + child.length() + ":" + child.lastModified());
+		}
+		entries.sort(null);
+
+		MessageDigest digest = newDigest();
+		for (String entry : entries) {
+			update(digest, entry);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	private static String getKey(String projectName, List<String> goals) {
+		return projectName + "/" + String.join(" ", goals);
+	}
+
+	private void save() {
+		File temp = new File(file.getPath() + ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+				fingerprints.store(out, "Input fingerprints of successful module builds");
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			temp.delete();
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package com.eclipse.mcp.server.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+/**
+ * Resolved dependencies and effective classpath of Maven projects, computed once and reused.
+ * <p>
+ * An entry is keyed by project and stamped with a hash of its {@code pom.xml} content, so an edited
+ * POM is never answered from the cache even before m2e has read it again. All entries are dropped
+ * whenever m2e reports a changed project, since a change in one project, a parent or a workspace
+ * dependency, can change the resolution of others.
+ */
+public class DependencyCache implements IMavenProjectChangedListener {
+
+	/**
+	 * The resolved dependencies of one project. Maps and lists are shared; do not modify them.
+	 */
+	public static final class Dependencies {
+
+		private final String pomHash;
+		private final List<Map<String, Object>> artifacts;
+		private final Map<String, Object> tree;
+		private final List<Map<String, Object>> classpath;
+
+		Dependencies(String pomHash, List<Map<String, Object>> artifacts, Map<String, Object> tree,
+				List<Map<String, Object>> classpath) {
+			this.pomHash = pomHash;
+			this.artifacts = artifacts;
+			this.tree = tree;
+			this.classpath = classpath;
+		}
+
+		/**
+		 * Returns every resolved artifact with its scope, file and the path of artifacts through
+		 * which it was pulled in.
+		 */
+		public List<Map<String, Object>> getArtifacts() {
+			return artifacts;
+		}
+
+		/**
+		 * Returns the dependency tree, rooted at the project itself.
+		 */
+		public Map<String, Object> getTree() {
+			return tree;
+		}
+
+		/**
+		 * Returns the resolved classpath entries of the Java project, empty for other projects.
+		 */
+		public List<Map<String, Object>> getClasspath() {
+			return classpath;
+		}
+	}
+
+	private final Map<String, Dependencies> entries = new ConcurrentHashMap<>();
+	// Incremented on every change, so a result computed before a change is never stored after it
+	private final AtomicLong generation = new AtomicLong();
+
+	public void start() {
+		MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(this);
+	}
+
+	public void stop() {
+		MavenPlugin.getMavenProjectRegistry().removeMavenProjectChangedListener(this);
+		entries.clear();
+	}
+
+	@Override
+	public void mavenProjectChanged(List<MavenProjectChangedEvent> events, IProgressMonitor monitor) {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns whether the project's dependencies are cached for its current POM.
+	 */
+	public boolean isCached(IMavenProjectFacade facade) {
+		Dependencies cached = entries.get(facade.getProject().getName());
+		return cached != null && cached.pomHash.equals(hash(facade.getPom()));
+	}
+
+	/**
+	 * Returns the project's dependencies, computing them if the POM changed since they were cached.
+	 */
+	public Dependencies get(IMavenProjectFacade facade, IProgressMonitor monitor) throws CoreException {
+		String projectName = facade.getProject().getName();
+		String pomHash = hash(facade.getPom());
+		Dependencies cached = entries.get(projectName);
+		if (cached != null && cached.pomHash.equals(pomHash)) {
+			return cached;
+		}
+		long computedGeneration = generation.get();
+		Dependencies computed = compute(facade, pomHash, monitor);
+		synchronized (entries) {
+			if (generation.get() == computedGeneration) {
+				entries.put(projectName, computed);
+			}
+		}
+		return computed;
+	}
+
+	private Dependencies compute(IMavenProjectFacade facade, String pomHash, IProgressMonitor monitor)
+			throws CoreException {
+		MavenProject mavenProject = facade.getMavenProject(monitor);
+		String rootId = mavenProject.getArtifact().getId();
+
+		List<Map<String, Object>> artifacts = new ArrayList<>();
+		Map<String, List<Map<String, Object>>> children = new HashMap<>();
+		Map<String, String> idByFile = new HashMap<>();
+		for (Artifact artifact : mavenProject.getArtifacts()) {
+			List<String> trail = artifact.getDependencyTrail();
+			List<String> via = trail != null && trail.size() > 2
+				? List.copyOf(trail.subList(1, trail.size() - 1))
+				: List.of();
+
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("groupId", artifact.getGroupId());
+			entry.put("artifactId", artifact.getArtifactId());
+			entry.put("version", artifact.getVersion());
+			entry.put("type", artifact.getType());
+			if (artifact.getClassifier() != null) {
+				entry.put("classifier", artifact.getClassifier());
+			}
+			entry.put("scope", artifact.getScope());
+			entry.put("optional", artifact.isOptional());
+			entry.put("direct", via.isEmpty());
+			if (!via.isEmpty()) {
+				entry.put("via", via);
+			}
+			if (artifact.getFile() != null) {
+				entry.put("file", artifact.getFile().getAbsolutePath());
+				idByFile.put(artifact.getFile().getAbsolutePath(), artifact.getId());
+			}
+			artifacts.add(Collections.unmodifiableMap(entry));
+
+			Map<String, Object> node = new LinkedHashMap<>();
+			node.put("id", artifact.getId());
+			node.put("scope", artifact.getScope());
+			String parentId = via.isEmpty() ? rootId : via.get(via.size() - 1);
+			children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(node);
+		}
+
+		Map<String, Object> tree = new LinkedHashMap<>();
+		tree.put("id", rootId);
+		attachChildren(tree, children);
+
+		return new Dependencies(pomHash, List.copyOf(artifacts), tree, getClasspath(facade, idByFile));
+	}
+
+	private void attachChildren(Map<String, Object> node, Map<String, List<Map<String, Object>>> children) {
+		List<Map<String, Object>> nodeChildren = children.remove((String) node.get("id"));
+		if (nodeChildren == null) {
+			return;
+		}
+		node.put("children", nodeChildren);
+		for (Map<String, Object> child : nodeChildren) {
+			attachChildren(child, children);
+		}
+	}
+
+	private List<Map<String, Object>> getClasspath(IMavenProjectFacade facade, Map<String, String> idByFile)
+			throws CoreException {
+		IJavaProject javaProject = JavaCore.create(facade.getProject());
+		if (!javaProject.exists()) {
+			return List.of();
+		}
+		List<Map<String, Object>> classpath = new ArrayList<>();
+		for (IClasspathEntry classpathEntry : javaProject.getResolvedClasspath(true)) {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("kind", getKind(classpathEntry));
+			IPath path = classpathEntry.getPath();
+			entry.put("path", path.toString());
+			if (classpathEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+				String artifact = idByFile.get(path.toFile().getAbsolutePath());
+				if (artifact != null) {
+					entry.put("artifact", artifact);
+				}
+			}
+			entry.put("test", classpathEntry.isTest());
+			classpath.add(Collections.unmodifiableMap(entry));
+		}
+		return List.copyOf(classpath);
+	}
+
+	private String getKind(IClasspathEntry entry) {
+		return switch (entry.getEntryKind()) {
+			case IClasspathEntry.CPE_SOURCE -> "source";
+			case IClasspathEntry.CPE_PROJECT -> "project";
+			case IClasspathEntry.CPE_LIBRARY -> "library";
+			default -> "other";
+		};
+	}
+
+	private static String hash(IFile pom) {
+		IPath location = pom.getLocation();
+		if (location == null) {
+			return "";
+		}
+		try {
+			byte[] content = Files.readAllBytes(location.toFile().toPath());
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (IOException | NoSuchAlgorithmException e) {
+			// Unreadable POM: never matches a cached entry
+			return "unreadable:" + System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.eclipse.mcp.server.maven;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.Maven;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+
+/**
+ * Runs Maven builds inside m2e's embedded Maven runtime.
+ * <p>
+ * The embedder reuses m2e's container, so there is no JVM or plexus startup per build. Each call
+ * gets its own execution context for the project, with the workspace's Maven settings and m2e's
+ * workspace resolution, so dependencies on other workspace projects resolve to those projects
+ * rather than to whatever was last installed in the local repository. Contexts are bound to the
+ * calling thread, so several builds may run at once on different threads.
+ */
+public final class EmbeddedMaven {
+
+	private EmbeddedMaven() {
+	}
+
+	/**
+	 * Runs the goals on the project's POM.
+	 *
+	 * @param recursive whether to build the modules listed in the POM too, or only the POM itself
+	 */
+	public static MavenExecutionResult execute(IMavenProjectFacade facade, List<String> goals, boolean recursive,
+			ExecutionListener listener, IProgressMonitor monitor) throws CoreException {
+		return MavenPlugin.getMavenProjectRegistry().execute(facade, (context, contextMonitor) -> {
+			// The context's request carries the project's workspace reader, the copy keeps it
+			MavenExecutionRequest request = DefaultMavenExecutionRequest.copy(context.getExecutionRequest());
+			File pom = facade.getPomFile();
+			request.setPom(pom);
+			request.setBaseDirectory(pom.getParentFile());
+			request.setGoals(new ArrayList<>(goals));
+			request.setRecursive(recursive);
+			request.setInteractiveMode(false);
+			request.setExecutionListener(listener);
+			Maven maven = context.getComponentLookup().lookup(Maven.class);
+			return maven.execute(request);
+		}, monitor);
+	}
+}
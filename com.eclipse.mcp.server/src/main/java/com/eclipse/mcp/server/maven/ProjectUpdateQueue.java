@@ -0,0 +1,158 @@
+package com.eclipse.mcp.server.maven;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.MavenUpdateRequest;
+
+/**
+ * Coalesces Maven project updates requested in quick succession into one update.
+ * <p>
+ * Requests are collected until none has arrived for {@link #DEBOUNCE_MS}, or at most
+ * {@link #MAX_DELAY_MS} after the first one, and then run as a single background job over all
+ * requested projects, so an agent editing several POMs in a row causes one update instead of
+ * one per POM. A batch is offline only if all its requests are, and forces a dependency update if
+ * any of them does. Requests arriving while a batch runs start the next batch.
+ */
+public class ProjectUpdateQueue {
+
+	static final long DEBOUNCE_MS = 500;
+	static final long MAX_DELAY_MS = 2000;
+
+	/**
+	 * Outcome of a batch: the status of every project updated, by project name.
+	 */
+	public static final class Result {
+
+		private final Map<String, IStatus> statuses;
+		private final int batchSize;
+
+		Result(Map<String, IStatus> statuses, int batchSize) {
+			this.statuses = statuses;
+			this.batchSize = batchSize;
+		}
+
+		/**
+		 * Returns the status of the project, or {@code null} if it was not updated.
+		 */
+		public IStatus getStatus(String projectName) {
+			return statuses.get(projectName);
+		}
+
+		/**
+		 * Returns the number of projects updated in the batch, including other requests' projects.
+		 */
+		public int getBatchSize() {
+			return batchSize;
+		}
+	}
+
+	private final UpdateJob job = new UpdateJob();
+	private Batch pending;
+
+	/**
+	 * Queues an update of the projects. The returned future completes when the batch containing
+	 * them has run.
+	 */
+	public CompletableFuture<Result> submit(Collection<IProject> projects, boolean offline, boolean forceUpdate) {
+		CompletableFuture<Result> future;
+		long delay;
+		synchronized (this) {
+			if (pending == null) {
+				pending = new Batch(System.currentTimeMillis());
+			}
+			pending.add(projects, offline, forceUpdate);
+			future = pending.future;
+			delay = Math.max(0, Math.min(DEBOUNCE_MS, pending.created + MAX_DELAY_MS - System.currentTimeMillis()));
+		}
+		// Rescheduling a sleeping job restarts its delay
+		job.schedule(delay);
+		return future;
+	}
+
+	/**
+	 * Cancels the pending batch and the running update.
+	 */
+	public void stop() {
+		job.cancel();
+		Batch batch;
+		synchronized (this) {
+			batch = pending;
+			pending = null;
+		}
+		if (batch != null) {
+			batch.future.completeExceptionally(new OperationCanceledException());
+		}
+	}
+
+	private synchronized Batch takePending() {
+		Batch batch = pending;
+		pending = null;
+		return batch;
+	}
+
+	private static final class Batch {
+
+		final long created;
+		final Map<String, IProject> projects = new LinkedHashMap<>();
+		final CompletableFuture<Result> future = new CompletableFuture<>();
+		boolean offline = true;
+		boolean forceUpdate;
+
+		Batch(long created) {
+			this.created = created;
+		}
+
+		void add(Collection<IProject> added, boolean addedOffline, boolean addedForceUpdate) {
+			for (IProject project : added) {
+				projects.put(project.getName(), project);
+			}
+			offline &= addedOffline;
+			forceUpdate |= addedForceUpdate;
+		}
+	}
+
+	private final class UpdateJob extends Job {
+
+		UpdateJob() {
+			super("Updating Maven projects for MCP");
+			setSystem(true);
+			setRule(ResourcesPlugin.getWorkspace().getRoot());
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Batch batch = takePending();
+			if (batch == null) {
+				return Status.OK_STATUS;
+			}
+			List<IProject> projects = new ArrayList<>(batch.projects.values());
+			try {
+				MavenUpdateRequest request = new MavenUpdateRequest(projects, batch.offline, batch.forceUpdate);
+				// Failures are reported per project in the returned statuses
+				Map<String, IStatus> statuses = MavenPlugin.getProjectConfigurationManager()
+					.updateProjectConfiguration(request, true, false, true, monitor);
+				batch.future.complete(new Result(statuses, projects.size()));
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				batch.future.completeExceptionally(e);
+				return Status.CANCEL_STATUS;
+			} catch (RuntimeException e) {
+				batch.future.completeExceptionally(e);
+				return Status.OK_STATUS;
+			}
+		}
+	}
+}
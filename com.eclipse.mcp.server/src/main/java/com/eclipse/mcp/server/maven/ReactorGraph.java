@@ -0,0 +1,147 @@
+package com.eclipse.mcp.server.maven;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+
+/**
+ * The build order of a set of workspace Maven projects, like the Maven reactor computes it.
+ * <p>
+ * A module depends on another of the set if it names it as parent, dependency (in any scope) or
+ * build plugin. Modules are matched by {@code groupId:artifactId}; references to projects outside
+ * the set are left to normal artifact resolution.
+ */
+public final class ReactorGraph {
+
+	private final Map<String, IMavenProjectFacade> modules;
+	private final Map<String, Set<String>> upstream;
+	private final Map<String, Set<String>> downstream;
+	private final List<String> order;
+
+	private ReactorGraph(Map<String, IMavenProjectFacade> modules, Map<String, Set<String>> upstream,
+			Map<String, Set<String>> downstream, List<String> order) {
+		this.modules = modules;
+		this.upstream = upstream;
+		this.downstream = downstream;
+		this.order = order;
+	}
+
+	/**
+	 * Computes the graph of the given projects.
+	 *
+	 * @throws IllegalArgumentException if the projects depend on each other in a cycle
+	 */
+	public static ReactorGraph create(Collection<IMavenProjectFacade> facades, IProgressMonitor monitor)
+			throws CoreException {
+		Map<String, IMavenProjectFacade> modules = new LinkedHashMap<>();
+		Map<String, MavenProject> projects = new HashMap<>();
+		Map<String, String> moduleByKey = new HashMap<>();
+		for (IMavenProjectFacade facade : facades) {
+			String name = facade.getProject().getName();
+			MavenProject project = facade.getMavenProject(monitor);
+			modules.put(name, facade);
+			projects.put(name, project);
+			moduleByKey.put(project.getGroupId() + ":" + project.getArtifactId(), name);
+		}
+
+		Map<String, Set<String>> upstream = new LinkedHashMap<>();
+		Map<String, Set<String>> downstream = new LinkedHashMap<>();
+		for (String name : modules.keySet()) {
+			Set<String> references = new LinkedHashSet<>();
+			MavenProject project = projects.get(name);
+			Parent parent = project.getModel().getParent();
+			if (parent != null) {
+				references.add(parent.getGroupId() + ":" + parent.getArtifactId());
+			}
+			for (Dependency dependency : project.getDependencies()) {
+				references.add(dependency.getGroupId() + ":" + dependency.getArtifactId());
+			}
+			for (Plugin plugin : project.getBuildPlugins()) {
+				references.add(plugin.getGroupId() + ":" + plugin.getArtifactId());
+			}
+
+			Set<String> dependencies = new LinkedHashSet<>();
+			for (String reference : references) {
+				String dependency = moduleByKey.get(reference);
+				if (dependency != null && !dependency.equals(name)) {
+					dependencies.add(dependency);
+				}
+			}
+			upstream.put(name, dependencies);
+			downstream.computeIfAbsent(name, k -> new LinkedHashSet<>());
+			for (String dependency : dependencies) {
+				downstream.computeIfAbsent(dependency, k -> new LinkedHashSet<>()).add(name);
+			}
+		}
+
+		return new ReactorGraph(modules, upstream, downstream, sort(modules.keySet(), upstream, downstream));
+	}
+
+	private static List<String> sort(Set<String> names, Map<String, Set<String>> upstream,
+			Map<String, Set<String>> downstream) {
+		Map<String, Integer> remaining = new HashMap<>();
+		Deque<String> ready = new ArrayDeque<>();
+		for (String name : names) {
+			remaining.put(name, upstream.get(name).size());
+			if (upstream.get(name).isEmpty()) {
+				ready.add(name);
+			}
+		}
+		List<String> order = new ArrayList<>(names.size());
+		while (!ready.isEmpty()) {
+			String name = ready.poll();
+			order.add(name);
+			for (String dependent : downstream.get(name)) {
+				if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+		if (order.size() < names.size()) {
+			Set<String> cycle = new LinkedHashSet<>(names);
+			cycle.removeAll(order);
+			throw new IllegalArgumentException("Modules depend on each other in a cycle: " + cycle);
+		}
+		return order;
+	}
+
+	/**
+	 * Returns the modules in an order in which each comes after everything it depends on.
+	 */
+	public List<String> getOrder() {
+		return order;
+	}
+
+	public IMavenProjectFacade getFacade(String module) {
+		return modules.get(module);
+	}
+
+	/**
+	 * Returns the modules of the set that the module depends on directly.
+	 */
+	public Set<String> getUpstream(String module) {
+		return upstream.get(module);
+	}
+
+	/**
+	 * Returns the modules of the set that depend on the module directly.
+	 */
+	public Set<String> getDownstream(String module) {
+		return downstream.get(module);
+	}
+}
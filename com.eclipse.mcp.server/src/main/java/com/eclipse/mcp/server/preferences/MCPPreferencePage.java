@@ -1,19 +1,22 @@
 package com.eclipse.mcp.server.preferences;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 
 import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.logging.LogLevel;
 
 public class MCPPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
 
     public MCPPreferencePage() {
         super(GRID);
         setPreferenceStore(Activator.getDefault().getPreferenceStore());
-        setDescription("MCP Server Configuration");
+        setDescription("MCP Server Configuration\nWorker, queue and log file settings take effect after restarting Eclipse.");
     }
 
     @Override
@@ -35,6 +38,72 @@ public class MCPPreferencePage extends FieldEditorPreferencePage implements IWor
             "&Auto-start server on Eclipse startup",
             getFieldEditorParent()
         ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_LIGHT_WORKERS,
+            "&Light request workers:",
+            1, 64
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_HEAVY_WORKERS,
+            "&Heavy request workers:",
+            1, 64
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_QUEUE_CAPACITY,
+            "&Queued requests per lane:",
+            1, 10000
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_CLIENT_QUEUE_CAPACITY,
+            "Queued requests per &client:",
+            1, 10000
+        ));
+
+        addField(new StringFieldEditor(
+            PreferenceInitializer.PREF_TOOL_TIMEOUTS,
+            "Default tool &timeouts (tool=ms, ...):",
+            getFieldEditorParent()
+        ));
+
+        LogLevel[] levels = LogLevel.values();
+        String[][] levelNames = new String[levels.length][];
+        for (int i = 0; i < levels.length; i++) {
+            levelNames[i] = new String[] { levels[i].name(), levels[i].name() };
+        }
+        addField(new ComboFieldEditor(
+            PreferenceInitializer.PREF_LOG_LEVEL,
+            "Log le&vel (DEBUG logs message payloads):",
+            levelNames,
+            getFieldEditorParent()
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_LOG_MAX_PAYLOAD_BYTES,
+            "Logged &payload size limit (bytes):",
+            64, 16 * 1024 * 1024
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_LOG_MAX_FILE_MB,
+            "Log &file size limit (MB):",
+            1, 10000
+        ));
+
+        addField(createIntegerField(
+            PreferenceInitializer.PREF_LOG_MAX_FILES,
+            "&Rotated log files to keep:",
+            1, 100
+        ));
+    }
+
+    private IntegerFieldEditor createIntegerField(String name, String label, int min, int max) {
+        IntegerFieldEditor field = new IntegerFieldEditor(name, label, getFieldEditorParent());
+        field.setValidRange(min, max);
+        return field;
     }
 
     @Override
@@ -4,12 +4,23 @@ import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ToolTimeouts;
+import com.eclipse.mcp.server.logging.LogLevel;
 
 public class PreferenceInitializer extends AbstractPreferenceInitializer {
     
     public static final String PREF_SERVER_PORT = "mcp.server.port";
     public static final String PREF_SERVER_ENABLED = "mcp.server.enabled";
     public static final String PREF_AUTO_START = "mcp.server.autostart";
+    public static final String PREF_LIGHT_WORKERS = "mcp.server.lightWorkers";
+    public static final String PREF_HEAVY_WORKERS = "mcp.server.heavyWorkers";
+    public static final String PREF_QUEUE_CAPACITY = "mcp.server.queueCapacity";
+    public static final String PREF_CLIENT_QUEUE_CAPACITY = "mcp.server.clientQueueCapacity";
+    public static final String PREF_TOOL_TIMEOUTS = "mcp.server.toolTimeouts";
+    public static final String PREF_LOG_LEVEL = "mcp.server.logLevel";
+    public static final String PREF_LOG_MAX_PAYLOAD_BYTES = "mcp.server.logMaxPayloadBytes";
+    public static final String PREF_LOG_MAX_FILE_MB = "mcp.server.logMaxFileMb";
+    public static final String PREF_LOG_MAX_FILES = "mcp.server.logMaxFiles";
 
     @Override
     public void initializeDefaultPreferences() {
@@ -17,5 +28,14 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
         store.setDefault(PREF_SERVER_PORT, 8099);
         store.setDefault(PREF_SERVER_ENABLED, true);
         store.setDefault(PREF_AUTO_START, true);
+        store.setDefault(PREF_LIGHT_WORKERS, 2);
+        store.setDefault(PREF_HEAVY_WORKERS, Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        store.setDefault(PREF_QUEUE_CAPACITY, 256);
+        store.setDefault(PREF_CLIENT_QUEUE_CAPACITY, 32);
+        store.setDefault(PREF_TOOL_TIMEOUTS, ToolTimeouts.DEFAULTS);
+        store.setDefault(PREF_LOG_LEVEL, LogLevel.INFO.name());
+        store.setDefault(PREF_LOG_MAX_PAYLOAD_BYTES, 4096);
+        store.setDefault(PREF_LOG_MAX_FILE_MB, 10);
+        store.setDefault(PREF_LOG_MAX_FILES, 5);
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ public class MCPError {
     public static final int METHOD_NOT_FOUND = -32601;
     public static final int INVALID_PARAMS = -32602;
     public static final int INTERNAL_ERROR = -32603;
+    public static final int SERVER_BUSY = -32000;
     
     @JsonProperty("code")
     private int code;
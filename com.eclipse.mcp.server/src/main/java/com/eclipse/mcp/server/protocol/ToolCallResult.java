@@ -0,0 +1,151 @@
+package com.eclipse.mcp.server.protocol;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Result of a {@code tools/call} request: the tool's return value as JSON text in a single text
+ * content item.
+ * <p>
+ * MCP wants the tool output as a string, i.e. JSON inside a JSON string. Instead of serializing
+ * the value to a {@code String} and letting the envelope escape it again, the serializer writes
+ * the value with a second generator whose output is escaped on the fly and appended raw to the
+ * envelope's generator, so the value is serialized once and never held as text.
+ */
+@JsonSerialize(using = ToolCallResult.Serializer.class)
+public class ToolCallResult {
+
+    private final Object value;
+
+    public ToolCallResult(Object value) {
+        this.value = value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public static class Serializer extends JsonSerializer<ToolCallResult> {
+
+        private static final ObjectMapper FALLBACK_CODEC = new ObjectMapper();
+
+        @Override
+        public void serialize(ToolCallResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("content");
+            gen.writeStartObject();
+            gen.writeStringField("type", "text");
+            gen.writeFieldName("text");
+
+            ObjectCodec codec = gen.getCodec() != null ? gen.getCodec() : FALLBACK_CODEC;
+            gen.writeRawValue("\"");
+            try (EscapingWriter writer = new EscapingWriter(gen)) {
+                JsonGenerator inner = codec.getFactory().createGenerator(writer);
+                codec.writeValue(inner, result.value);
+                inner.flush();
+            }
+            gen.writeRaw('"');
+
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeBooleanField("isError", false);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Escapes characters for use inside a JSON string and passes them to the target generator as
+     * raw content.
+     */
+    private static final class EscapingWriter extends Writer {
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final JsonGenerator target;
+        private final char[] buffer = new char[8192];
+        private int count;
+
+        EscapingWriter(JsonGenerator target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                escape(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                escape(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            escape((char) c);
+        }
+
+        private void escape(char c) throws IOException {
+            if (count > buffer.length - 6) {
+                flushBuffer(false);
+            }
+            if (c == '"' || c == '\\') {
+                buffer[count++] = '\\';
+                buffer[count++] = c;
+            } else if (c < 0x20) {
+                buffer[count++] = '\\';
+                switch (c) {
+                    case '\n' -> buffer[count++] = 'n';
+                    case '\r' -> buffer[count++] = 'r';
+                    case '\t' -> buffer[count++] = 't';
+                    default -> {
+                        buffer[count++] = 'u';
+                        buffer[count++] = '0';
+                        buffer[count++] = '0';
+                        buffer[count++] = HEX[c >> 4];
+                        buffer[count++] = HEX[c & 0xF];
+                    }
+                }
+            } else {
+                buffer[count++] = c;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushBuffer(true);
+        }
+
+        /**
+         * Passes the buffer to the target. Unless this is the end of the output, a trailing high
+         * surrogate is kept for the next chunk: the target rejects surrogate pairs split across
+         * {@code writeRaw} calls.
+         */
+        private void flushBuffer(boolean end) throws IOException {
+            int length = count;
+            if (!end && length > 0 && Character.isHighSurrogate(buffer[length - 1])) {
+                length--;
+            }
+            if (length > 0) {
+                target.writeRaw(buffer, 0, length);
+                System.arraycopy(buffer, length, buffer, 0, count - length);
+                count -= length;
+            }
+        }
+    }
+}
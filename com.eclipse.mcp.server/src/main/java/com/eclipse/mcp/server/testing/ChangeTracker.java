@@ -0,0 +1,146 @@
+package com.eclipse.mcp.server.testing;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Remembers which workspace files changed since each project's tests last ran, so that
+ * {@code run_tests} can select only the tests impacted by those changes.
+ * <p>
+ * Every file change gets a sequence number. A completed test run records the sequence number
+ * current when it started, together with the classes that failed, which are run again next time
+ * whether or not they are affected. Build output and other derived files are ignored. The state
+ * is not persisted: after a restart each project starts with a full run.
+ */
+public class ChangeTracker implements IResourceChangeListener {
+
+	/**
+	 * Files changed since a project's last run and the classes that failed in it.
+	 */
+	public static final class Changes {
+
+		private final Set<String> files;
+		private final Set<String> failedClasses;
+
+		Changes(Set<String> files, Set<String> failedClasses) {
+			this.files = files;
+			this.failedClasses = failedClasses;
+		}
+
+		/**
+		 * Returns the full workspace paths of the changed, added and removed files.
+		 */
+		public Set<String> getFiles() {
+			return files;
+		}
+
+		public Set<String> getFailedClasses() {
+			return failedClasses;
+		}
+	}
+
+	private static final int CONTENT_FLAGS = IResourceDelta.CONTENT | IResourceDelta.REPLACED
+			| IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO;
+
+	private final Map<String, Long> changedFiles = new HashMap<>();
+	private final Map<String, Long> lastRunSequence = new HashMap<>();
+	private final Map<String, Set<String>> lastRunFailures = new HashMap<>();
+	private long sequence;
+
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		synchronized (this) {
+			changedFiles.clear();
+			lastRunSequence.clear();
+			lastRunFailures.clear();
+		}
+	}
+
+	/**
+	 * Returns the current sequence number, to be passed to {@link #recordRun} once the run that
+	 * starts now has completed.
+	 */
+	public synchronized long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Returns the changes since the project's last recorded run, or {@code null} if it has none.
+	 */
+	public synchronized Changes getChangesSinceLastRun(String projectName) {
+		Long since = lastRunSequence.get(projectName);
+		if (since == null) {
+			return null;
+		}
+		Set<String> files = new LinkedHashSet<>();
+		for (Map.Entry<String, Long> entry : changedFiles.entrySet()) {
+			if (entry.getValue() > since) {
+				files.add(entry.getKey());
+			}
+		}
+		return new Changes(files, new HashSet<>(lastRunFailures.getOrDefault(projectName, Set.of())));
+	}
+
+	/**
+	 * Records a completed run of the project's tests that started at the given sequence number.
+	 */
+	public synchronized void recordRun(String projectName, long startSequence, Set<String> failedClasses) {
+		lastRunSequence.put(projectName, startSequence);
+		lastRunFailures.put(projectName, new HashSet<>(failedClasses));
+
+		// Changes older than every project's last run can no longer be asked for
+		long oldest = Long.MAX_VALUE;
+		for (long runSequence : lastRunSequence.values()) {
+			oldest = Math.min(oldest, runSequence);
+		}
+		long horizon = oldest;
+		changedFiles.values().removeIf(changed -> changed <= horizon);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		Set<String> files = new HashSet<>();
+		try {
+			delta.accept(child -> {
+				IResource resource = child.getResource();
+				if (resource.isDerived() || resource.isTeamPrivateMember()) {
+					return false;
+				}
+				if (resource.getType() == IResource.FILE && !"class".equals(resource.getFileExtension())
+						&& (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & CONTENT_FLAGS) != 0)) {
+					files.add(resource.getFullPath().toString());
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			return;
+		}
+		if (files.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			sequence++;
+			for (String file : files) {
+				changedFiles.put(file, sequence);
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.eclipse.mcp.server.testing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.core.ILaunchManager;
+
+/**
+ * JUnit launch configurations kept in memory and reused across test runs.
+ * <p>
+ * Configurations are never saved, so a run neither writes a {@code .launch} file nor makes the
+ * launch manager notify its listeners. They are keyed by what they run (project, class, method or
+ * shard) and leased to one run at a time, because the JUnit session is named after its
+ * configuration; a concurrent run of the same key gets a second configuration with its own name.
+ * Released configurations stay idle for the next run of their key, and beyond {@link #MAX_IDLE}
+ * the least recently used are dropped.
+ * <p>
+ * Configurations saved by earlier versions under {@link #NAME_PREFIX} are deleted on first use.
+ */
+public class LaunchConfigurationPool {
+
+	public static final String NAME_PREFIX = "MCP-JUnit-";
+
+	private static final String JUNIT_LAUNCH_TYPE = "org.eclipse.jdt.junit.launchconfig";
+	private static final int MAX_IDLE = 32;
+
+	/**
+	 * Sets the attributes of a newly created configuration.
+	 */
+	@FunctionalInterface
+	public interface Initializer {
+		void initialize(ILaunchConfigurationWorkingCopy config) throws CoreException;
+	}
+
+	private final Map<String, Deque<ILaunchConfigurationWorkingCopy>> idle = new LinkedHashMap<>(16, 0.75f, true);
+	private final Set<String> names = new HashSet<>();
+	private final AtomicBoolean legacyRemoved = new AtomicBoolean();
+	private int idleCount;
+
+	/**
+	 * Leases a configuration for the key, reusing an idle one or creating one named
+	 * {@code NAME_PREFIX + key}. It must be given back with {@link #release} after its run.
+	 */
+	public ILaunchConfigurationWorkingCopy acquire(String key, Initializer initializer) throws CoreException {
+		if (legacyRemoved.compareAndSet(false, true)) {
+			removeSavedConfigurations();
+		}
+		String name;
+		synchronized (this) {
+			Deque<ILaunchConfigurationWorkingCopy> configs = idle.get(key);
+			if (configs != null) {
+				ILaunchConfigurationWorkingCopy config = configs.pop();
+				if (configs.isEmpty()) {
+					idle.remove(key);
+				}
+				idleCount--;
+				return config;
+			}
+			name = createName(NAME_PREFIX + key);
+			names.add(name);
+		}
+		try {
+			ILaunchConfigurationWorkingCopy config = getLaunchConfigurationType().newInstance(null, name);
+			initializer.initialize(config);
+			return config;
+		} catch (CoreException | RuntimeException e) {
+			synchronized (this) {
+				names.remove(name);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a leased configuration to the pool for reuse under the same key.
+	 */
+	public synchronized void release(String key, ILaunchConfigurationWorkingCopy config) {
+		idle.computeIfAbsent(key, k -> new ArrayDeque<>()).push(config);
+		idleCount++;
+		while (idleCount > MAX_IDLE) {
+			Iterator<Deque<ILaunchConfigurationWorkingCopy>> eldest = idle.values().iterator();
+			Deque<ILaunchConfigurationWorkingCopy> configs = eldest.next();
+			names.remove(configs.removeLast().getName());
+			if (configs.isEmpty()) {
+				eldest.remove();
+			}
+			idleCount--;
+		}
+	}
+
+	/**
+	 * Drops all idle configurations.
+	 */
+	public synchronized void clear() {
+		for (Deque<ILaunchConfigurationWorkingCopy> configs : idle.values()) {
+			for (ILaunchConfigurationWorkingCopy config : configs) {
+				names.remove(config.getName());
+			}
+		}
+		idle.clear();
+		idleCount = 0;
+	}
+
+	private String createName(String base) {
+		String name = base;
+		for (int i = 2; names.contains(name); i++) {
+			name = base + " (" + i + ")";
+		}
+		return name;
+	}
+
+	private ILaunchConfigurationType getLaunchConfigurationType() {
+		return DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(JUNIT_LAUNCH_TYPE);
+	}
+
+	/**
+	 * Deletes the configurations that earlier versions saved for every test run. Failures are
+	 * ignored; the files are harmless, only clutter.
+	 */
+	private void removeSavedConfigurations() {
+		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		try {
+			for (ILaunchConfiguration config : launchManager.getLaunchConfigurations(getLaunchConfigurationType())) {
+				if (config.getName().startsWith(NAME_PREFIX) && !config.isWorkingCopy()) {
+					config.delete();
+				}
+			}
+		} catch (CoreException e) {
+			// Left for the next start
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.eclipse.mcp.server.testing;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.junit.launcher.JUnitLaunchConfigurationDelegate;
+
+/**
+ * JUnit launch delegate that runs a given set of test classes instead of everything in the
+ * configuration's container. The test runner receives them through its test name file, just
+ * like a container launch.
+ */
+public class ShardLaunchDelegate extends JUnitLaunchConfigurationDelegate {
+
+	private final IType[] testTypes;
+
+	public ShardLaunchDelegate(IType[] testTypes) {
+		this.testTypes = testTypes;
+	}
+
+	@Override
+	protected IMember[] evaluateTests(ILaunchConfiguration configuration, IProgressMonitor monitor) {
+		return testTypes;
+	}
+}
@@ -0,0 +1,78 @@
+package com.eclipse.mcp.server.testing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits test classes into shards of about equal expected run time.
+ * <p>
+ * Classes are assigned longest first, each to the shard with the least work so far (the LPT
+ * heuristic), which keeps the slowest shard within 4/3 of the optimum. Classes without history
+ * are assumed to take as long as the average known class.
+ */
+public final class ShardPlanner {
+
+	/**
+	 * Assumed duration when no class of the run has history yet.
+	 */
+	static final long DEFAULT_DURATION_MS = 1000;
+
+	private ShardPlanner() {
+	}
+
+	/**
+	 * Returns at most {@code shardCount} non-empty shards.
+	 *
+	 * @param durations expected duration of an item in milliseconds, or a negative value if unknown
+	 */
+	public static <T> List<List<T>> plan(List<T> items, ToLongFunction<T> durations, int shardCount) {
+		int shards = Math.max(1, Math.min(shardCount, items.size()));
+
+		List<Weighted<T>> weighted = new ArrayList<>(items.size());
+		long knownTotal = 0;
+		int known = 0;
+		for (T item : items) {
+			long duration = durations.applyAsLong(item);
+			weighted.add(new Weighted<>(item, duration));
+			if (duration >= 0) {
+				knownTotal += duration;
+				known++;
+			}
+		}
+		long assumed = known > 0 ? Math.max(1, knownTotal / known) : DEFAULT_DURATION_MS;
+		for (Weighted<T> item : weighted) {
+			if (item.duration < 0) {
+				item.duration = assumed;
+			}
+		}
+		weighted.sort(Comparator.comparingLong((Weighted<T> item) -> item.duration).reversed());
+
+		List<List<T>> plan = new ArrayList<>(shards);
+		PriorityQueue<long[]> loads = new PriorityQueue<>(Comparator.comparingLong((long[] load) -> load[0]));
+		for (int i = 0; i < shards; i++) {
+			plan.add(new ArrayList<>());
+			loads.add(new long[] { 0, i });
+		}
+		for (Weighted<T> item : weighted) {
+			long[] lightest = loads.poll();
+			plan.get((int) lightest[1]).add(item.item);
+			lightest[0] += item.duration;
+			loads.add(lightest);
+		}
+		plan.removeIf(List::isEmpty);
+		return plan;
+	}
+
+	private static final class Weighted<T> {
+		final T item;
+		long duration;
+
+		Weighted(T item, long duration) {
+			this.item = item;
+			this.duration = duration;
+		}
+	}
+}
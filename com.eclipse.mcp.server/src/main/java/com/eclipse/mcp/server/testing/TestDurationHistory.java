@@ -0,0 +1,86 @@
+package com.eclipse.mcp.server.testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Measured run times of test classes, persisted across sessions, used to balance test shards.
+ * <p>
+ * Durations are smoothed over runs so that one slow or fast run does not swing the shard plan.
+ * Keys are {@code project/className}; the file is a plain properties file in the plug-in state
+ * location and is rewritten after each recorded run.
+ */
+public class TestDurationHistory {
+
+	private static final double SMOOTHING = 0.5;
+
+	private final File file;
+	private final Properties durations = new Properties();
+
+	public TestDurationHistory(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Loads the persisted durations. A missing or unreadable file leaves the history empty.
+	 */
+	public synchronized void start() {
+		if (!file.isFile()) {
+			return;
+		}
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			durations.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			durations.clear();
+		}
+	}
+
+	/**
+	 * Returns the expected run time of the class in milliseconds, or -1 if it never ran.
+	 */
+	public synchronized long getDuration(String projectName, String className) {
+		String value = durations.getProperty(projectName + "/" + className);
+		if (value == null) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Records the measured run time of classes and saves the history.
+	 */
+	public synchronized void record(String projectName, Map<String, Long> classDurations) {
+		if (classDurations.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<String, Long> entry : classDurations.entrySet()) {
+			long measured = entry.getValue();
+			long previous = getDuration(projectName, entry.getKey());
+			long smoothed = previous < 0 ? measured : Math.round(SMOOTHING * measured + (1 - SMOOTHING) * previous);
+			durations.setProperty(projectName + "/" + entry.getKey(), Long.toString(smoothed));
+		}
+		save();
+	}
+
+	private void save() {
+		File temp = new File(file.getPath() + ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+				durations.store(out, "Test class durations in milliseconds");
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			temp.delete();
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.eclipse.mcp.server.testing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.junit.TestRunListener;
+import org.eclipse.jdt.junit.model.ITestCaseElement;
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestRunSession;
+
+/**
+ * Collects the results of one JUnit launch from the JDT JUnit model.
+ * <p>
+ * The collector is registered with {@code JUnitCore} before launching and picks out the first
+ * session launched whose run name is the launch configuration name. Test results arrive on the thread reading the
+ * test runner's socket; the tool thread waits for {@link #awaitFinished} and takes the results
+ * reported so far with {@link #drainNew()} to stream them.
+ */
+public class TestRunCollector extends TestRunListener {
+
+	private static final int MAX_TRACE_LINES = 40;
+
+	private final String runName;
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private final List<Map<String, Object>> results = new ArrayList<>();
+	private int drained;
+	private int failures;
+	private int errors;
+	private int ignored;
+	private volatile ITestRunSession session;
+
+	public TestRunCollector(String runName) {
+		this.runName = runName;
+	}
+
+	@Override
+	public void sessionLaunched(ITestRunSession session) {
+		if (this.session == null && runName.equals(session.getTestRunName())) {
+			this.session = session;
+		}
+	}
+
+	@Override
+	public void sessionFinished(ITestRunSession session) {
+		if (isOwnSession(session)) {
+			this.session = session;
+			finished.countDown();
+		}
+	}
+
+	@Override
+	public void testCaseFinished(ITestCaseElement testCaseElement) {
+		if (!isOwnSession(testCaseElement.getTestRunSession())) {
+			return;
+		}
+		Map<String, Object> result = toMap(testCaseElement);
+		synchronized (this) {
+			results.add(result);
+			switch ((String) result.get("status")) {
+				case "failure" -> failures++;
+				case "error" -> errors++;
+				case "ignored" -> ignored++;
+				default -> {
+					// passed
+				}
+			}
+		}
+	}
+
+	/**
+	 * Launch configurations are reused, so once the session is known, events of an earlier session
+	 * with the same name that is still shutting down are ignored.
+	 */
+	private boolean isOwnSession(ITestRunSession other) {
+		ITestRunSession own = session;
+		return own != null ? own == other : runName.equals(other.getTestRunName());
+	}
+
+	/**
+	 * Waits for the session to finish.
+	 *
+	 * @return {@code false} if it is still running after the given time
+	 */
+	public boolean awaitFinished(long timeoutMs) throws InterruptedException {
+		return finished.await(timeoutMs, TimeUnit.MILLISECONDS);
+	}
+
+	public boolean isFinished() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * Returns whether the JUnit view saw the launch at all. Launches that fail before the test
+	 * runner connects, e.g. because the VM does not start, never get a session.
+	 */
+	public boolean hasSession() {
+		return session != null;
+	}
+
+	/**
+	 * Returns the results reported since the previous call.
+	 */
+	public synchronized List<Map<String, Object>> drainNew() {
+		List<Map<String, Object>> batch = new ArrayList<>(results.subList(drained, results.size()));
+		drained = results.size();
+		return batch;
+	}
+
+	public synchronized List<Map<String, Object>> getResults() {
+		return new ArrayList<>(results);
+	}
+
+	/**
+	 * Returns the test counts: {@code total}, {@code passed}, {@code failures}, {@code errors}
+	 * and {@code ignored}.
+	 */
+	public synchronized Map<String, Object> getSummary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("total", results.size());
+		summary.put("passed", results.size() - failures - errors - ignored);
+		summary.put("failures", failures);
+		summary.put("errors", errors);
+		summary.put("ignored", ignored);
+		return summary;
+	}
+
+	public synchronized int getFinishedCount() {
+		return results.size();
+	}
+
+	public synchronized boolean hasFailures() {
+		return failures + errors > 0;
+	}
+
+	/**
+	 * Returns the wall-clock time of the session in seconds, or {@code NaN} if unknown.
+	 */
+	public double getElapsedTimeInSeconds() {
+		ITestRunSession current = session;
+		return current != null ? current.getElapsedTimeInSeconds() : Double.NaN;
+	}
+
+	private static Map<String, Object> toMap(ITestCaseElement testCase) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("className", testCase.getTestClassName());
+		result.put("methodName", testCase.getTestMethodName());
+		result.put("status", toStatus(testCase.getTestResult(false)));
+		double elapsed = testCase.getElapsedTimeInSeconds();
+		if (!Double.isNaN(elapsed)) {
+			result.put("durationMs", Math.round(elapsed * 1000));
+		}
+
+		ITestElement.FailureTrace failure = testCase.getFailureTrace();
+		if (failure != null) {
+			result.put("trace", truncateTrace(failure.getTrace()));
+			if (failure.getExpected() != null || failure.getActual() != null) {
+				result.put("expected", failure.getExpected());
+				result.put("actual", failure.getActual());
+			}
+		}
+		return result;
+	}
+
+	private static String toStatus(ITestElement.Result result) {
+		if (result == ITestElement.Result.FAILURE) {
+			return "failure";
+		}
+		if (result == ITestElement.Result.ERROR) {
+			return "error";
+		}
+		if (result == ITestElement.Result.IGNORED) {
+			return "ignored";
+		}
+		return "passed";
+	}
+
+	private static String truncateTrace(String trace) {
+		if (trace == null) {
+			return null;
+		}
+		int end = -1;
+		for (int line = 0; line < MAX_TRACE_LINES; line++) {
+			end = trace.indexOf('\n', end + 1);
+			if (end < 0) {
+				return trace;
+			}
+		}
+		return trace.substring(0, end) + "\n\t...";
+	}
+}
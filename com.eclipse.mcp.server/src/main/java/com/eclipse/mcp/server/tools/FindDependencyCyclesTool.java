@@ -0,0 +1,126 @@
+package com.eclipse.mcp.server.tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.analysis.Digraph;
+import com.eclipse.mcp.server.analysis.StronglyConnectedComponents;
+import com.eclipse.mcp.server.analysis.StronglyConnectedComponents.Component;
+import com.eclipse.mcp.server.analysis.TypeDependencyGraph;
+import com.eclipse.mcp.server.execution.ToolContext;
+
+/**
+ * MCP tool that reports dependency cycles between types and between packages, as strongly
+ * connected components of the workspace type dependency graph. Each component lists its
+ * members, one shortest cycle through it and the dependencies that keep it together, which is
+ * what has to be cut to split it into modules.
+ */
+public class FindDependencyCyclesTool implements Tool {
+
+	private static final int DEFAULT_MAX_COMPONENTS = 50;
+	private static final int DEFAULT_MAX_EDGES = 20;
+	private static final int MAX_MEMBERS = 500;
+
+	@Override
+	public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+		String projectName = (String) arguments.get("projectName");
+		String level = (String) arguments.getOrDefault("level", "both");
+		int maxComponents = getPositiveInt(arguments, "maxComponents", DEFAULT_MAX_COMPONENTS);
+		int maxEdges = getPositiveInt(arguments, "maxEdgesPerComponent", DEFAULT_MAX_EDGES);
+
+		if (!"type".equals(level) && !"package".equals(level) && !"both".equals(level)) {
+			throw new IllegalArgumentException("Invalid level: '" + level + "'. Must be 'type', 'package', or 'both'");
+		}
+		if (projectName != null) {
+			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+			if (!project.exists() || !project.isOpen()) {
+				throw new IllegalArgumentException("Project not found or not open: " + projectName);
+			}
+		}
+
+		TypeDependencyGraph graph = getGraph();
+		IProgressMonitor monitor = context.getMonitor();
+		monitor.beginTask("Finding dependency cycles", 3);
+
+		Digraph typeGraph = graph.getUnitGraph(projectName);
+		monitor.worked(1);
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("scope", projectName != null ? projectName : "workspace");
+		result.put("graphRevision", graph.getRevision());
+
+		if (!"package".equals(level)) {
+			monitor.subTask("Type cycles");
+			result.put("types", report(typeGraph, maxComponents, maxEdges, monitor));
+		}
+		monitor.worked(1);
+
+		if (!"type".equals(level)) {
+			monitor.subTask("Package cycles");
+			result.put("packages", report(typeGraph.collapseGroups(), maxComponents, maxEdges, monitor));
+		}
+		monitor.worked(1);
+		monitor.done();
+
+		return result;
+	}
+
+	private Map<String, Object> report(Digraph graph, int maxComponents, int maxEdges, IProgressMonitor monitor) {
+		List<Component> components = StronglyConnectedComponents.find(graph, maxEdges, monitor);
+
+		int inCycles = 0;
+		for (Component component : components) {
+			inCycles += component.getMembers().size();
+		}
+
+		List<Map<String, Object>> reported = new ArrayList<>();
+		for (Component component : components.subList(0, Math.min(maxComponents, components.size()))) {
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("size", component.getMembers().size());
+			List<String> members = component.getMembers();
+			item.put("members", members.size() > MAX_MEMBERS ? members.subList(0, MAX_MEMBERS) : members);
+			item.put("cycle", component.getCycle());
+			item.put("edgeCount", component.getEdgeCount());
+			item.put("edges", component.getEdges());
+			reported.add(item);
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("nodes", graph.size());
+		result.put("edges", graph.getEdgeCount());
+		result.put("componentCount", components.size());
+		result.put("nodesInCycles", inCycles);
+		result.put("components", reported);
+		if (reported.size() < components.size()) {
+			result.put("truncated", true);
+		}
+		return result;
+	}
+
+	private TypeDependencyGraph getGraph() {
+		Activator activator = Activator.getDefault();
+		TypeDependencyGraph graph = activator != null ? activator.getTypeDependencyGraph() : null;
+		if (graph == null || !graph.isReady()) {
+			throw new IllegalStateException("The type dependency graph is still being built, try again shortly");
+		}
+		return graph;
+	}
+
+	private int getPositiveInt(Map<String, Object> arguments, String name, int defaultValue) {
+		Object value = arguments.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		if (!(value instanceof Number number) || number.intValue() <= 0) {
+			throw new IllegalArgumentException(name + " must be a positive integer");
+		}
+		return number.intValue();
+	}
+}
@@ -1,12 +1,12 @@
 package com.eclipse.mcp.server.tools;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
@@ -20,7 +20,13 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ResultSession;
+import com.eclipse.mcp.server.execution.StreamingResultSession;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.index.LineOffsetCache;
+import com.eclipse.mcp.server.index.LineOffsetTable;
 
 /**
  * MCP tool that finds all references to a Java element (type, method, or field)
@@ -29,7 +35,11 @@ import org.eclipse.ui.PlatformUI;
 public class FindReferencesTool implements Tool {
 
 	@Override
-	public Object execute(Map<String, Object> arguments) throws Exception {
+	public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+		return context.getResultSessions().page(arguments, context, () -> createSession(arguments));
+	}
+
+	private ResultSession createSession(Map<String, Object> arguments) throws CoreException {
 		String elementName = (String) arguments.get("elementName");
 		String elementType = (String) arguments.getOrDefault("elementType", "type");
 		String projectScope = (String) arguments.get("projectScope");
@@ -41,13 +51,11 @@ public class FindReferencesTool implements Tool {
 
 		int searchFor = mapElementType(elementType);
 
-		return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-			try {
-				return findReferences(elementName, searchFor, projectScope, caseSensitive);
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		});
+		SearchPattern pattern = createSearchPattern(elementName, searchFor, caseSensitive);
+		IJavaSearchScope scope = createSearchScope(projectScope);
+
+		return new StreamingResultSession("MCP find_references: " + elementName,
+				(sink, monitor) -> findReferences(pattern, scope, sink, monitor));
 	}
 
 	private int mapElementType(String elementType) {
@@ -60,11 +68,7 @@ public class FindReferencesTool implements Tool {
 		};
 	}
 
-	private List<Map<String, Object>> findReferences(String elementName, int searchFor,
-			String projectScope, boolean caseSensitive) throws CoreException {
-
-		List<Map<String, Object>> results = new ArrayList<>();
-
+	private SearchPattern createSearchPattern(String elementName, int searchFor, boolean caseSensitive) {
 		int matchRule = SearchPattern.R_PATTERN_MATCH;
 		if (caseSensitive) {
 			matchRule |= SearchPattern.R_CASE_SENSITIVE;
@@ -79,8 +83,15 @@ public class FindReferencesTool implements Tool {
 		if (pattern == null) {
 			throw new IllegalArgumentException("Invalid search pattern: " + elementName);
 		}
+		return pattern;
+	}
 
-		IJavaSearchScope scope = createSearchScope(projectScope);
+	/**
+	 * Runs the search, handing each match to the sink as soon as it is found.
+	 */
+	private void findReferences(SearchPattern pattern, IJavaSearchScope scope,
+			Consumer<Map<String, Object>> sink, IProgressMonitor monitor) throws CoreException {
+		LineOffsetCache lineOffsets = getLineOffsetCache();
 
 		SearchRequestor requestor = new SearchRequestor() {
 			@Override
@@ -107,15 +118,15 @@ public class FindReferencesTool implements Tool {
 					if (element instanceof IMember member) {
 						ICompilationUnit cu = member.getCompilationUnit();
 						if (cu != null) {
-							String source = cu.getSource();
-							if (source != null) {
-								addLineInfo(result, source, match.getOffset());
+							LineOffsetTable lines = lineOffsets.get(cu);
+							if (lines != null) {
+								addLineInfo(result, lines, match.getOffset());
 							}
 						}
 					}
 				}
 
-				results.add(result);
+				sink.accept(result);
 			}
 		};
 
@@ -124,9 +135,7 @@ public class FindReferencesTool implements Tool {
 				new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
 				scope,
 				requestor,
-				null);
-
-		return results;
+				monitor);
 	}
 
 	private IJavaSearchScope createSearchScope(String projectScope) throws CoreException {
@@ -144,31 +153,23 @@ public class FindReferencesTool implements Tool {
 		return SearchEngine.createJavaSearchScope(projects);
 	}
 
+	private LineOffsetCache getLineOffsetCache() {
+		Activator activator = Activator.getDefault();
+		return activator != null ? activator.getLineOffsetCache() : new LineOffsetCache();
+	}
+
 	/**
-	 * Computes line number, column, and extracts the matching source line from the given offset.
+	 * Adds line number, column, and the matching source line for the given offset.
 	 */
-	private void addLineInfo(Map<String, Object> result, String source, int offset) {
-		if (offset < 0 || offset >= source.length()) {
+	private void addLineInfo(Map<String, Object> result, LineOffsetTable lines, int offset) {
+		if (offset < 0 || offset >= lines.getSource().length()) {
 			return;
 		}
 
-		int lineNumber = 1;
-		int lastNewline = -1;
-		for (int i = 0; i < offset; i++) {
-			if (source.charAt(i) == '\n') {
-				lineNumber++;
-				lastNewline = i;
-			}
-		}
+		int lineNumber = lines.getLineNumber(offset);
 		result.put("lineNumber", lineNumber);
-		result.put("column", offset - lastNewline);
-
-		int lineStart = lastNewline + 1;
-		int lineEnd = source.indexOf('\n', offset);
-		if (lineEnd == -1) {
-			lineEnd = source.length();
-		}
-		result.put("matchText", source.substring(lineStart, lineEnd).trim());
+		result.put("column", offset - lines.getLineStart(lineNumber) + 1);
+		result.put("matchText", lines.getLineText(lineNumber).trim());
 	}
 
 	private String getElementTypeString(int elementType) {
@@ -1,9 +1,9 @@
 package com.eclipse.mcp.server.tools;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -11,48 +11,94 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.ui.PlatformUI;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ListResultSession;
+import com.eclipse.mcp.server.execution.ResultSession;
+import com.eclipse.mcp.server.execution.StreamingResultSession;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.index.ResourceEntry;
+import com.eclipse.mcp.server.index.ResourceIndex;
 
 public class FindResourceTool implements Tool {
 
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+        return context.getResultSessions().page(arguments, context, () -> createSession(arguments));
+    }
+
+    private ResultSession createSession(Map<String, Object> arguments) {
         String resourceName = (String) arguments.get("resourceName");
         String fileExtension = (String) arguments.get("fileExtension");
+        String projectName = (String) arguments.get("projectName");
         
         if (resourceName == null || resourceName.trim().isEmpty()) {
             throw new IllegalArgumentException("resourceName is required");
         }
-        
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return findResources(resourceName, fileExtension);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        if (projectName != null) {
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+            if (!project.exists() || !project.isOpen()) {
+                throw new IllegalArgumentException("Project not found or not open: " + projectName);
             }
-        });
+        }
+
+        Activator activator = Activator.getDefault();
+        ResourceIndex index = activator != null ? activator.getResourceIndex() : null;
+        if (index != null && index.isReady()) {
+            return new ListResultSession<>(index.find(resourceName, fileExtension, projectName), this::toResult);
+        }
+        
+        return new StreamingResultSession("MCP find_resource: " + resourceName,
+            (sink, monitor) -> findResources(resourceName, fileExtension, projectName, sink, monitor));
     }
-    
-    private List<Map<String, Object>> findResources(String resourceName, String fileExtension) throws CoreException {
-        List<Map<String, Object>> results = new ArrayList<>();
+
+    private Map<String, Object> toResult(ResourceEntry entry) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("fileName", entry.getName());
+        result.put("filePath", entry.getPath());
+        result.put("projectName", entry.getProjectName());
+        result.put("fileExtension", entry.getExtension());
+        result.put("location", entry.getLocation());
         
+        long size = entry.getSize();
+        if (size >= 0) {
+            result.put("size", size);
+        }
+        if (entry.getLastModified() >= 0) {
+            result.put("lastModified", entry.getLastModified());
+        }
+        return result;
+    }
+    
+    /**
+     * Walks the workspace directly; used until the resource index has been built.
+     */
+    private void findResources(String resourceName, String fileExtension, String projectName,
+            Consumer<Map<String, Object>> sink, IProgressMonitor monitor) throws CoreException {
         String pattern = resourceName.toLowerCase();
-        boolean isPattern = pattern.contains("*") || pattern.contains("?");
+        Pattern regex = pattern.contains("*") || pattern.contains("?") ? compilePattern(pattern) : null;
         
-        IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
+        IProject[] projects = projectName != null
+            ? new IProject[] { ResourcesPlugin.getWorkspace().getRoot().getProject(projectName) }
+            : ResourcesPlugin.getWorkspace().getRoot().getProjects();
         
         for (IProject project : projects) {
             if (project.isOpen()) {
                 project.accept(new IResourceVisitor() {
                     @Override
                     public boolean visit(IResource resource) throws CoreException {
+                        if (monitor.isCanceled()) {
+                            throw new OperationCanceledException();
+                        }
                         if (resource instanceof IFile) {
                             IFile file = (IFile) resource;
                             String fileName = file.getName().toLowerCase();
                             
                             boolean matches = false;
-                            if (isPattern) {
-                                matches = matchesPattern(fileName, pattern);
+                            if (regex != null) {
+                                matches = regex.matcher(fileName).matches();
                             } else {
                                 matches = fileName.contains(pattern);
                             }
@@ -75,7 +121,7 @@ public class FindResourceTool implements Tool {
                                         // Ignore if we can't get file stats
                                     }
                                     
-                                    results.add(result);
+                                    sink.accept(result);
                                 }
                             }
                         }
@@ -84,16 +130,14 @@ public class FindResourceTool implements Tool {
                 });
             }
         }
-        
-        return results;
     }
     
-    private boolean matchesPattern(String text, String pattern) {
+    private Pattern compilePattern(String pattern) {
         String regex = pattern
             .replace(".", "\\.")
             .replace("*", ".*")
             .replace("?", ".");
         
-        return text.matches(regex);
+        return Pattern.compile(regex);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,11 @@
 package com.eclipse.mcp.server.tools;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
@@ -16,34 +16,86 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
-import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ListResultSession;
+import com.eclipse.mcp.server.execution.ResultSession;
+import com.eclipse.mcp.server.execution.StreamingResultSession;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.index.TypeEntry;
+import com.eclipse.mcp.server.index.TypeNameIndex;
+import com.eclipse.mcp.server.index.TypeNameIndex.MatchMode;
 
 public class FindTypeTool implements Tool {
 
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+        return context.getResultSessions().page(arguments, context, () -> createSession(arguments));
+    }
+
+    private ResultSession createSession(Map<String, Object> arguments) {
         String typeName = (String) arguments.get("typeName");
         Boolean caseSensitive = (Boolean) arguments.getOrDefault("caseSensitive", false);
+        String matchMode = (String) arguments.get("matchMode");
         
         if (typeName == null || typeName.trim().isEmpty()) {
             throw new IllegalArgumentException("typeName is required");
         }
+
+        MatchMode mode = parseMatchMode(matchMode, typeName);
+
+        Activator activator = Activator.getDefault();
+        TypeNameIndex index = activator != null ? activator.getTypeNameIndex() : null;
+        if (index != null && index.isReady()) {
+            return new ListResultSession<>(index.find(typeName, mode, caseSensitive, -1), this::toResult);
+        }
         
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return findTypes(typeName, caseSensitive);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return new StreamingResultSession("MCP find_type: " + typeName,
+            (sink, monitor) -> findTypes(typeName, mode, caseSensitive, sink, monitor));
+    }
+
+    private MatchMode parseMatchMode(String matchMode, String typeName) {
+        if (matchMode == null) {
+            return typeName.contains("*") || typeName.contains("?") ? MatchMode.PATTERN : MatchMode.EXACT;
+        }
+        return switch (matchMode) {
+            case "exact" -> MatchMode.EXACT;
+            case "prefix" -> MatchMode.PREFIX;
+            case "camelCase" -> MatchMode.CAMEL_CASE;
+            case "pattern" -> MatchMode.PATTERN;
+            default -> throw new IllegalArgumentException(
+                "Invalid matchMode: '" + matchMode + "'. Must be 'exact', 'prefix', 'camelCase', or 'pattern'");
+        };
+    }
+
+    private Map<String, Object> toResult(TypeEntry entry) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("typeName", entry.getFullyQualifiedName());
+        result.put("elementName", entry.getSimpleName());
+        result.put("packageName", entry.getPackageName());
+        result.put("projectName", entry.getProjectName());
+        result.put("fileName", entry.getFileName());
+        result.put("filePath", entry.getFilePath());
+        if (entry.isBinary()) {
+            result.put("isFromJar", true);
+        }
+        result.put("isInterface", entry.isInterface());
+        result.put("isClass", entry.isClass());
+        result.put("isEnum", entry.isEnum());
+        result.put("isAnnotation", entry.isAnnotation());
+        return result;
     }
     
-    private List<Map<String, Object>> findTypes(String typeName, boolean caseSensitive) throws CoreException {
-        List<Map<String, Object>> results = new ArrayList<>();
-        
+    private void findTypes(String typeName, MatchMode mode, boolean caseSensitive,
+            Consumer<Map<String, Object>> sink, IProgressMonitor monitor) throws CoreException {
         SearchEngine searchEngine = new SearchEngine();
         
-        int matchRule = SearchPattern.R_PATTERN_MATCH;
+        int matchRule = switch (mode) {
+            case EXACT -> SearchPattern.R_EXACT_MATCH;
+            case PREFIX -> SearchPattern.R_PREFIX_MATCH;
+            case CAMEL_CASE -> SearchPattern.R_CAMELCASE_MATCH;
+            case PATTERN -> SearchPattern.R_PATTERN_MATCH;
+        };
         if (caseSensitive) {    
             matchRule |= SearchPattern.R_CASE_SENSITIVE;
         }
@@ -89,7 +141,7 @@ public class FindTypeTool implements Tool {
                         // Ignore if we can't determine type information
                     }
                     
-                    results.add(result);
+                    sink.accept(result);
                 }
             }
         };
@@ -101,9 +153,7 @@ public class FindTypeTool implements Tool {
             new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
             SearchEngine.createJavaSearchScope(projects),
             requestor,
-            null
+            monitor
         );
-        
-        return results;
     }
 }
\ No newline at end of file
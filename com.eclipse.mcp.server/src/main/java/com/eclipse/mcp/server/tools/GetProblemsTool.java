@@ -7,72 +7,141 @@ import java.util.Map;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.index.MarkerCache;
+import com.eclipse.mcp.server.index.ProblemEntry;
 
 public class GetProblemsTool implements Tool {
 
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String projectName = (String) arguments.get("projectName");
+        String severity = (String) arguments.getOrDefault("severity", "error");
+        Object sinceRevision = arguments.get("sinceRevision");
         
-        if (projectName == null || projectName.trim().isEmpty()) {
-            throw new IllegalArgumentException("projectName is required");
+        if (projectName != null && projectName.trim().isEmpty()) {
+            projectName = null;
         }
-        
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return getProblems(projectName);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        if (projectName != null) {
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+            if (!project.exists() || !project.isOpen()) {
+                throw new IllegalArgumentException("Project not found or not open: " + projectName);
             }
-        });
-    }
-    
-    private Map<String, Object> getProblems(String projectName) throws CoreException {
-        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
-        if (!project.exists() || !project.isOpen()) {
-            throw new IllegalArgumentException("Project not found or not open: " + projectName);
         }
-
-        List<Map<String, Object>> errors = new ArrayList<>();
-
-        IMarker[] markers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
-
-        for (IMarker marker : markers) {
-            int severity = marker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
-            if (severity != IMarker.SEVERITY_ERROR) {
-                continue;
+        if (sinceRevision != null && !(sinceRevision instanceof Number)) {
+            throw new IllegalArgumentException("sinceRevision must be a number");
+        }
+        
+        int minSeverity = mapSeverity(severity);
+        MarkerCache cache = getMarkerCache();
+        
+        if (sinceRevision != null) {
+            MarkerCache.Changes changes = cache.getChangesSince(((Number) sinceRevision).longValue(), projectName, minSeverity);
+            if (changes != null) {
+                return toResult(projectName, changes);
             }
+        }
+        
+        return getProblems(cache, projectName, minSeverity, sinceRevision != null);
+    }
 
-            Map<String, Object> error = new HashMap<>();
+    private int mapSeverity(String severity) {
+        return switch (severity) {
+            case "error" -> IMarker.SEVERITY_ERROR;
+            case "warning" -> IMarker.SEVERITY_WARNING;
+            case "info" -> IMarker.SEVERITY_INFO;
+            default -> throw new IllegalArgumentException(
+                "Invalid severity: '" + severity + "'. Must be 'error', 'warning', or 'info'");
+        };
+    }
 
-            error.put("message", marker.getAttribute(IMarker.MESSAGE, ""));
-            error.put("lineNumber", marker.getAttribute(IMarker.LINE_NUMBER, -1));
-            error.put("charStart", marker.getAttribute(IMarker.CHAR_START, -1));
-            error.put("charEnd", marker.getAttribute(IMarker.CHAR_END, -1));
+    private MarkerCache getMarkerCache() {
+        Activator activator = Activator.getDefault();
+        return activator != null ? activator.getMarkerCache() : new MarkerCache();
+    }
+    
+    private Map<String, Object> getProblems(MarkerCache cache, String projectName, int minSeverity, boolean reset)
+            throws CoreException {
+        long revision = cache.getRevision();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        List<Map<String, Object>> warnings = new ArrayList<>();
+        List<Map<String, Object>> infos = new ArrayList<>();
 
-            IResource resource = marker.getResource();
-            if (resource != null) {
-                error.put("resourcePath", resource.getFullPath().toString());
-                error.put("resourceName", resource.getName());
-                if (resource.getLocation() != null) {
-                    error.put("location", resource.getLocation().toString());
-                }
+        for (ProblemEntry entry : cache.getProblems(projectName, minSeverity)) {
+            switch (entry.getSeverity()) {
+                case IMarker.SEVERITY_ERROR -> errors.add(toMap(entry));
+                case IMarker.SEVERITY_WARNING -> warnings.add(toMap(entry));
+                default -> infos.add(toMap(entry));
             }
-
-            error.put("sourceId", marker.getAttribute(IMarker.SOURCE_ID, ""));
-
-            errors.add(error);
         }
 
         Map<String, Object> result = new HashMap<>();
-        result.put("projectName", projectName);
+        if (projectName != null) {
+            result.put("projectName", projectName);
+        }
+        result.put("revision", revision);
         result.put("errors", errors);
         result.put("errorCount", errors.size());
+        if (minSeverity <= IMarker.SEVERITY_WARNING) {
+            result.put("warnings", warnings);
+            result.put("warningCount", warnings.size());
+        }
+        if (minSeverity <= IMarker.SEVERITY_INFO) {
+            result.put("infos", infos);
+            result.put("infoCount", infos.size());
+        }
+        if (reset) {
+            // The requested revision is no longer available, the client gets a full snapshot
+            result.put("reset", true);
+        }
 
         return result;
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> toResult(String projectName, MarkerCache.Changes changes) {
+        List<Map<String, Object>> added = new ArrayList<>();
+        for (ProblemEntry entry : changes.getAdded()) {
+            added.add(toMap(entry));
+        }
+        List<Long> removed = new ArrayList<>();
+        for (ProblemEntry entry : changes.getRemoved()) {
+            removed.add(entry.getMarkerId());
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        if (projectName != null) {
+            result.put("projectName", projectName);
+        }
+        result.put("revision", changes.getRevision());
+        result.put("added", added);
+        result.put("removed", removed);
+        return result;
+    }
+
+    private Map<String, Object> toMap(ProblemEntry entry) {
+        Map<String, Object> problem = new HashMap<>();
+
+        problem.put("markerId", entry.getMarkerId());
+        problem.put("severity", switch (entry.getSeverity()) {
+            case IMarker.SEVERITY_ERROR -> "error";
+            case IMarker.SEVERITY_WARNING -> "warning";
+            default -> "info";
+        });
+        problem.put("message", entry.getMessage());
+        problem.put("lineNumber", entry.getLineNumber());
+        problem.put("charStart", entry.getCharStart());
+        problem.put("charEnd", entry.getCharEnd());
+        problem.put("resourcePath", entry.getResourcePath());
+        problem.put("resourceName", entry.getResourceName());
+        if (entry.getLocation() != null) {
+            problem.put("location", entry.getLocation());
+        }
+        problem.put("sourceId", entry.getSourceId());
+
+        return problem;
+    }
+}
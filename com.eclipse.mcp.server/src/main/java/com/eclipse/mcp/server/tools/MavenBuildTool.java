@@ -0,0 +1,345 @@
+package com.eclipse.mcp.server.tools;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenExecutionResult;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.maven.BuildEventLog;
+import com.eclipse.mcp.server.maven.BuildFingerprints;
+import com.eclipse.mcp.server.maven.EmbeddedMaven;
+import com.eclipse.mcp.server.maven.ReactorGraph;
+
+/**
+ * MCP tool that builds a set of workspace Maven projects like a parallel reactor build
+ * ({@code mvn -T n}): each module is built on its own once the modules it depends on are built,
+ * with up to {@code threads} modules at a time. Modules whose inputs and upstream modules are
+ * unchanged since their last successful build with the same goals are skipped; modules
+ * downstream of a failure are not built. When the build is stopped, modules not started yet are
+ * reported as {@code notBuilt}.
+ */
+public class MavenBuildTool implements Tool {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	@Override
+	public long getDeadlineMs() {
+		return 30 * 60 * 1000L;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+		List<String> projectNames = (List<String>) arguments.get("projectNames");
+		List<String> goals = (List<String>) arguments.get("goals");
+		int threads = getPositiveInt(arguments, "threads", 1);
+		boolean force = Boolean.TRUE.equals(arguments.get("force"));
+
+		if (goals == null || goals.isEmpty()) {
+			throw new IllegalArgumentException("goals are required");
+		}
+		threads = Math.min(threads, Runtime.getRuntime().availableProcessors());
+
+		IProgressMonitor monitor = context.getMonitor();
+		ReactorGraph graph = ReactorGraph.create(getFacades(projectNames), monitor);
+		return new Build(graph, List.copyOf(goals), threads, force, context).run();
+	}
+
+	private List<IMavenProjectFacade> getFacades(List<String> projectNames) {
+		IMavenProjectRegistry projectRegistry = MavenPlugin.getMavenProjectRegistry();
+		List<IMavenProjectFacade> facades = new ArrayList<>();
+		if (projectNames == null) {
+			for (IMavenProjectFacade facade : projectRegistry.getProjects()) {
+				facades.add(facade);
+			}
+			if (facades.isEmpty()) {
+				throw new IllegalArgumentException("No Maven projects in the workspace");
+			}
+			return facades;
+		}
+		for (String projectName : projectNames) {
+			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+			if (!project.exists() || !project.isOpen()) {
+				throw new IllegalArgumentException("Project not found or not open: " + projectName);
+			}
+			IMavenProjectFacade facade = projectRegistry.getProject(project);
+			if (facade == null) {
+				throw new IllegalArgumentException("Not a Maven project: " + projectName);
+			}
+			facades.add(facade);
+		}
+		return facades;
+	}
+
+	private int getPositiveInt(Map<String, Object> arguments, String name, int defaultValue) {
+		Object value = arguments.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		if (!(value instanceof Number number) || number.intValue() <= 0) {
+			throw new IllegalArgumentException(name + " must be a positive integer");
+		}
+		return number.intValue();
+	}
+
+	/**
+	 * State of one build: schedules modules as their upstream modules complete.
+	 */
+	private static final class Build {
+
+		private final ReactorGraph graph;
+		private final List<String> goals;
+		private final int threads;
+		private final boolean force;
+		private final ToolContext context;
+		private final BuildFingerprints fingerprints = Activator.getDefault().getBuildFingerprints();
+		private final AtomicInteger mojosStarted = new AtomicInteger();
+
+		private final Map<String, Map<String, Object>> reports = new HashMap<>();
+		private final Map<String, String> inputFingerprints = new HashMap<>();
+		private final Map<String, Integer> remainingUpstream = new HashMap<>();
+		private final Deque<String> ready = new ArrayDeque<>();
+
+		Build(ReactorGraph graph, List<String> goals, int threads, boolean force, ToolContext context) {
+			this.graph = graph;
+			this.goals = goals;
+			this.threads = threads;
+			this.force = force;
+			this.context = context;
+		}
+
+		Map<String, Object> run() throws InterruptedException {
+			IProgressMonitor monitor = context.getMonitor();
+			for (String module : graph.getOrder()) {
+				remainingUpstream.put(module, graph.getUpstream(module).size());
+				if (graph.getUpstream(module).isEmpty()) {
+					ready.add(module);
+				}
+			}
+
+			long started = System.currentTimeMillis();
+			ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "MCP Maven build " + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			CompletionService<ModuleBuild> completion = new ExecutorCompletionService<>(executor);
+			boolean stopped = false;
+			int inFlight = 0;
+			try {
+				while (true) {
+					stopped = stopped || monitor.isCanceled() || context.isBudgetExhausted();
+					while (inFlight < threads && !ready.isEmpty() && !stopped) {
+						String module = ready.poll();
+						Map<String, String> upstream = new HashMap<>();
+						for (String dependency : graph.getUpstream(module)) {
+							upstream.put(dependency, inputFingerprints.get(dependency));
+						}
+						completion.submit(() -> buildModule(module, upstream));
+						inFlight++;
+					}
+					if (inFlight == 0) {
+						break;
+					}
+					ModuleBuild build = take(completion);
+					inFlight--;
+					complete(build.module, build.fingerprint, build.report);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			return createResult(stopped, System.currentTimeMillis() - started);
+		}
+
+		private ModuleBuild take(CompletionService<ModuleBuild> completion) throws InterruptedException {
+			try {
+				return completion.take().get();
+			} catch (ExecutionException e) {
+				// buildModule reports its own failures
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		/**
+		 * Records the outcome of a module and releases its dependents. Dependents of a module
+		 * that did not build are skipped, and so on down the graph.
+		 */
+		private void complete(String module, String fingerprint, Map<String, Object> report) {
+			reports.put(module, report);
+			if (fingerprint != null) {
+				inputFingerprints.put(module, fingerprint);
+			}
+			for (String dependent : graph.getDownstream(module)) {
+				if (remainingUpstream.merge(dependent, -1, Integer::sum) > 0) {
+					continue;
+				}
+				String failed = null;
+				for (String dependency : graph.getUpstream(dependent)) {
+					if (!inputFingerprints.containsKey(dependency)) {
+						failed = dependency;
+						break;
+					}
+				}
+				if (failed == null) {
+					ready.add(dependent);
+				} else if (!"stopped".equals(reports.get(failed).get("status"))) {
+					Map<String, Object> skipped = new LinkedHashMap<>();
+					skipped.put("projectName", dependent);
+					skipped.put("status", "skipped");
+					skipped.put("reason", "upstream module " + failed + " did not build");
+					complete(dependent, null, skipped);
+				}
+			}
+		}
+
+		/**
+		 * Builds one module, unless its inputs are unchanged. Runs on a build thread.
+		 */
+		private ModuleBuild buildModule(String module, Map<String, String> upstream) {
+			IProgressMonitor monitor = context.getMonitor();
+			IMavenProjectFacade facade = graph.getFacade(module);
+			IProject project = facade.getProject();
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("projectName", module);
+			BuildEventLog log = new BuildEventLog(context, module, mojosStarted);
+			try {
+				project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+				String fingerprint = BuildFingerprints.compute(project, getBuildDirectory(facade), goals, upstream);
+				File buildLocation = getBuildLocation(facade);
+				if (!force && fingerprints.isUnchanged(module, goals, fingerprint,
+						BuildFingerprints.computeOutputs(buildLocation))) {
+					report.put("status", "unchanged");
+					return new ModuleBuild(module, fingerprint, report);
+				}
+
+				long started = System.currentTimeMillis();
+				MavenExecutionResult executionResult = EmbeddedMaven.execute(facade, goals, false, log, monitor);
+				report.put("durationMs", System.currentTimeMillis() - started);
+				project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+
+				if (log.isStopped()) {
+					report.put("status", "stopped");
+					return new ModuleBuild(module, null, report);
+				}
+				if (!executionResult.hasExceptions()) {
+					fingerprints.record(module, goals, fingerprint, BuildFingerprints.computeOutputs(buildLocation));
+					report.put("status", "success");
+					return new ModuleBuild(module, fingerprint, report);
+				}
+
+				fingerprints.remove(module, goals);
+				List<String> errors = new ArrayList<>();
+				for (Throwable exception : executionResult.getExceptions()) {
+					errors.add(exception.getMessage());
+				}
+				report.put("status", "failed");
+				if (log.getFailedMojo() != null) {
+					report.put("failedMojo", log.getFailedMojo());
+				}
+				report.put("errors", errors);
+				report.put("log", log.getLines());
+				return new ModuleBuild(module, null, report);
+			} catch (OperationCanceledException e) {
+				report.put("status", "stopped");
+				return new ModuleBuild(module, null, report);
+			} catch (CoreException | RuntimeException e) {
+				report.put("status", "failed");
+				report.put("errors", List.of(String.valueOf(e.getMessage())));
+				return new ModuleBuild(module, null, report);
+			}
+		}
+
+		/**
+		 * Returns the file system location of the module's build directory, or {@code null}.
+		 */
+		private File getBuildLocation(IMavenProjectFacade facade) {
+			if (facade.getMavenProject() == null || facade.getMavenProject().getBuild().getDirectory() == null) {
+				return null;
+			}
+			return new File(facade.getMavenProject().getBuild().getDirectory());
+		}
+
+		/**
+		 * Returns the workspace path of the module's build directory, usually {@code target}.
+		 */
+		private IPath getBuildDirectory(IMavenProjectFacade facade) {
+			IProject project = facade.getProject();
+			IPath location = project.getLocation();
+			if (location == null || facade.getMavenProject() == null) {
+				return null;
+			}
+			String directory = facade.getMavenProject().getBuild().getDirectory();
+			if (directory == null) {
+				return null;
+			}
+			IPath buildLocation = new Path(directory);
+			if (!location.isPrefixOf(buildLocation)) {
+				return null;
+			}
+			return project.getFullPath().append(buildLocation.makeRelativeTo(location));
+		}
+
+		private Map<String, Object> createResult(boolean stopped, long elapsed) {
+			Map<String, Integer> counts = new LinkedHashMap<>();
+			for (String status : List.of("success", "unchanged", "failed", "skipped", "stopped", "notBuilt")) {
+				counts.put(status, 0);
+			}
+			List<Map<String, Object>> modules = new ArrayList<>();
+			for (String module : graph.getOrder()) {
+				Map<String, Object> report = reports.get(module);
+				if (report == null) {
+					report = new LinkedHashMap<>();
+					report.put("projectName", module);
+					report.put("status", "notBuilt");
+				}
+				counts.merge((String) report.get("status"), 1, Integer::sum);
+				modules.add(report);
+			}
+
+			Map<String, Object> result = new LinkedHashMap<>();
+			if (stopped || counts.get("stopped") > 0) {
+				result.put("status", "timeout");
+				result.put("truncated", true);
+			} else {
+				result.put("status", counts.get("failed") > 0 || counts.get("skipped") > 0 ? "failed" : "success");
+			}
+			result.put("goals", goals);
+			result.put("threads", threads);
+			result.put("durationMs", elapsed);
+			result.put("summary", counts);
+			result.put("modules", modules);
+			return result;
+		}
+	}
+
+	private record ModuleBuild(String module, String fingerprint, Map<String, Object> report) {
+	}
+}
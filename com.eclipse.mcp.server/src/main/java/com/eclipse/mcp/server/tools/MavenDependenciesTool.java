@@ -0,0 +1,90 @@
+package com.eclipse.mcp.server.tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.maven.DependencyCache;
+
+/**
+ * MCP tool that answers from m2e's resolution which artifacts a Maven project depends on, in
+ * which version and scope and through which dependencies, as a flat list, a tree, or the
+ * effective JDT classpath. Results come from the {@link DependencyCache}.
+ */
+public class MavenDependenciesTool implements Tool {
+
+	@Override
+	public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+		String projectName = (String) arguments.get("projectName");
+		String view = (String) arguments.getOrDefault("view", "list");
+		String artifactFilter = (String) arguments.get("artifact");
+		String scope = (String) arguments.get("scope");
+
+		if (projectName == null || projectName.trim().isEmpty()) {
+			throw new IllegalArgumentException("projectName is required");
+		}
+		if (!"list".equals(view) && !"tree".equals(view) && !"classpath".equals(view)) {
+			throw new IllegalArgumentException("Invalid view: '" + view + "'. Must be 'list', 'tree' or 'classpath'");
+		}
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+		if (!project.exists() || !project.isOpen()) {
+			throw new IllegalArgumentException("Project not found or not open: " + projectName);
+		}
+		IMavenProjectFacade facade = MavenPlugin.getMavenProjectRegistry().getProject(project);
+		if (facade == null) {
+			throw new IllegalArgumentException("Not a Maven project: " + projectName);
+		}
+
+		DependencyCache cache = Activator.getDefault().getDependencyCache();
+		boolean cached = cache.isCached(facade);
+		DependencyCache.Dependencies dependencies = cache.get(facade, context.getMonitor());
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("projectName", projectName);
+		result.put("cached", cached);
+		switch (view) {
+			case "tree" -> result.put("tree", dependencies.getTree());
+			case "classpath" -> {
+				result.put("classpath", dependencies.getClasspath());
+				result.put("count", dependencies.getClasspath().size());
+			}
+			default -> {
+				List<Map<String, Object>> artifacts = filter(dependencies.getArtifacts(), artifactFilter, scope);
+				result.put("artifacts", artifacts);
+				result.put("count", artifacts.size());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Keeps the artifacts whose {@code groupId:artifactId} contains the filter and that have the
+	 * given scope.
+	 */
+	private List<Map<String, Object>> filter(List<Map<String, Object>> artifacts, String artifactFilter,
+			String scope) {
+		if (artifactFilter == null && scope == null) {
+			return artifacts;
+		}
+		List<Map<String, Object>> matches = new ArrayList<>();
+		for (Map<String, Object> artifact : artifacts) {
+			String coordinates = artifact.get("groupId") + ":" + artifact.get("artifactId");
+			if (artifactFilter != null && !coordinates.contains(artifactFilter)) {
+				continue;
+			}
+			if (scope != null && !scope.equals(artifact.get("scope"))) {
+				continue;
+			}
+			matches.add(artifact);
+		}
+		return matches;
+	}
+}
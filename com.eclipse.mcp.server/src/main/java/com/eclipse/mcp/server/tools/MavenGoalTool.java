@@ -1,25 +1,42 @@
 package com.eclipse.mcp.server.tools;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.maven.execution.MavenExecutionResult;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
-import org.eclipse.ui.PlatformUI;
 
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.maven.BuildEventLog;
+import com.eclipse.mcp.server.maven.EmbeddedMaven;
+
+/**
+ * Runs Maven goals on a workspace project in the m2e embedder and reports the outcome: status,
+ * exit code, duration, the failing mojo and the tail of a log built from the build's events.
+ */
 public class MavenGoalTool implements Tool {
 
+    @Override
+    public long getDeadlineMs() {
+        return 30 * 60 * 1000L;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String projectName = (String) arguments.get("projectName");
         List<String> goals = (List<String>) arguments.get("goals");
         
@@ -31,16 +48,12 @@ public class MavenGoalTool implements Tool {
             throw new IllegalArgumentException("goals are required");
         }
         
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return executeMavenGoals(projectName, goals);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return executeMavenGoals(projectName, goals, context);
     }
     
-    private Map<String, Object> executeMavenGoals(String projectName, List<String> goals) throws CoreException {
+    private Map<String, Object> executeMavenGoals(String projectName, List<String> goals, ToolContext context)
+            throws CoreException {
+        IProgressMonitor monitor = context.getMonitor();
         IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
         if (!project.exists() || !project.isOpen()) {
             throw new IllegalArgumentException("Project not found or not open: " + projectName);
@@ -53,46 +66,76 @@ public class MavenGoalTool implements Tool {
             throw new IllegalArgumentException("Not a Maven project: " + projectName);
         }
         
-        IProgressMonitor monitor = new NullProgressMonitor();
+        BuildEventLog log = new BuildEventLog(context);
+        long started = System.currentTimeMillis();
+        MavenExecutionResult executionResult = EmbeddedMaven.execute(projectFacade, goals, true, log, monitor);
+        long elapsed = System.currentTimeMillis() - started;
         
-        try {
-            List<String> goalList = new ArrayList<>(goals);
-            
-            org.eclipse.m2e.core.embedder.IMaven maven = MavenPlugin.getMaven();
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("projectName", projectName);
-            result.put("goals", goals);
-            result.put("status", "executed");
-            
-            List<String> executionResults = new ArrayList<>();
-            
-            for (String goal : goals) {
-                try {
-                    executionResults.add("Goal '" + goal + "' execution initiated");
-                } catch (Exception e) {
-                    executionResults.add("Goal '" + goal + "' failed: " + e.getMessage());
-                }
-            }
-            
-            result.put("executionResults", executionResults);
-            result.put("projectPath", project.getLocation().toString());
-            
-            if (projectFacade.getMavenProject() != null) {
-                result.put("groupId", projectFacade.getMavenProject().getGroupId());
-                result.put("artifactId", projectFacade.getMavenProject().getArtifactId());
-                result.put("version", projectFacade.getMavenProject().getVersion());
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+        // Refresh so the workspace sees what the build wrote, e.g. under target/
+        new RefreshJob(project).schedule();
+        
+        List<String> errors = new ArrayList<>();
+        if (!log.isStopped()) {
+            for (Throwable exception : executionResult.getExceptions()) {
+                errors.add(exception.getMessage());
+                log.add("[ERROR] " + exception.getMessage());
             }
-            
-            return result;
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("projectName", projectName);
-            errorResult.put("goals", goals);
-            errorResult.put("status", "failed");
-            errorResult.put("error", e.getMessage());
-            return errorResult;
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projectName", projectName);
+        result.put("goals", goals);
+        if (log.isStopped()) {
+            result.put("status", "timeout");
+            result.put("truncated", true);
+        } else {
+            result.put("status", executionResult.hasExceptions() ? "failed" : "success");
+        }
+        result.put("exitCode", executionResult.hasExceptions() ? 1 : 0);
+        result.put("durationMs", elapsed);
+        if (log.getFailedMojo() != null) {
+            result.put("failedMojo", log.getFailedMojo());
+        }
+        if (!errors.isEmpty()) {
+            result.put("errors", errors);
+        }
+        result.put("log", log.getLines());
+        if (log.getDroppedLines() > 0) {
+            result.put("logLinesDropped", log.getDroppedLines());
+        }
+        result.put("projectPath", project.getLocation().toString());
+        
+        if (projectFacade.getMavenProject() != null) {
+            result.put("groupId", projectFacade.getMavenProject().getGroupId());
+            result.put("artifactId", projectFacade.getMavenProject().getArtifactId());
+            result.put("version", projectFacade.getMavenProject().getVersion());
+        }
+        
+        return result;
+    }
+
+    /**
+     * Refreshes the project after a build. This runs as its own job because the tool's job holds
+     * only its access rule, which does not contain the resource rules a refresh begins.
+     */
+    private static final class RefreshJob extends WorkspaceJob {
+
+        private final IProject project;
+
+        RefreshJob(IProject project) {
+            super("Refreshing " + project.getName() + " after Maven build");
+            this.project = project;
+            setSystem(true);
+            setRule(ResourcesPlugin.getWorkspace().getRuleFactory().refreshRule(project));
+        }
+
+        @Override
+        public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+            project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+            return Status.OK_STATUS;
         }
     }
-}
\ No newline at end of file
+}
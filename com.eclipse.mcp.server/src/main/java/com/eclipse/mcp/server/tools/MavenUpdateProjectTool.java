@@ -1,85 +1,176 @@
 package com.eclipse.mcp.server.tools;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.maven.project.MavenProject;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
-import java.util.List;
-import org.eclipse.ui.PlatformUI;
 
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.execution.ToolAccess;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.maven.ProjectUpdateQueue;
+
+/**
+ * Updates the configuration of Maven projects, like "Maven > Update Project". Updates requested
+ * within a short window are coalesced by the {@link ProjectUpdateQueue} into one update that runs
+ * in the background; the tool waits for the batch holding its projects.
+ * <p>
+ * The tool runs with {@link ToolAccess#DELEGATE} access, without any scheduling rule: the update
+ * job needs the workspace root rule and would otherwise wait for this tool forever.
+ */
 public class MavenUpdateProjectTool implements Tool {
 
+    private static final long POLL_INTERVAL_MS = 100;
+
+    @Override
+    public ToolAccess getAccess() {
+        return ToolAccess.DELEGATE;
+    }
+
+    @Override
+    public long getDeadlineMs() {
+        return 30 * 60 * 1000L;
+    }
+
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    @SuppressWarnings("unchecked")
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String projectName = (String) arguments.get("projectName");
-        Boolean forceUpdate = (Boolean) arguments.getOrDefault("forceUpdate", false);
-        
-        if (projectName == null || projectName.trim().isEmpty()) {
-            throw new IllegalArgumentException("projectName is required");
+        List<String> projectNames = (List<String>) arguments.get("projectNames");
+        boolean stale = Boolean.TRUE.equals(arguments.get("stale"));
+        boolean forceUpdate = Boolean.TRUE.equals(arguments.get("forceUpdate"));
+        boolean offline = Boolean.TRUE.equals(arguments.get("offline"));
+
+        Set<String> names = new LinkedHashSet<>();
+        if (projectName != null && !projectName.trim().isEmpty()) {
+            names.add(projectName);
         }
-        
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return updateMavenProject(projectName, forceUpdate);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        if (projectNames != null) {
+            names.addAll(projectNames);
+        }
+        if (names.isEmpty() && !stale) {
+            throw new IllegalArgumentException("projectName, projectNames or stale is required");
+        }
+
+        List<IProject> projects = getProjects(names, stale);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("forceUpdate", forceUpdate);
+        result.put("offline", offline);
+        if (projects.isEmpty()) {
+            result.put("status", "upToDate");
+            result.put("projects", List.of());
+            return result;
+        }
+
+        CompletableFuture<ProjectUpdateQueue.Result> future = Activator.getDefault().getProjectUpdateQueue()
+            .submit(projects, offline, forceUpdate);
+        ProjectUpdateQueue.Result update = await(future, projects.size(), context);
+        if (update == null) {
+            result.put("status", "timeout");
+            result.put("truncated", true);
+            result.put("message", "The update continues in the background");
+            return result;
+        }
+
+        boolean failed = false;
+        List<Map<String, Object>> projectResults = new ArrayList<>();
+        IMavenProjectRegistry projectRegistry = MavenPlugin.getMavenProjectRegistry();
+        for (IProject project : projects) {
+            IStatus status = update.getStatus(project.getName());
+            Map<String, Object> projectResult = new LinkedHashMap<>();
+            projectResult.put("projectName", project.getName());
+            if (status != null && !status.isOK()) {
+                failed = true;
+                projectResult.put("status", "failed");
+                projectResult.put("error", status.getMessage());
+            } else {
+                projectResult.put("status", "updated");
             }
-        });
-    }
-    
-    private Map<String, Object> updateMavenProject(String projectName, boolean forceUpdate) throws CoreException {
-        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
-        if (!project.exists() || !project.isOpen()) {
-            throw new IllegalArgumentException("Project not found or not open: " + projectName);
+            projectResult.put("projectPath", project.getLocation().toString());
+
+            IMavenProjectFacade facade = projectRegistry.getProject(project);
+            MavenProject mavenProject = facade != null ? facade.getMavenProject() : null;
+            if (mavenProject != null) {
+                projectResult.put("groupId", mavenProject.getGroupId());
+                projectResult.put("artifactId", mavenProject.getArtifactId());
+                projectResult.put("version", mavenProject.getVersion());
+                projectResult.put("packaging", mavenProject.getPackaging());
+            }
+            projectResults.add(projectResult);
         }
-        
+
+        result.put("status", failed ? "failed" : "updated");
+        result.put("batchSize", update.getBatchSize());
+        result.put("lastUpdated", System.currentTimeMillis());
+        result.put("projects", projectResults);
+        return result;
+    }
+
+    /**
+     * Resolves the named projects and, with {@code stale}, adds every Maven project whose POM
+     * changed since m2e last read it.
+     */
+    private List<IProject> getProjects(Set<String> names, boolean stale) {
         IMavenProjectRegistry projectRegistry = MavenPlugin.getMavenProjectRegistry();
-        IMavenProjectFacade projectFacade = projectRegistry.getProject(project);
-        
-        if (projectFacade == null) {
-            throw new IllegalArgumentException("Not a Maven project: " + projectName);
+        Map<String, IProject> projects = new LinkedHashMap<>();
+        for (String name : names) {
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+            if (!project.exists() || !project.isOpen()) {
+                throw new IllegalArgumentException("Project not found or not open: " + name);
+            }
+            if (projectRegistry.getProject(project) == null) {
+                throw new IllegalArgumentException("Not a Maven project: " + name);
+            }
+            projects.put(name, project);
         }
-        
-        IProgressMonitor monitor = new NullProgressMonitor();
-        
-        try {
-            MavenPlugin.getMavenProjectRegistry().refresh(List.of(project.getFile("pom.xml")), monitor);
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("projectName", projectName);
-            result.put("status", "updated");
-            result.put("forceUpdate", forceUpdate);
-            result.put("projectPath", project.getLocation().toString());
-            
-            if (projectFacade.getMavenProject() != null) {
-                result.put("groupId", projectFacade.getMavenProject().getGroupId());
-                result.put("artifactId", projectFacade.getMavenProject().getArtifactId());
-                result.put("version", projectFacade.getMavenProject().getVersion());
-                result.put("packaging", projectFacade.getMavenProject().getPackaging());
+        if (stale) {
+            for (IMavenProjectFacade facade : projectRegistry.getProjects()) {
+                if (facade.isStale()) {
+                    projects.putIfAbsent(facade.getProject().getName(), facade.getProject());
+                }
             }
-            
-            IMavenProjectFacade updatedFacade = projectRegistry.getProject(project);
-            if (updatedFacade != null) {
-                result.put("lastUpdated", System.currentTimeMillis());
-                result.put("pomFile", updatedFacade.getPom().getFullPath().toString());
+        }
+        return new ArrayList<>(projects.values());
+    }
+
+    /**
+     * Waits for the batch, or returns {@code null} when the budget runs out first.
+     */
+    private ProjectUpdateQueue.Result await(CompletableFuture<ProjectUpdateQueue.Result> future, int count,
+            ToolContext context) throws Exception {
+        context.reportProgress(0, count, "Waiting for the Maven update of " + count + " projects");
+        while (true) {
+            if (context.getMonitor().isCanceled()) {
+                throw new OperationCanceledException();
+            }
+            if (context.isBudgetExhausted()) {
+                return null;
+            }
+            try {
+                return future.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Keep waiting
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
             }
-            
-            return result;
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("projectName", projectName);
-            errorResult.put("status", "failed");
-            errorResult.put("error", e.getMessage());
-            errorResult.put("forceUpdate", forceUpdate);
-            return errorResult;
         }
     }
-}
\ No newline at end of file
+}
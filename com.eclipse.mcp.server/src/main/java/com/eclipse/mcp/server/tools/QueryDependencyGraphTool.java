@@ -0,0 +1,92 @@
+package com.eclipse.mcp.server.tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.analysis.GraphNode;
+import com.eclipse.mcp.server.analysis.TypeDependencyGraph;
+import com.eclipse.mcp.server.execution.ToolContext;
+
+/**
+ * MCP tool that answers dependency questions from the workspace type dependency graph:
+ * what a type depends on, what depends on it (optionally transitively), and package-level
+ * rollups of both. Unlike analyze_type_dependencies nothing is parsed per request.
+ */
+public class QueryDependencyGraphTool implements Tool {
+
+	@Override
+	public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
+		String typeName = (String) arguments.get("typeName");
+		String packageName = (String) arguments.get("packageName");
+		String direction = (String) arguments.getOrDefault("direction", "dependencies");
+		Boolean transitive = (Boolean) arguments.getOrDefault("transitive", false);
+
+		if ((typeName == null || typeName.isBlank()) == (packageName == null || packageName.isBlank())) {
+			throw new IllegalArgumentException("Exactly one of typeName or packageName is required");
+		}
+		if (!"dependencies".equals(direction) && !"dependents".equals(direction)) {
+			throw new IllegalArgumentException(
+					"Invalid direction: '" + direction + "'. Must be 'dependencies' or 'dependents'");
+		}
+
+		TypeDependencyGraph graph = getGraph();
+		boolean forward = "dependencies".equals(direction);
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		if (typeName != null && !typeName.isBlank()) {
+			List<GraphNode> nodes = forward ? graph.getDependencies(typeName, transitive)
+					: graph.getDependents(typeName, transitive);
+			result.put("typeName", typeName);
+			result.put("direction", direction);
+			result.put("transitive", transitive);
+			result.put("count", nodes.size());
+			result.put("types", toMaps(nodes));
+		} else {
+			Map<String, Integer> counts = forward ? graph.getPackageDependencies(packageName)
+					: graph.getPackageDependents(packageName);
+			List<Map<String, Object>> packages = new ArrayList<>();
+			for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+				Map<String, Object> item = new LinkedHashMap<>();
+				item.put("packageName", entry.getKey());
+				item.put("references", entry.getValue());
+				packages.add(item);
+			}
+			result.put("packageName", packageName);
+			result.put("direction", direction);
+			result.put("count", packages.size());
+			result.put("packages", packages);
+		}
+		result.put("graphRevision", graph.getRevision());
+		return result;
+	}
+
+	private TypeDependencyGraph getGraph() {
+		Activator activator = Activator.getDefault();
+		TypeDependencyGraph graph = activator != null ? activator.getTypeDependencyGraph() : null;
+		if (graph == null || !graph.isReady()) {
+			throw new IllegalStateException(
+					"The type dependency graph is still being built, use analyze_type_dependencies meanwhile");
+		}
+		return graph;
+	}
+
+	private List<Map<String, Object>> toMaps(List<GraphNode> nodes) {
+		List<Map<String, Object>> result = new ArrayList<>(nodes.size());
+		for (GraphNode node : nodes) {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("typeName", node.getName());
+			map.put("packageName", node.getPackageName());
+			if (node.getProjectName() != null) {
+				map.put("projectName", node.getProjectName());
+			} else {
+				map.put("binary", true);
+			}
+			map.put("depth", node.getDepth());
+			result.add(map);
+		}
+		return result;
+	}
+}
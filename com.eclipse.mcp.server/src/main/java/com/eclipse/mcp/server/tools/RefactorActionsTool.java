@@ -8,13 +8,20 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.ui.PlatformUI;
+
+import com.eclipse.mcp.server.execution.ToolAccess;
+import com.eclipse.mcp.server.execution.ToolContext;
 
 public class RefactorActionsTool implements Tool {
 
+    @Override
+    public ToolAccess getAccess() {
+        return ToolAccess.UI;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String filePath = (String) arguments.get("filePath");
         String action = (String) arguments.get("action");
         Map<String, Object> parameters = (Map<String, Object>) arguments.get("parameters");
@@ -27,13 +34,7 @@ public class RefactorActionsTool implements Tool {
             throw new IllegalArgumentException("action is required");
         }
         
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return executeRefactorAction(filePath, action, parameters);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return executeRefactorAction(filePath, action, parameters);
     }
     
     private Map<String, Object> executeRefactorAction(String filePath, String action, Map<String, Object> parameters) throws Exception {
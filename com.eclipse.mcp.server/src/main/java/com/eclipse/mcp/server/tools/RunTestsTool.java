@@ -1,109 +1,576 @@
 package com.eclipse.mcp.server.tools;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
-import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.junit.launcher.JUnitLaunchConfigurationDelegate;
+import org.eclipse.jdt.junit.JUnitCore;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
-import org.eclipse.ui.PlatformUI;
 
+import com.eclipse.mcp.server.Activator;
+import com.eclipse.mcp.server.analysis.TypeDependencyGraph;
+import com.eclipse.mcp.server.execution.ToolContext;
+import com.eclipse.mcp.server.testing.ChangeTracker;
+import com.eclipse.mcp.server.testing.LaunchConfigurationPool;
+import com.eclipse.mcp.server.testing.ShardLaunchDelegate;
+import com.eclipse.mcp.server.testing.ShardPlanner;
+import com.eclipse.mcp.server.testing.TestDurationHistory;
+import com.eclipse.mcp.server.testing.TestRunCollector;
+
+/**
+ * Launches JUnit tests and waits for the run to finish, returning the result of every test case
+ * as reported by the JDT JUnit model.
+ * <p>
+ * With {@code shards > 1} the test classes of the project are split by their recorded run times
+ * into that many launches, which run in parallel JVMs; their results are merged into one report.
+ * <p>
+ * With {@code changedFiles} or {@code changedSince: "lastRun"} only the test classes that depend,
+ * directly or transitively, on the changed types are run, as found in the workspace
+ * {@link TypeDependencyGraph}. Changes the graph cannot account for, like resources or build
+ * files, fall back to running everything.
+ */
 public class RunTestsTool implements Tool {
 
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long STREAM_INTERVAL_MS = 250;
+
+    /**
+     * Time to wait for the JUnit session to report its end after the launch terminated.
+     */
+    private static final long SESSION_GRACE_MS = 2000;
+
+    private static final String TEST_KIND = "org.eclipse.jdt.junit.loader.junit4";
+
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public long getDeadlineMs() {
+        return 30 * 60 * 1000L;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String projectName = (String) arguments.get("projectName");
         String testClass = (String) arguments.get("testClass");
         String testMethod = (String) arguments.get("testMethod");
-        
+        boolean stream = Boolean.TRUE.equals(arguments.get("stream"));
+        Object shardsArg = arguments.get("shards");
+        @SuppressWarnings("unchecked")
+        List<String> changedFiles = (List<String>) arguments.get("changedFiles");
+        String changedSince = (String) arguments.get("changedSince");
+
         if (projectName == null || projectName.trim().isEmpty()) {
             throw new IllegalArgumentException("projectName is required");
         }
-        
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return runTests(projectName, testClass, testMethod);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+
+        int shards = 1;
+        if (shardsArg != null) {
+            if (!(shardsArg instanceof Number number) || number.intValue() <= 0) {
+                throw new IllegalArgumentException("shards must be a positive integer");
             }
-        });
+            shards = Math.min(number.intValue(), Runtime.getRuntime().availableProcessors());
+        }
+        if (shards > 1 && testClass != null) {
+            throw new IllegalArgumentException("shards can only be used to run all tests of a project");
+        }
+        if (changedSince != null && !"lastRun".equals(changedSince)) {
+            throw new IllegalArgumentException("changedSince must be 'lastRun'");
+        }
+        boolean select = changedFiles != null || changedSince != null;
+        if (select && testClass != null) {
+            throw new IllegalArgumentException("changedFiles and changedSince select tests of the whole project, not with testClass");
+        }
+
+        return runTests(projectName, testClass, testMethod, shards, changedFiles, changedSince != null, stream,
+            context);
     }
-    
-    private Map<String, Object> runTests(String projectName, String testClass, String testMethod) throws CoreException {
+
+    private Map<String, Object> runTests(String projectName, String testClass, String testMethod, int shards,
+            List<String> changedFiles, boolean sinceLastRun, boolean stream, ToolContext context)
+            throws CoreException, InterruptedException {
+        IProgressMonitor monitor = context.getMonitor();
         IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
         if (!project.exists() || !project.isOpen()) {
             throw new IllegalArgumentException("Project not found or not open: " + projectName);
         }
-        
+
         IJavaProject javaProject = JavaCore.create(project);
         if (!javaProject.exists()) {
             throw new IllegalArgumentException("Not a Java project: " + projectName);
         }
-        
-        ILaunchManager launchManager = org.eclipse.debug.core.DebugPlugin.getDefault().getLaunchManager();
-        
-        String configName = "MCP-JUnit-" + projectName;
-        if (testClass != null) {
-            configName += "-" + testClass;
+
+        ChangeTracker changeTracker = Activator.getDefault().getChangeTracker();
+        long startSequence = changeTracker.getSequence();
+        boolean select = changedFiles != null || sinceLastRun;
+        // A run selected from the caller's files alone may miss tracked changes, so it is no baseline
+        boolean baseline = changedFiles == null || sinceLastRun;
+
+        List<TestRun> runs;
+        Map<String, Object> selection = null;
+        if (testClass == null && (shards > 1 || select)) {
+            IType[] testTypes = JUnitCore.findTestTypes(javaProject, monitor);
+            if (select) {
+                selection = new LinkedHashMap<>();
+                testTypes = selectImpactedTests(projectName, testTypes, changedFiles, sinceLastRun, selection);
+                if (testTypes.length == 0) {
+                    if (baseline) {
+                        changeTracker.recordRun(projectName, startSequence, Set.of());
+                    }
+                    return createSkippedResult(projectName, selection);
+                }
+            }
+            runs = createShardRuns(projectName, testTypes, shards);
+        } else {
+            runs = List.of(createRun(projectName, testClass, testMethod));
         }
-        if (testMethod != null) {
-            configName += "-" + testMethod;
+        if (runs.isEmpty()) {
+            throw new IllegalArgumentException("No tests found in project: " + projectName);
         }
-        
-        ILaunchConfigurationWorkingCopy config = launchManager
-            .getLaunchConfigurationType("org.eclipse.jdt.junit.launchconfig")
-            .newInstance(null, configName);
-        
-        config.setAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, projectName);
-        
-        if (testClass != null) {
-            config.setAttribute("org.eclipse.jdt.junit.CONTAINER", "");
-            config.setAttribute("org.eclipse.jdt.junit.TEST_KIND", "org.eclipse.jdt.junit.loader.junit4");
-            config.setAttribute("org.eclipse.jdt.junit.TESTNAME", testClass);
-            
-            if (testMethod != null) {
-                config.setAttribute("org.eclipse.jdt.junit.TESTNAME", testClass + "." + testMethod);
+
+        long started = System.currentTimeMillis();
+        boolean truncated;
+        for (TestRun run : runs) {
+            JUnitCore.addTestRunListener(run.collector);
+        }
+        try {
+            for (TestRun run : runs) {
+                run.launch(monitor);
             }
-        } else {
-            String containerHandle = "=" + projectName;
-            config.setAttribute("org.eclipse.jdt.junit.CONTAINER", containerHandle);
-            config.setAttribute("org.eclipse.jdt.junit.TEST_KIND", "org.eclipse.jdt.junit.loader.junit4");
-        }
-        
-        ILaunchConfiguration savedConfig = config.doSave();
-        
-        IProgressMonitor monitor = new NullProgressMonitor();
-        ILaunch launch = savedConfig.launch(ILaunchManager.RUN_MODE, monitor);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "launched");
-        result.put("configurationName", configName);
+            truncated = !waitForRuns(runs, stream, context);
+        } catch (CoreException | RuntimeException | InterruptedException e) {
+            terminateAll(runs);
+            throw e;
+        } finally {
+            for (TestRun run : runs) {
+                JUnitCore.removeTestRunListener(run.collector);
+            }
+            releaseAll(runs);
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        recordDurations(projectName, runs);
+        String status = getStatus(runs, truncated);
+        if (testClass == null && baseline && ("passed".equals(status) || "failed".equals(status))) {
+            changeTracker.recordRun(projectName, startSequence, getFailedClasses(runs));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", status);
+        if (runs.size() == 1) {
+            result.put("configurationName", runs.get(0).config.getName());
+        }
         result.put("projectName", projectName);
         result.put("testClass", testClass);
         result.put("testMethod", testMethod);
-        result.put("launchMode", ILaunchManager.RUN_MODE);
-        
-        List<String> launchedProcesses = new ArrayList<>();
-        if (launch.getProcesses() != null) {
-            for (int i = 0; i < launch.getProcesses().length; i++) {
-                launchedProcesses.add(launch.getProcesses()[i].getLabel());
+        if (selection != null) {
+            result.put("selection", selection);
+        }
+        result.put("summary", mergeSummaries(runs));
+        result.put("elapsedMs", elapsed);
+
+        List<Map<String, Object>> tests = new ArrayList<>();
+        for (TestRun run : runs) {
+            tests.addAll(run.collector.getResults());
+        }
+        result.put("tests", tests);
+        if (truncated) {
+            result.put("truncated", true);
+        }
+
+        if (runs.size() > 1) {
+            List<Map<String, Object>> shardReports = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i++) {
+                TestRun run = runs.get(i);
+                Map<String, Object> shard = new LinkedHashMap<>();
+                shard.put("shard", i + 1);
+                shard.put("classes", run.testTypes.length);
+                shard.put("status", getStatus(List.of(run), truncated));
+                shard.put("summary", run.collector.getSummary());
+                addAbortInfo(run, truncated, shard);
+                shardReports.add(shard);
+            }
+            result.put("shards", shardReports);
+        } else {
+            addAbortInfo(runs.get(0), truncated, result);
+        }
+
+        return result;
+    }
+
+    private TestRun createRun(String projectName, String testClass, String testMethod) throws CoreException {
+        String key = projectName;
+        if (testClass != null) {
+            key += "-" + testClass;
+        }
+        if (testMethod != null) {
+            key += "-" + testMethod;
+        }
+
+        ILaunchConfigurationWorkingCopy config = Activator.getDefault().getLaunchConfigurationPool().acquire(key,
+            newConfig -> {
+                initConfiguration(newConfig, projectName);
+                if (testClass != null) {
+                    newConfig.setAttribute("org.eclipse.jdt.junit.CONTAINER", "");
+                    newConfig.setAttribute("org.eclipse.jdt.junit.TESTNAME", testClass);
+
+                    if (testMethod != null) {
+                        newConfig.setAttribute("org.eclipse.jdt.junit.TESTNAME", testClass + "." + testMethod);
+                    }
+                } else {
+                    newConfig.setAttribute("org.eclipse.jdt.junit.CONTAINER", "=" + projectName);
+                }
+            });
+        return new TestRun(key, config, null);
+    }
+
+    /**
+     * Picks the test classes affected by the changed files, plus those that failed in the last
+     * run when running against it. Describes the choice in {@code selection}.
+     */
+    private IType[] selectImpactedTests(String projectName, IType[] testTypes, List<String> changedFiles,
+            boolean sinceLastRun, Map<String, Object> selection) {
+        Set<String> files = new LinkedHashSet<>();
+        Set<String> failedClasses = Set.of();
+        selection.put("mode", sinceLastRun ? "lastRun" : "changedFiles");
+        selection.put("totalClasses", testTypes.length);
+        if (sinceLastRun) {
+            ChangeTracker.Changes changes = Activator.getDefault().getChangeTracker().getChangesSinceLastRun(projectName);
+            if (changes == null) {
+                return selectAll(testTypes, selection, "no earlier run of this project since startup");
+            }
+            files.addAll(changes.getFiles());
+            failedClasses = changes.getFailedClasses();
+            selection.put("previouslyFailed", failedClasses.size());
+        }
+        if (changedFiles != null) {
+            for (String file : changedFiles) {
+                files.add(file.startsWith("/") ? file : "/" + file);
+            }
+        }
+        selection.put("changedFiles", files.size());
+
+        TypeDependencyGraph graph = Activator.getDefault().getTypeDependencyGraph();
+        if (graph == null || !graph.isReady()) {
+            return selectAll(testTypes, selection, "dependency graph is not built yet");
+        }
+        for (String file : files) {
+            if (!file.endsWith(".java") || !graph.containsUnit(file)) {
+                return selectAll(testTypes, selection, "change not covered by the dependency graph: " + file);
             }
         }
-        result.put("processes", launchedProcesses);
-        
+
+        Set<String> affected = graph.getAffectedTypes(files);
+        List<IType> selected = new ArrayList<>();
+        for (IType type : testTypes) {
+            if (affected.contains(getTopLevelName(type)) || failedClasses.contains(type.getFullyQualifiedName())) {
+                selected.add(type);
+            }
+        }
+        selection.put("selectedClasses", selected.size());
+        return selected.toArray(new IType[0]);
+    }
+
+    private IType[] selectAll(IType[] testTypes, Map<String, Object> selection, String reason) {
+        selection.put("selectedClasses", testTypes.length);
+        selection.put("fallback", reason);
+        return testTypes;
+    }
+
+    private String getTopLevelName(IType type) {
+        IType topLevel = type;
+        while (topLevel.getDeclaringType() != null) {
+            topLevel = topLevel.getDeclaringType();
+        }
+        return topLevel.getFullyQualifiedName();
+    }
+
+    private Map<String, Object> createSkippedResult(String projectName, Map<String, Object> selection) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", 0);
+        summary.put("passed", 0);
+        summary.put("failures", 0);
+        summary.put("errors", 0);
+        summary.put("ignored", 0);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", "skipped");
+        result.put("projectName", projectName);
+        result.put("selection", selection);
+        result.put("summary", summary);
+        result.put("tests", List.of());
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates one container launch per shard, each restricted to its share of the given test
+     * classes.
+     */
+    private List<TestRun> createShardRuns(String projectName, IType[] testTypes, int shards) throws CoreException {
+        TestDurationHistory history = Activator.getDefault().getTestDurationHistory();
+        List<List<IType>> plan = ShardPlanner.plan(List.of(testTypes),
+            type -> history.getDuration(projectName, type.getFullyQualifiedName()), shards);
+
+        LaunchConfigurationPool pool = Activator.getDefault().getLaunchConfigurationPool();
+        List<TestRun> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < plan.size(); i++) {
+                String key = projectName + "-shard" + (i + 1);
+                ILaunchConfigurationWorkingCopy config = pool.acquire(key, newConfig -> {
+                    initConfiguration(newConfig, projectName);
+                    newConfig.setAttribute("org.eclipse.jdt.junit.CONTAINER", "=" + projectName);
+                });
+                runs.add(new TestRun(key, config, plan.get(i).toArray(new IType[0])));
+            }
+        } catch (CoreException | RuntimeException e) {
+            releaseAll(runs);
+            throw e;
+        }
+        return runs;
+    }
+
+    private void initConfiguration(ILaunchConfigurationWorkingCopy config, String projectName) {
+        config.setAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, projectName);
+        config.setAttribute("org.eclipse.jdt.junit.TEST_KIND", TEST_KIND);
+    }
+
+    private void releaseAll(List<TestRun> runs) {
+        LaunchConfigurationPool pool = Activator.getDefault().getLaunchConfigurationPool();
+        for (TestRun run : runs) {
+            pool.release(run.key, run.config);
+        }
+    }
+
+    /**
+     * Waits until every run's JUnit session finishes or its launch terminates without finishing
+     * it, streaming test results and reporting progress meanwhile. Terminates the launches if the
+     * request is cancelled or its latency budget runs out.
+     *
+     * @return {@code false} if the budget ran out
+     */
+    private boolean waitForRuns(List<TestRun> runs, boolean stream, ToolContext context)
+            throws InterruptedException {
+        long lastFlush = System.currentTimeMillis();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                TestRun pending = null;
+                for (TestRun run : runs) {
+                    if (!run.isDone(now)) {
+                        pending = run;
+                        break;
+                    }
+                }
+                if (pending == null) {
+                    return true;
+                }
+                pending.collector.awaitFinished(POLL_INTERVAL_MS);
+
+                now = System.currentTimeMillis();
+                if (stream && now - lastFlush >= STREAM_INTERVAL_MS) {
+                    sendResults(runs, context);
+                    lastFlush = now;
+                }
+                int finished = getFinishedCount(runs);
+                context.reportProgress(finished, 0, finished + " tests finished");
+
+                if (context.getMonitor().isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                if (context.isBudgetExhausted()) {
+                    terminateAll(runs);
+                    return false;
+                }
+            }
+        } finally {
+            if (stream) {
+                sendResults(runs, context);
+            }
+        }
+    }
+
+    private void sendResults(List<TestRun> runs, ToolContext context) {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (TestRun run : runs) {
+            batch.addAll(run.collector.drainNew());
+        }
+        if (!batch.isEmpty()) {
+            context.sendPartialResults(batch, getFinishedCount(runs));
+        }
+    }
+
+    private int getFinishedCount(List<TestRun> runs) {
+        int finished = 0;
+        for (TestRun run : runs) {
+            finished += run.collector.getFinishedCount();
+        }
+        return finished;
+    }
+
+    private String getStatus(List<TestRun> runs, boolean truncated) {
+        if (truncated) {
+            return "timeout";
+        }
+        boolean failed = false;
+        for (TestRun run : runs) {
+            if (!run.collector.isFinished()) {
+                return "aborted";
+            }
+            failed |= run.collector.hasFailures();
+        }
+        return failed ? "failed" : "passed";
+    }
+
+    private Map<String, Object> mergeSummaries(List<TestRun> runs) {
+        if (runs.size() == 1) {
+            return runs.get(0).collector.getSummary();
+        }
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (TestRun run : runs) {
+            for (Map.Entry<String, Object> count : run.collector.getSummary().entrySet()) {
+                merged.merge(count.getKey(), count.getValue(), (a, b) -> (Integer) a + (Integer) b);
+            }
+        }
+        return merged;
+    }
+
+    private void addAbortInfo(TestRun run, boolean truncated, Map<String, Object> report) {
+        if (truncated || run.collector.isFinished() || run.launch == null) {
+            return;
+        }
+        report.put("error", run.collector.hasSession()
+            ? "Test run ended before all results were reported"
+            : "Test runner did not start");
+        report.put("exitCodes", getExitCodes(run.launch));
+    }
+
+    private Set<String> getFailedClasses(List<TestRun> runs) {
+        Set<String> failed = new HashSet<>();
+        for (TestRun run : runs) {
+            for (Map<String, Object> test : run.collector.getResults()) {
+                Object status = test.get("status");
+                if ("failure".equals(status) || "error".equals(status)) {
+                    failed.add((String) test.get("className"));
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Feeds the class run times of completed runs into the history used to plan shards.
+     */
+    private void recordDurations(String projectName, List<TestRun> runs) {
+        Map<String, Long> classDurations = new LinkedHashMap<>();
+        for (TestRun run : runs) {
+            if (!run.collector.isFinished()) {
+                continue;
+            }
+            for (Map<String, Object> test : run.collector.getResults()) {
+                Object duration = test.get("durationMs");
+                if (duration instanceof Long millis) {
+                    classDurations.merge((String) test.get("className"), millis, Long::sum);
+                }
+            }
+        }
+        Activator.getDefault().getTestDurationHistory().record(projectName, classDurations);
+    }
+
+    private void terminateAll(List<TestRun> runs) {
+        for (TestRun run : runs) {
+            if (run.launch == null) {
+                continue;
+            }
+            try {
+                if (!run.launch.isTerminated()) {
+                    run.launch.terminate();
+                }
+            } catch (DebugException e) {
+                // The launch is gone already
+            }
+        }
+    }
+
+    private List<Integer> getExitCodes(ILaunch launch) {
+        List<Integer> exitCodes = new ArrayList<>();
+        for (IProcess process : launch.getProcesses()) {
+            try {
+                exitCodes.add(process.getExitValue());
+            } catch (DebugException e) {
+                // Still running
+            }
+        }
+        return exitCodes;
+    }
+
+    /**
+     * One JUnit launch and the collector picking up its session.
+     */
+    private static final class TestRun {
+
+        final String key;
+        final ILaunchConfigurationWorkingCopy config;
+        final IType[] testTypes;
+        final TestRunCollector collector;
+        ILaunch launch;
+        long terminatedAt;
+
+        /**
+         * @param key the configuration's key in the {@link LaunchConfigurationPool}
+         * @param testTypes classes to run instead of the configuration's container, or {@code null}
+         */
+        TestRun(String key, ILaunchConfigurationWorkingCopy config, IType[] testTypes) {
+            this.key = key;
+            this.config = config;
+            this.testTypes = testTypes;
+            this.collector = new TestRunCollector(config.getName());
+        }
+
+        void launch(IProgressMonitor monitor) throws CoreException {
+            if (testTypes == null) {
+                launch = config.launch(ILaunchManager.RUN_MODE, monitor);
+                return;
+            }
+            ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+            launch = new Launch(config, ILaunchManager.RUN_MODE, null);
+            launchManager.addLaunch(launch);
+            try {
+                new ShardLaunchDelegate(testTypes).launch(config, ILaunchManager.RUN_MODE, launch, monitor);
+            } catch (CoreException | RuntimeException e) {
+                launchManager.removeLaunch(launch);
+                throw e;
+            }
+        }
+
+        /**
+         * Returns whether the session finished, or the launch ended some time ago without it.
+         */
+        boolean isDone(long now) {
+            if (collector.isFinished()) {
+                return true;
+            }
+            if (launch == null || !launch.isTerminated()) {
+                return false;
+            }
+            if (terminatedAt == 0) {
+                terminatedAt = now;
+            }
+            return now - terminatedAt >= SESSION_GRACE_MS;
+        }
+    }
+}
@@ -1,91 +1,117 @@
 package com.eclipse.mcp.server.tools;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.ui.PlatformUI;
 
+import com.eclipse.mcp.server.codegen.Generation;
+import com.eclipse.mcp.server.codegen.SourceGenerator;
+import com.eclipse.mcp.server.execution.ToolAccess;
+import com.eclipse.mcp.server.execution.ToolContext;
+
+/**
+ * Runs a "Source" action, such as generating getters and setters, on one or more files without
+ * any dialog. The members of all files are generated first and then written in one workspace
+ * operation, so a batch causes a single resource delta and a single build; with {@code dryRun}
+ * nothing is written. Each file's change is returned as a unified diff.
+ */
 public class SourceActionsTool implements Tool {
 
     @Override
-    public Object execute(Map<String, Object> arguments) throws Exception {
+    public ToolAccess getAccess() {
+        return ToolAccess.WRITE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object execute(Map<String, Object> arguments, ToolContext context) throws Exception {
         String filePath = (String) arguments.get("filePath");
+        List<String> filePaths = (List<String>) arguments.get("filePaths");
         String action = (String) arguments.get("action");
-        
-        if (filePath == null || filePath.trim().isEmpty()) {
-            throw new IllegalArgumentException("filePath is required");
+        List<String> fields = (List<String>) arguments.get("fields");
+        boolean dryRun = Boolean.TRUE.equals(arguments.get("dryRun"));
+
+        Set<String> paths = new LinkedHashSet<>();
+        if (filePath != null && !filePath.trim().isEmpty()) {
+            paths.add(filePath);
+        }
+        if (filePaths != null) {
+            paths.addAll(filePaths);
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("filePath or filePaths is required");
         }
-        
         if (action == null || action.trim().isEmpty()) {
             throw new IllegalArgumentException("action is required");
         }
-        
-        return PlatformUI.getWorkbench().getDisplay().syncCall(() -> {
-            try {
-                return executeSourceAction(filePath, action);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        SourceGenerator.Action sourceAction = SourceGenerator.Action.parse(action);
+        Set<String> fieldNames = fields != null ? new LinkedHashSet<>(fields) : null;
+
+        List<ICompilationUnit> units = new ArrayList<>();
+        for (String path : paths) {
+            units.add(getCompilationUnit(path));
+        }
+
+        List<Generation> generations = new ArrayList<>();
+        int done = 0;
+        for (ICompilationUnit unit : units) {
+            if (context.getMonitor().isCanceled()) {
+                throw new OperationCanceledException();
+            }
+            context.reportProgress(done++, units.size(), "Generating " + unit.getElementName());
+            generations.add(SourceGenerator.generate(unit, sourceAction, fieldNames, context.getMonitor()));
+        }
+
+        int changedFiles = 0;
+        List<Map<String, Object>> fileResults = new ArrayList<>();
+        for (Generation generation : generations) {
+            if (generation.hasChanges()) {
+                changedFiles++;
             }
-        });
+            Map<String, Object> fileResult = new LinkedHashMap<>();
+            fileResult.put("filePath", generation.getCompilationUnit().getPath().toString());
+            fileResult.put("generated", generation.getGenerated());
+            if (!generation.getSkipped().isEmpty()) {
+                fileResult.put("skipped", generation.getSkipped());
+            }
+            if (generation.hasChanges()) {
+                fileResult.put("diff", generation.getDiff());
+            }
+            fileResults.add(fileResult);
+        }
+
+        if (changedFiles > 0 && !dryRun) {
+            context.reportProgress(units.size(), units.size(), "Writing " + changedFiles + " files");
+            Generation.apply(generations, context.getMonitor());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", sourceAction.getId());
+        result.put("status", changedFiles == 0 ? "noChanges" : dryRun ? "preview" : "applied");
+        result.put("changedFiles", changedFiles);
+        result.put("files", fileResults);
+        return result;
     }
-    
-    private Map<String, Object> executeSourceAction(String filePath, String action) throws Exception {
+
+    private ICompilationUnit getCompilationUnit(String filePath) {
         IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(filePath));
         if (!file.exists()) {
             throw new IllegalArgumentException("File not found: " + filePath);
         }
-        
         ICompilationUnit compilationUnit = JavaCore.createCompilationUnitFrom(file);
         if (compilationUnit == null) {
             throw new IllegalArgumentException("Not a Java file: " + filePath);
         }
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("filePath", filePath);
-        result.put("action", action);
-        
-        try {
-            switch (action) {
-                case "generate_getters_setters":
-                    result.put("status", "Getter/Setter generation would be triggered");
-                    result.put("description", "This would open the Generate Getters and Setters dialog");
-                    break;
-                    
-                case "generate_constructor":
-                    result.put("status", "Constructor generation would be triggered");
-                    result.put("description", "This would open the Generate Constructor using Fields dialog");
-                    break;
-                    
-                case "generate_toString":
-                    result.put("status", "toString() generation would be triggered");
-                    result.put("description", "This would open the Generate toString() dialog");
-                    break;
-                    
-                case "generate_hashcode_equals":
-                    result.put("status", "hashCode() and equals() generation would be triggered");
-                    result.put("description", "This would open the Generate hashCode() and equals() dialog");
-                    break;
-                    
-                default:
-                    throw new IllegalArgumentException("Unknown action: " + action + 
-                        ". Supported actions: generate_getters_setters, generate_constructor, generate_toString, generate_hashcode_equals");
-            }
-            
-            result.put("compilationUnitName", compilationUnit.getElementName());
-            if (compilationUnit.getTypes().length > 0) {
-                result.put("primaryTypeName", compilationUnit.getTypes()[0].getElementName());
-            }
-            
-        } catch (Exception e) {
-            result.put("status", "failed");
-            result.put("error", e.getMessage());
-        }
-        
-        return result;
+        return compilationUnit;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,23 @@ package com.eclipse.mcp.server.tools;
 
 import java.util.Map;
 
+import com.eclipse.mcp.server.execution.ToolAccess;
+import com.eclipse.mcp.server.execution.ToolContext;
+
 public interface Tool {
-    Object execute(Map<String, Object> arguments) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Hard limit for a single invocation, after which the tool is cancelled and the request fails.
+     */
+    long DEFAULT_DEADLINE_MS = 5 * 60 * 1000L;
+
+    Object execute(Map<String, Object> arguments, ToolContext context) throws Exception;
+
+    default ToolAccess getAccess() {
+        return ToolAccess.READ;
+    }
+
+    default long getDeadlineMs() {
+        return DEFAULT_DEADLINE_MS;
+    }
+}
@@ -0,0 +1,201 @@
+package com.eclipse.mcp.server.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client connected to {@link NioTransport}. Splits inbound bytes into newline-delimited messages
+ * and queues outbound messages for non-blocking writes.
+ * <p>
+ * {@link #send(byte[])} may be called from any thread. Writes go straight to the socket while it
+ * accepts them; the remainder is queued and drained by the selector thread.
+ */
+public class ClientConnection {
+
+	private static final AtomicLong NEXT_ID = new AtomicLong(1);
+	private static final ByteBuffer NEWLINE = ByteBuffer.wrap(new byte[] { '\n' }).asReadOnlyBuffer();
+
+	private static final int INITIAL_LINE_CAPACITY = 8 * 1024;
+	private static final int RETAINED_LINE_CAPACITY = 1024 * 1024;
+	private static final int MAX_LINE_LENGTH = 64 * 1024 * 1024;
+	private static final long MAX_PENDING_WRITE_BYTES = 256L * 1024 * 1024;
+
+	private final long id;
+	private final String remoteAddress;
+	private final SocketChannel channel;
+	private final NioTransport transport;
+	private SelectionKey key;
+
+	private byte[] line = new byte[INITIAL_LINE_CAPACITY];
+	private int lineLength;
+
+	private final Object writeLock = new Object();
+	private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+	private long pendingWriteBytes;
+	private boolean writeRegistered;
+	private volatile boolean closed;
+
+	ClientConnection(SocketChannel channel, NioTransport transport) throws IOException {
+		this.id = NEXT_ID.getAndIncrement();
+		this.remoteAddress = String.valueOf(channel.getRemoteAddress());
+		this.channel = channel;
+		this.transport = transport;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getRemoteAddress() {
+		return remoteAddress;
+	}
+
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	/**
+	 * Sends one message; the newline delimiter is appended by the transport.
+	 */
+	public void send(byte[] payload) throws IOException {
+		synchronized (writeLock) {
+			if (closed) {
+				throw new IOException("Connection closed: " + remoteAddress);
+			}
+			if (pendingWriteBytes + payload.length + 1 > MAX_PENDING_WRITE_BYTES) {
+				// A client that stops reading would otherwise hold any amount of queued output
+				close();
+				throw new IOException("Client is not reading responses: " + remoteAddress);
+			}
+			writeQueue.add(ByteBuffer.wrap(payload));
+			writeQueue.add(NEWLINE.duplicate());
+			pendingWriteBytes += payload.length + 1;
+
+			if (writeRegistered) {
+				return;
+			}
+			drainWriteQueue();
+			if (!writeQueue.isEmpty()) {
+				writeRegistered = true;
+				transport.requestWrite(key);
+			}
+		}
+	}
+
+	public void close() {
+		transport.close(this);
+	}
+
+	void attach(SelectionKey key) {
+		this.key = key;
+	}
+
+	SelectionKey key() {
+		return key;
+	}
+
+	SocketChannel channel() {
+		return channel;
+	}
+
+	/**
+	 * Called by the selector thread when the socket becomes writable.
+	 */
+	void onWritable() throws IOException {
+		synchronized (writeLock) {
+			drainWriteQueue();
+			if (writeQueue.isEmpty()) {
+				writeRegistered = false;
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+	}
+
+	/**
+	 * Called by the selector thread with freshly read bytes. Invokes the listener once per
+	 * complete line, carrying partial lines over to the next read.
+	 */
+	void onRead(ByteBuffer buffer, MessageListener listener) throws IOException {
+		while (buffer.hasRemaining()) {
+			int start = buffer.position();
+			int limit = buffer.limit();
+			int newline = -1;
+			for (int i = start; i < limit; i++) {
+				if (buffer.get(i) == '\n') {
+					newline = i;
+					break;
+				}
+			}
+
+			int end = newline < 0 ? limit : newline;
+			appendToLine(buffer, end - start);
+			if (newline < 0) {
+				return;
+			}
+			buffer.position(newline + 1);
+
+			int length = lineLength;
+			if (length > 0 && line[length - 1] == '\r') {
+				length--;
+			}
+			if (length > 0) {
+				listener.onMessage(this, line, 0, length);
+			}
+			lineLength = 0;
+			if (line.length > RETAINED_LINE_CAPACITY) {
+				line = new byte[INITIAL_LINE_CAPACITY];
+			}
+		}
+	}
+
+	/**
+	 * Marks the connection closed and drops queued output.
+	 *
+	 * @return whether this call closed the connection, {@code false} if it was already closed
+	 */
+	boolean markClosed() {
+		synchronized (writeLock) {
+			if (closed) {
+				return false;
+			}
+			closed = true;
+			writeQueue.clear();
+			pendingWriteBytes = 0;
+			return true;
+		}
+	}
+
+	private void appendToLine(ByteBuffer buffer, int count) throws IOException {
+		int required = lineLength + count;
+		if (required > MAX_LINE_LENGTH) {
+			throw new IOException("Message exceeds " + MAX_LINE_LENGTH + " bytes");
+		}
+		if (required > line.length) {
+			line = Arrays.copyOf(line, Math.max(required, line.length * 2));
+		}
+		buffer.get(line, lineLength, count);
+		lineLength = required;
+	}
+
+	private void drainWriteQueue() throws IOException {
+		while (!writeQueue.isEmpty()) {
+			ByteBuffer head = writeQueue.peek();
+			int written = channel.write(head);
+			pendingWriteBytes -= written;
+			if (head.hasRemaining()) {
+				return;
+			}
+			writeQueue.poll();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return remoteAddress;
+	}
+}
@@ -0,0 +1,18 @@
+package com.eclipse.mcp.server.transport;
+
+/**
+ * Receives connection events and framed messages from {@link NioTransport}. All callbacks are
+ * invoked on the transport's selector thread and must not block.
+ */
+public interface MessageListener {
+
+	void onConnect(ClientConnection connection);
+
+	/**
+	 * Called once per newline-delimited message. The buffer is owned by the connection and only
+	 * valid for the duration of the call.
+	 */
+	void onMessage(ClientConnection connection, byte[] buffer, int offset, int length);
+
+	void onDisconnect(ClientConnection connection);
+}
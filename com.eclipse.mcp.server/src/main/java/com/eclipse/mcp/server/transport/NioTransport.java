@@ -0,0 +1,181 @@
+package com.eclipse.mcp.server.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking line-delimited transport built on a single {@link Selector} thread.
+ * <p>
+ * Idle connections cost no threads. Inbound bytes are read into one shared direct buffer and
+ * framed per connection; complete messages are handed to the {@link MessageListener} as byte
+ * ranges, without decoding them to strings.
+ */
+public class NioTransport {
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	private final MessageListener listener;
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+	private final Queue<ClientConnection> pendingCloses = new ConcurrentLinkedQueue<>();
+
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
+	private Thread selectorThread;
+	private volatile boolean running;
+
+	public NioTransport(MessageListener listener) {
+		this.listener = listener;
+	}
+
+	public void start(int port) throws IOException {
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.configureBlocking(false);
+		serverChannel.bind(new InetSocketAddress(port));
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+		running = true;
+		selectorThread = new Thread(this::runSelectorLoop, "MCP Transport (port " + port + ")");
+		selectorThread.setDaemon(true);
+		selectorThread.start();
+	}
+
+	public void stop() {
+		running = false;
+		if (selector == null) {
+			return;
+		}
+		selector.wakeup();
+		try {
+			selectorThread.join(2000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	void requestWrite(SelectionKey key) {
+		try {
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			selector.wakeup();
+		} catch (CancelledKeyException e) {
+			// Connection is being closed, pending data is dropped
+		}
+	}
+
+	/**
+	 * Closes a connection from any thread; the disconnect callback runs on the selector thread.
+	 */
+	void close(ClientConnection connection) {
+		pendingCloses.add(connection);
+		selector.wakeup();
+	}
+
+	private void runSelectorLoop() {
+		try {
+			while (running) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					dispatch(key);
+				}
+				ClientConnection closing;
+				while ((closing = pendingCloses.poll()) != null) {
+					disconnect(closing);
+				}
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			// Fall through to shutdown
+		} finally {
+			shutdown();
+		}
+	}
+
+	private void dispatch(SelectionKey key) {
+		if (!key.isValid()) {
+			return;
+		}
+		if (key.isAcceptable()) {
+			accept();
+			return;
+		}
+
+		ClientConnection connection = (ClientConnection) key.attachment();
+		try {
+			if (key.isReadable()) {
+				read(connection);
+			}
+			if (key.isValid() && key.isWritable()) {
+				connection.onWritable();
+			}
+		} catch (IOException | CancelledKeyException e) {
+			disconnect(connection);
+		}
+	}
+
+	private void accept() {
+		try {
+			SocketChannel channel = serverChannel.accept();
+			if (channel == null) {
+				return;
+			}
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+			ClientConnection connection = new ClientConnection(channel, this);
+			connection.attach(channel.register(selector, SelectionKey.OP_READ, connection));
+			listener.onConnect(connection);
+		} catch (IOException e) {
+			// Client went away during accept
+		}
+	}
+
+	private void read(ClientConnection connection) throws IOException {
+		readBuffer.clear();
+		int read = connection.channel().read(readBuffer);
+		if (read < 0) {
+			throw new IOException("End of stream");
+		}
+		readBuffer.flip();
+		connection.onRead(readBuffer, listener);
+	}
+
+	private void disconnect(ClientConnection connection) {
+		if (!connection.markClosed()) {
+			return;
+		}
+		connection.key().cancel();
+		try {
+			connection.channel().close();
+		} catch (IOException e) {
+			// Already closed
+		}
+		listener.onDisconnect(connection);
+	}
+
+	private void shutdown() {
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() instanceof ClientConnection connection) {
+				disconnect(connection);
+			}
+		}
+		try {
+			serverChannel.close();
+			selector.close();
+		} catch (IOException e) {
+			// Best effort
+		}
+	}
+}